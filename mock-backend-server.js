@@ -518,6 +518,14 @@ app.get('/feedback', (req, res) => {
   });
 });
 
+app.post('/admin/feedback', (req, res) => {
+  res.json({
+    success: true,
+    data: { ...req.body, createdDate: new Date().toISOString() },
+    message: 'Feedback received successfully'
+  });
+});
+
 // 서버 시작
 app.listen(PORT, () => {
   console.log(`🚀 Mock backend server is running on http://localhost:${PORT}`);
@@ -529,4 +537,5 @@ app.listen(PORT, () => {
   console.log('  GET  /conversations/:personaCode');
   console.log('  DELETE /conversations/:personaCode');
   console.log('  GET  /feedback');
+  console.log('  POST /admin/feedback');
 });
\ No newline at end of file
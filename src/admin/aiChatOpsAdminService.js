@@ -80,9 +80,10 @@ const aiChatOpsAdminService = {
     }
   },
 
-  async deletePersona(personaCode) {
+  async deletePersona(personaCode, rowVersion) {
     try {
       const response = await axios.delete(`${API_BASE_URL}/admin/personas/${personaCode}`, {
+        params: { rowVersion },
         headers: {
           'Content-Type': 'application/json'
         },
@@ -108,12 +109,14 @@ const aiChatOpsAdminService = {
   // System Prompt Management
   // ============================================
 
-  async testSystemPrompt(testData) {
+  // cache: false asks the model again instead of reusing the cached answer for the same prompt/input
+  async testSystemPrompt(testData, { cache = true } = {}) {
     try {
       const response = await axios.post(`${API_BASE_URL}/admin/system-prompt/test`, testData, {
         headers: {
           'Content-Type': 'application/json'
         },
+        params: { cache },
         timeout: 30000
       });
 
@@ -160,11 +163,12 @@ const aiChatOpsAdminService = {
   // Conversation Analytics
   // ============================================
 
-  async getConversationStats(personaCode = '', period = 'all') {
+  async getConversationStats(personaCode = '', period = 'all', fresh = false) {
     try {
       const params = new URLSearchParams();
       if (personaCode) params.append('personaCode', personaCode);
       if (period) params.append('period', period);
+      if (fresh) params.append('fresh', 'true');
 
       const response = await axios.get(`${API_BASE_URL}/admin/conversations/stats?${params}`, {
         headers: {
@@ -221,6 +225,52 @@ const aiChatOpsAdminService = {
     }
   },
 
+  // The listing only carries 200-character previews; fetch the full texts of one conversation
+  async getConversationBody(conversationId) {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/admin/conversations/${conversationId}/body`, {
+        headers: {
+          'Content-Type': 'application/json'
+        },
+        timeout: 15000
+      });
+
+      return {
+        success: response.data.success || true,
+        data: response.data.data || response.data,
+        message: response.data.message || 'Conversation loaded successfully'
+      };
+
+    } catch (error) {
+      return {
+        success: false,
+        errorMessage: this.getErrorMessage(error),
+        error: error
+      };
+    }
+  },
+
+  // Live feed of new conversations over SSE; returns a function that closes the stream.
+  // EventSource reconnects on its own after network errors or the server-side timeout.
+  subscribeConversationFeed({ personaCode = '', onConversations, onCounters, onError } = {}) {
+    const params = new URLSearchParams();
+    if (personaCode) params.append('personaCode', personaCode);
+    const query = params.toString();
+    const source = new EventSource(`${API_BASE_URL}/admin/conversations/feed${query ? '?' + query : ''}`);
+
+    source.addEventListener('conversations', (event) => {
+      if (onConversations) onConversations(JSON.parse(event.data));
+    });
+    source.addEventListener('counters', (event) => {
+      if (onCounters) onCounters(JSON.parse(event.data));
+    });
+    source.onerror = (error) => {
+      if (onError) onError(error);
+    };
+
+    return () => source.close();
+  },
+
   async getConversationSummary(personaCode = '') {
     try {
       const params = new URLSearchParams();
@@ -248,6 +298,38 @@ const aiChatOpsAdminService = {
     }
   },
 
+  // Summary, persona counts, first page and total count in one request.
+  // Sections that miss sectionTimeoutMs come back null and are listed in data.incomplete.
+  async getDashboard(personaCode = '', period = 'all', size = 10, sectionTimeoutMs = null) {
+    try {
+      const params = new URLSearchParams();
+      if (personaCode) params.append('personaCode', personaCode);
+      if (period) params.append('period', period);
+      params.append('size', size);
+      if (sectionTimeoutMs) params.append('sectionTimeoutMs', sectionTimeoutMs);
+
+      const response = await axios.get(`${API_BASE_URL}/admin/dashboard?${params}`, {
+        headers: {
+          'Content-Type': 'application/json'
+        },
+        timeout: 15000
+      });
+
+      return {
+        success: response.data.success || true,
+        data: response.data.data || response.data,
+        message: response.data.message || 'Dashboard loaded successfully'
+      };
+
+    } catch (error) {
+      return {
+        success: false,
+        errorMessage: this.getErrorMessage(error),
+        error: error
+      };
+    }
+  },
+
   // ============================================
   // Utility Methods
   // ============================================
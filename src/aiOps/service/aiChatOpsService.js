@@ -170,7 +170,13 @@ const aiChatOpsService = {
 
   async sendFeedback(feedbackData) {
     try {
-      const response = await axios.get(`${API_BASE_URL}/feedback`, {
+      const requestBody = {
+        personaCode: feedbackData.personaCode || '',
+        rating: feedbackData.rating || null,
+        comment: feedbackData.comment
+      };
+
+      const response = await axios.post(`${API_BASE_URL}/admin/feedback`, requestBody, {
         headers: {
           'Content-Type': 'application/json'
         },
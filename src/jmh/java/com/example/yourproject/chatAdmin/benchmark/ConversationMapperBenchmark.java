@@ -0,0 +1,150 @@
+package com.example.yourproject.chatAdmin.benchmark;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConversationMapper round trips against an embedded H2 database in MySQL mode.
+ * Uses period 'all' so results do not depend on MySQL date arithmetic, which H2's MySQL mode
+ * only partly emulates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConversationMapperBenchmark {
+    private static final int INSERT_BATCH_SIZE = 5000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rowCount;
+
+    private SqlSession session;
+    private ConversationMapper conversationMapper;
+    private int deepOffset;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:chatops_bench_" + rowCount + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        try (Connection connection = dataSource.getConnection()) {
+            createSchema(connection);
+            insertRows(connection, SyntheticConversations.generate(rowCount, 42L));
+        }
+
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        try (InputStream in = Resources.getResourceAsStream("mapper/ConversationMapper.xml")) {
+            new XMLMapperBuilder(in, configuration, "mapper/ConversationMapper.xml",
+                    configuration.getSqlFragments()).parse();
+        }
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        session = sqlSessionFactory.openSession(true);
+        conversationMapper = session.getMapper(ConversationMapper.class);
+        deepOffset = Math.max(0, rowCount - 20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+    }
+
+    @Benchmark
+    public List<AIChatOpsAdminDto> selectConversationsForAnalysis() {
+        return conversationMapper.selectConversationsForAnalysis(null, "all");
+    }
+
+    @Benchmark
+    public List<AIChatOpsAdminDto> selectFirstPage() {
+        return conversationMapper.selectConversationsWithPaging(null, null, null, null, 0, 20);
+    }
+
+    @Benchmark
+    public List<AIChatOpsAdminDto> selectDeepPage() {
+        return conversationMapper.selectConversationsWithPaging(null, null, null, null, deepOffset, 20);
+    }
+
+    @Benchmark
+    public int countConversations() {
+        return conversationMapper.countConversations(null, null, null, null);
+    }
+
+    @Benchmark
+    public AIChatOpsAdminDto selectConversationStatistics() {
+        return conversationMapper.selectConversationStatistics(null, "all");
+    }
+
+    @Benchmark
+    public List<AIChatOpsAdminDto> selectConversationCountsByPersona() {
+        return conversationMapper.selectConversationCountsByPersona("all");
+    }
+
+    private void createSchema(Connection connection) throws IOException, SQLException {
+        String schema;
+        try (InputStream in = Resources.getResourceAsStream("schema-h2.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8).replaceAll("(?m)^--.*$", "");
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private void insertRows(Connection connection, List<AIChatOpsAdminDto> conversations) throws SQLException {
+        String sql = "INSERT INTO swp_ai_chatops_storage (PERSONA_CODE, USER_QUERY, AI_QUERY, CREATOR, CREATED_DATE) "
+                + "VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (AIChatOpsAdminDto conv : conversations) {
+                statement.setString(1, conv.getPersonaCode());
+                statement.setString(2, conv.getUserQuery());
+                statement.setString(3, conv.getAiQuery());
+                statement.setString(4, conv.getCreator());
+                statement.setTimestamp(5, Timestamp.valueOf(conv.getCreatedDate()));
+                statement.addBatch();
+                if (++batched % INSERT_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+}
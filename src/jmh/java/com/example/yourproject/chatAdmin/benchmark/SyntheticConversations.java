@@ -0,0 +1,66 @@
+package com.example.yourproject.chatAdmin.benchmark;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded synthetic conversation data for benchmarks.
+ * Texts come from a small pool of realistic-length strings so 1M rows fit in a normal heap.
+ */
+public final class SyntheticConversations {
+    public static final String[] PERSONAS = {
+        "general_assistant", "personal_coach", "operation_monitor", "operation_deploy",
+        "general_translator", "personal_planner", "operation_incident", "general_writer"
+    };
+
+    private static final int TEXT_POOL_SIZE = 64;
+    private static final int USER_COUNT = 5000;
+
+    private SyntheticConversations() {
+    }
+
+    public static List<AIChatOpsAdminDto> generate(int count, long seed) {
+        Random random = new Random(seed);
+        String[] userQueries = textPool(random, 40, 400);
+        String[] aiResponses = textPool(random, 200, 4000);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        List<AIChatOpsAdminDto> conversations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AIChatOpsAdminDto conv = new AIChatOpsAdminDto();
+            conv.setPersonaCode(PERSONAS[skewedIndex(random, PERSONAS.length)]);
+            conv.setCreator("user" + random.nextInt(USER_COUNT));
+            conv.setUserQuery(userQueries[random.nextInt(TEXT_POOL_SIZE)]);
+            conv.setAiQuery(aiResponses[random.nextInt(TEXT_POOL_SIZE)]);
+            conv.setCreatedDate(now.minusSeconds((long) i * 37));
+            conversations.add(conv);
+        }
+        return conversations;
+    }
+
+    // Markdown-ish text between min and max characters
+    private static String[] textPool(Random random, int minLength, int maxLength) {
+        String[] words = {"deploy", "server", "error", "**status**", "log", "request", "timeout", "user",
+            "- check", "config", "`kubectl`", "database", "latency", "\n## Summary\n", "retry", "queue"};
+        String[] pool = new String[TEXT_POOL_SIZE];
+        for (int i = 0; i < TEXT_POOL_SIZE; i++) {
+            int length = minLength + random.nextInt(maxLength - minLength);
+            StringBuilder text = new StringBuilder(length + 16);
+            while (text.length() < length) {
+                text.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            pool[i] = text.toString();
+        }
+        return pool;
+    }
+
+    // A few personas carry most of the traffic
+    private static int skewedIndex(Random random, int bound) {
+        double r = random.nextDouble();
+        return Math.min(bound - 1, (int) (r * r * bound));
+    }
+}
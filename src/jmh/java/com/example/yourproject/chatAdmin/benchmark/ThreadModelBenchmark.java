@@ -0,0 +1,127 @@
+package com.example.yourproject.chatAdmin.benchmark;
+
+import com.example.yourproject.chatAdmin.concurrent.StructuredFanOut;
+import com.example.yourproject.chatAdmin.concurrent.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A burst of concurrent slow admin requests, each doing two blocking lookups (MyBatis) and one
+ * blocking LLM wait, on a Tomcat-sized platform pool versus one virtual thread per request.
+ * "sequential" runs the lookups one after the other as before; "fanout" forks them with
+ * StructuredFanOut on the same executor model. Reports the time until the whole burst completes.
+ * Virtual-thread results need Java 21+; on older JDKs "virtual" measures the platform fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ThreadModelBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    @Param({"1000", "5000"})
+    private int concurrentRequests;
+
+    @Param({"20"})
+    private long queryMillis;
+
+    @Param({"200"})
+    private long llmMillis;
+
+    private ExecutorService requestExecutor;
+    private ExecutorService fanOutExecutor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if ("virtual".equals(threadModel)) {
+            requestExecutor = VirtualThreads.newThreadPerTaskExecutor("bench-request-");
+            fanOutExecutor = VirtualThreads.newThreadPerTaskExecutor("bench-fanout-");
+        } else {
+            requestExecutor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS,
+                    VirtualThreads.platformThreadFactory("bench-request-"));
+            fanOutExecutor = Executors.newCachedThreadPool(VirtualThreads.platformThreadFactory("bench-fanout-"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        fanOutExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public long sequential() throws InterruptedException, ExecutionException {
+        return burst(() -> {
+            long rows = query() + query();
+            llmCall();
+            return rows;
+        });
+    }
+
+    @Benchmark
+    public long fanout() throws InterruptedException, ExecutionException {
+        return burst(() -> {
+            long rows;
+            try (StructuredFanOut fanOut = new StructuredFanOut(fanOutExecutor)) {
+                Supplier<Long> conversations = fanOut.fork(this::query);
+                Supplier<Long> systemPrompt = fanOut.fork(this::query);
+                fanOut.join(Duration.ofMinutes(1));
+                rows = conversations.get() + systemPrompt.get();
+            }
+            llmCall();
+            return rows;
+        });
+    }
+
+    private long burst(RequestBody request) throws InterruptedException, ExecutionException {
+        List<Future<Long>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(requestExecutor.submit(request::handle));
+        }
+        long rows = 0;
+        for (Future<Long> response : responses) {
+            rows += response.get();
+        }
+        return rows;
+    }
+
+    private long query() throws InterruptedException {
+        Thread.sleep(queryMillis);
+        return 1;
+    }
+
+    private void llmCall() throws InterruptedException {
+        Thread.sleep(llmMillis);
+    }
+
+    @FunctionalInterface
+    private interface RequestBody {
+        long handle() throws Exception;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.benchmark.SyntheticConversations;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.prompt.PromptTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt building hot paths in LLMAnalysisService.
+ * Lives in the service package to reach the package-private builders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PromptBuildingBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int conversationCount;
+
+    private LLMAnalysisService analysisService;
+    private List<AIChatOpsAdminDto> conversations;
+    private String longText;
+    private PromptTemplate incrementalTemplate;
+    private Map<String, Object> incrementalValues;
+
+    @Setup
+    public void setUp() {
+        analysisService = new LLMAnalysisService();
+        conversations = SyntheticConversations.generate(conversationCount, 42L);
+        longText = conversations.get(0).getAiQuery();
+
+        incrementalTemplate = PromptTemplate.compile("## Previous Report\n- Conversations covered: {{processedCount}}\n"
+                + "- Covered up to: {{lastProcessedDate}}\n\n{{previousReport}}\n\n"
+                + "## New Data Since Previous Report\n{{newData}}");
+        incrementalValues = new HashMap<>();
+        incrementalValues.put("processedCount", conversationCount);
+        incrementalValues.put("lastProcessedDate", conversations.get(0).getCreatedDate());
+        incrementalValues.put("previousReport", longText);
+        incrementalValues.put("newData", longText);
+    }
+
+    @Benchmark
+    public String buildAnalysisUserPrompt() {
+        return analysisService.buildAnalysisUserPrompt(conversations);
+    }
+
+    @Benchmark
+    public String buildPersonaAnalysisUserPrompt() {
+        return analysisService.buildPersonaAnalysisUserPrompt("general_assistant", conversations);
+    }
+
+    @Benchmark
+    public String renderIncrementalTemplate() {
+        return incrementalTemplate.render(incrementalValues);
+    }
+
+    @Benchmark
+    public String truncateText() {
+        return analysisService.truncateText(longText, 300);
+    }
+}
@@ -0,0 +1,18 @@
+-- Benchmark schema (H2 in MySQL mode)
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_storage (
+    ID           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    PERSONA_CODE VARCHAR(100) NOT NULL,
+    USER_QUERY   CLOB,
+    AI_QUERY     CLOB,
+    CREATOR      VARCHAR(100),
+    CREATED_DATE TIMESTAMP NOT NULL,
+    USER_QUERY_Z       BLOB,
+    AI_QUERY_Z         BLOB,
+    USER_QUERY_LEN     INT,
+    AI_QUERY_LEN       INT,
+    USER_QUERY_PREVIEW VARCHAR(200),
+    AI_QUERY_PREVIEW   VARCHAR(200),
+    RESPONSE_TIME_MS   INT
+);
+CREATE INDEX IF NOT EXISTS idx_storage_created ON swp_ai_chatops_storage (CREATED_DATE);
+CREATE INDEX IF NOT EXISTS idx_storage_persona_created ON swp_ai_chatops_storage (PERSONA_CODE, CREATED_DATE);
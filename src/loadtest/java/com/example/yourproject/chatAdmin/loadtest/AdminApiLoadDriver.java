@@ -0,0 +1,212 @@
+package com.example.yourproject.chatAdmin.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load driver for the admin API. Each of --concurrency workers cycles through the
+ * endpoints back to back; requests finishing during --warmup-seconds are not recorded.
+ * Prints throughput, error count and p50/p95/p99/max latency per endpoint.
+ *
+ * Usage: AdminApiLoadDriver [--base-url http://localhost:8080] [--concurrency 16]
+ *        [--duration-seconds 60] [--warmup-seconds 10] [--timeout-seconds 120]
+ *        [--endpoint "GET /admin/conversations?page=0&size=20"]
+ *        [--endpoint "POST /admin/conversations/analyze {\"period\":\"30days\"}"] ...
+ */
+public class AdminApiLoadDriver {
+    private static final String[] DEFAULT_ENDPOINTS = {
+        "GET /admin/conversations?page=0&size=20",
+        "GET /admin/conversations?page=5000&size=20",
+        "GET /admin/conversations/summary",
+        "GET /admin/conversations/stats?period=30days",
+        "POST /admin/conversations/analyze {\"period\":\"30days\"}"
+    };
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final List<Endpoint> endpoints;
+    private final Duration timeout;
+
+    public AdminApiLoadDriver(String baseUrl, List<String> endpointSpecs, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.endpoints = new ArrayList<>();
+        for (String spec : endpointSpecs) {
+            endpoints.add(Endpoint.parse(spec));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = new Arguments(args);
+        List<String> specs = arguments.getAll("endpoint");
+        if (specs.isEmpty()) {
+            specs = Arrays.asList(DEFAULT_ENDPOINTS);
+        }
+        AdminApiLoadDriver driver = new AdminApiLoadDriver(arguments.get("base-url", "http://localhost:8080"),
+                specs, Duration.ofSeconds(arguments.getLong("timeout-seconds", 120)));
+        driver.run((int) arguments.getLong("concurrency", 16),
+                Duration.ofSeconds(arguments.getLong("warmup-seconds", 10)),
+                Duration.ofSeconds(arguments.getLong("duration-seconds", 60)));
+    }
+
+    public void run(int concurrency, Duration warmup, Duration duration) throws Exception {
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long deadline = recordFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Recorder[]>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int offset = i;
+            results.add(workers.submit(() -> work(offset, recordFrom, deadline)));
+        }
+
+        Recorder[] merged = new Recorder[endpoints.size()];
+        for (int e = 0; e < merged.length; e++) {
+            merged[e] = new Recorder();
+        }
+        for (Future<Recorder[]> result : results) {
+            Recorder[] recorders = result.get();
+            for (int e = 0; e < merged.length; e++) {
+                merged[e].merge(recorders[e]);
+            }
+        }
+        workers.shutdown();
+
+        printReport(merged, concurrency, duration);
+    }
+
+    // One worker: endpoints in turn, starting at a per-worker offset so the mix is even
+    private Recorder[] work(int offset, long recordFrom, long deadline) {
+        Recorder[] recorders = new Recorder[endpoints.size()];
+        for (int e = 0; e < recorders.length; e++) {
+            recorders[e] = new Recorder();
+        }
+        for (long n = offset; System.nanoTime() < deadline; n++) {
+            int index = (int) (n % endpoints.size());
+            long begin = System.nanoTime();
+            boolean ok = send(endpoints.get(index));
+            long end = System.nanoTime();
+            if (begin >= recordFrom && end <= deadline) {
+                recorders[index].record(end - begin, ok);
+            }
+        }
+        return recorders;
+    }
+
+    private boolean send(Endpoint endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path)).timeout(timeout);
+        if (endpoint.body != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(endpoint.method, HttpRequest.BodyPublishers.ofString(endpoint.body));
+        } else {
+            builder.method(endpoint.method, HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            HttpResponse<Void> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void printReport(Recorder[] recorders, int concurrency, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%nconcurrency=%d duration=%.0fs base-url=%s%n", concurrency, seconds, baseUrl);
+        System.out.printf("%-60s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        for (int e = 0; e < recorders.length; e++) {
+            Recorder recorder = recorders[e];
+            recorder.sort();
+            totalRequests += recorder.count;
+            System.out.printf("%-60s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    abbreviate(endpoints.get(e).toString(), 60), recorder.count, recorder.errors,
+                    recorder.count / seconds, recorder.percentileMillis(50), recorder.percentileMillis(95),
+                    recorder.percentileMillis(99), recorder.percentileMillis(100));
+        }
+        System.out.printf("%-60s %9d %7s %9.1f%n", "total", totalRequests, "", totalRequests / seconds);
+    }
+
+    private static String abbreviate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max - 3) + "...";
+    }
+
+    private static class Endpoint {
+        private final String method;
+        private final String path;
+        private final String body;
+
+        Endpoint(String method, String path, String body) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+
+        // "METHOD /path [json body]"
+        static Endpoint parse(String spec) {
+            String[] parts = spec.trim().split("\\s+", 3);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Endpoint must be 'METHOD /path [body]': " + spec);
+            }
+            return new Endpoint(parts[0].toUpperCase(), parts[1], parts.length > 2 ? parts[2] : null);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+    }
+
+    // Raw latencies per endpoint; owned by one worker until merged
+    private static class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        void sort() {
+            Arrays.sort(latencies, 0, count);
+        }
+
+        // Nearest-rank percentile of the sorted latencies
+        double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return latencies[Math.max(0, Math.min(count, rank) - 1)] / 1e6;
+        }
+    }
+}
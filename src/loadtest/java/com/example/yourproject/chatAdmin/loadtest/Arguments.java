@@ -0,0 +1,52 @@
+package com.example.yourproject.chatAdmin.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal "--name value" / "--flag" parser for the load-test command line tools.
+ * Repeated options are kept in order.
+ */
+final class Arguments {
+    private final Map<String, List<String>> values = new HashMap<>();
+
+    Arguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            String value = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "true";
+            values.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+    }
+
+    boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    String get(String name, String defaultValue) {
+        List<String> list = values.get(name);
+        return list == null ? defaultValue : list.get(list.size() - 1);
+    }
+
+    String getRequired(String name) {
+        String value = get(name, null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    List<String> getAll(String name) {
+        List<String> list = values.get(name);
+        return list == null ? new ArrayList<>() : list;
+    }
+}
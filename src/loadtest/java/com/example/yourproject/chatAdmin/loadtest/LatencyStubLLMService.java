@@ -0,0 +1,96 @@
+package com.example.yourproject.chatAdmin.loadtest;
+
+import com.example.yourproject.llm.LLMService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces the real LLM client under the "loadtest" profile.
+ * Answers after latency-ms + random(0, jitter-ms) with a canned response, or, when
+ * mock-backend-url is set, forwards the prompt to mock-backend-server.js (/message-async).
+ */
+@Service
+@Primary
+@Profile("loadtest")
+public class LatencyStubLLMService implements LLMService {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Value("${chatops.loadtest.llm.latency-ms:800}")
+    private long latencyMs;
+
+    @Value("${chatops.loadtest.llm.jitter-ms:400}")
+    private long jitterMs;
+
+    @Value("${chatops.loadtest.llm.response-chars:2000}")
+    private int responseChars;
+
+    @Value("${chatops.loadtest.llm.mock-backend-url:}")
+    private String mockBackendUrl;
+
+    // Delays are scheduled, not slept, so slow "LLM calls" hold no threads
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Override
+    public CompletableFuture<Object> LLMCallAsync(String model, String systemPrompt, String userPrompt) {
+        if (mockBackendUrl != null && !mockBackendUrl.trim().isEmpty()) {
+            return callMockBackend(userPrompt);
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        scheduler.schedule(() -> result.complete(cannedResponse(model, userPrompt)), delay, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> callMockBackend(String userPrompt) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("personaCode", "loadtest");
+        body.put("userQuery", userPrompt);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(mockBackendUrl + "/message-async"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)))
+                    .build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+                try {
+                    Map<String, Object> json = OBJECT_MAPPER.readValue(response.body(), Map.class);
+                    Map<String, Object> data = (Map<String, Object>) json.get("data");
+                    return data != null ? data.get("aiResponse") : response.body();
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to parse mock backend response: " + e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RuntimeException("Failed to call mock backend: " + e.getMessage()));
+            return failed;
+        }
+    }
+
+    private String cannedResponse(String model, String userPrompt) {
+        StringBuilder response = new StringBuilder(responseChars + 64);
+        response.append("## Analysis (").append(model).append(", stub)\n\n");
+        response.append("Prompt length: ").append(userPrompt == null ? 0 : userPrompt.length()).append(" chars\n\n");
+        while (response.length() < responseChars) {
+            response.append("- Conversation volume is stable; response quality is consistent across personas.\n");
+        }
+        return response.toString();
+    }
+}
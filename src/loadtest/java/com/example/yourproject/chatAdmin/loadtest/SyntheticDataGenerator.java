@@ -0,0 +1,222 @@
+package com.example.yourproject.chatAdmin.loadtest;
+
+import com.example.yourproject.chatAdmin.sharding.ShardedConversationMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator for swp_ai_chatops_storage and the persona tables (prompt, version, metadata).
+ * Streams rows in JDBC batches so millions of rows never sit in memory.
+ *
+ * Usage: SyntheticDataGenerator --url jdbc:h2:file:./build/loadtest/chatops;MODE=MySQL
+ *        [--user sa] [--password ""] [--rows 2000000] [--personas 24] [--users 20000]
+ *        [--days 365] [--seed 42] [--create-schema] [--shards url0,url1,...]
+ *
+ * With --shards, conversations go to the shard databases the way ShardedConversationMapper routes
+ * them (same order as chatops.sharding.shards) and the persona tables stay on --url; e.g.
+ * --shards jdbc:h2:file:./build/loadtest/shard0;MODE=MySQL,jdbc:h2:file:./build/loadtest/shard1;MODE=MySQL
+ */
+public class SyntheticDataGenerator {
+    private static final String[] CATEGORIES = {"general", "personal", "operation"};
+    private static final int BATCH_SIZE = 10000;
+    private static final int TEXT_POOL_SIZE = 256;
+
+    private final long rows;
+    private final int personas;
+    private final int users;
+    private final int days;
+    private final Random random;
+
+    public SyntheticDataGenerator(long rows, int personas, int users, int days, long seed) {
+        this.rows = rows;
+        this.personas = personas;
+        this.users = users;
+        this.days = days;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = new Arguments(args);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                arguments.getLong("rows", 2_000_000L),
+                (int) arguments.getLong("personas", 24),
+                (int) arguments.getLong("users", 20_000),
+                (int) arguments.getLong("days", 365),
+                arguments.getLong("seed", 42L));
+
+        List<Connection> shards = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(arguments.getRequired("url"),
+                arguments.get("user", "sa"), arguments.get("password", ""))) {
+            if (arguments.has("shards")) {
+                for (String url : arguments.getRequired("shards").split(",")) {
+                    shards.add(DriverManager.getConnection(url.trim(), arguments.get("user", "sa"),
+                            arguments.get("password", "")));
+                }
+            }
+            if (arguments.has("create-schema")) {
+                createSchema(connection);
+                for (Connection shard : shards) {
+                    createSchema(shard);
+                }
+            }
+            generator.generate(connection, shards);
+        } finally {
+            for (Connection shard : shards) {
+                shard.close();
+            }
+        }
+    }
+
+    public void generate(Connection connection) throws SQLException {
+        generate(connection, new ArrayList<>());
+    }
+
+    // Conversations go to the shards when there are any, otherwise next to the personas
+    public void generate(Connection connection, List<Connection> shards) throws SQLException {
+        connection.setAutoCommit(false);
+        String[] personaCodes = insertPersonas(connection);
+        List<Connection> targets = shards.isEmpty() ? List.of(connection) : shards;
+        for (Connection target : targets) {
+            target.setAutoCommit(false);
+        }
+        insertConversations(targets, personaCodes);
+    }
+
+    private String[] insertPersonas(Connection connection) throws SQLException {
+        String promptSql = "INSERT INTO swp_ai_chatops_persona_prompt (persona_code, prompt_type, persona_prompt, "
+                + "current_version, created_date) VALUES (?, 'system', ?, 1, ?)";
+        String versionSql = "INSERT INTO swp_ai_chatops_persona_prompt_version (persona_code, prompt_type, version, "
+                + "persona_prompt, created_date) VALUES (?, 'system', 1, ?, ?)";
+        String personaSql = "INSERT INTO swp_ai_chatops_persona (persona_code, title, description, description_en, "
+                + "category, prompt_type, welcome_msg, created_date, updated_date) "
+                + "VALUES (?, ?, 'AI Assistant', 'AI Assistant', ?, 'system', ?, ?, ?)";
+        String[] personaCodes = new String[personas];
+        try (PreparedStatement prompts = connection.prepareStatement(promptSql);
+             PreparedStatement versions = connection.prepareStatement(versionSql);
+             PreparedStatement metadata = connection.prepareStatement(personaSql)) {
+            Timestamp created = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+            for (int i = 0; i < personas; i++) {
+                personaCodes[i] = CATEGORIES[i % CATEGORIES.length] + "_persona_" + i;
+                String prompt = "You are " + personaCodes[i] + ". " + text(400, 2000);
+                for (PreparedStatement statement : new PreparedStatement[] {prompts, versions}) {
+                    statement.setString(1, personaCodes[i]);
+                    statement.setString(2, prompt);
+                    statement.setTimestamp(3, created);
+                    statement.addBatch();
+                }
+                metadata.setString(1, personaCodes[i]);
+                metadata.setString(2, personaCodes[i]);
+                metadata.setString(3, CATEGORIES[i % CATEGORIES.length]);
+                metadata.setString(4, "Hello, I am " + personaCodes[i] + ".");
+                metadata.setTimestamp(5, created);
+                metadata.setTimestamp(6, created);
+                metadata.addBatch();
+            }
+            prompts.executeBatch();
+            versions.executeBatch();
+            metadata.executeBatch();
+        }
+        connection.commit();
+        return personaCodes;
+    }
+
+    private void insertConversations(List<Connection> targets, String[] personaCodes) throws SQLException {
+        String[] userQueries = textPool(20, 400);
+        String[] aiResponses = textPool(200, 6000);
+        long now = System.currentTimeMillis();
+        long span = days * 86_400_000L;
+        long started = System.nanoTime();
+
+        String sql = "INSERT INTO swp_ai_chatops_storage (PERSONA_CODE, USER_QUERY, AI_QUERY, CREATOR, CREATED_DATE) "
+                + "VALUES (?, ?, ?, ?, ?)";
+        List<PreparedStatement> statements = new ArrayList<>(targets.size());
+        try {
+            for (Connection target : targets) {
+                statements.add(target.prepareStatement(sql));
+            }
+            for (long i = 1; i <= rows; i++) {
+                String personaCode = personaCodes[skewedIndex(personaCodes.length)];
+                PreparedStatement statement = statements.get(
+                        ShardedConversationMapper.shardOf(personaCode, statements.size()));
+                statement.setString(1, personaCode);
+                statement.setString(2, userQueries[random.nextInt(TEXT_POOL_SIZE)]);
+                // ~2% of turns have no AI response (failed calls)
+                statement.setString(3, random.nextInt(50) == 0 ? null : aiResponses[random.nextInt(TEXT_POOL_SIZE)]);
+                statement.setString(4, "user" + skewedIndex(users));
+                statement.setTimestamp(5, new Timestamp(now - (long) (Math.pow(random.nextDouble(), 2) * span)));
+                statement.addBatch();
+
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    for (int shard = 0; shard < statements.size(); shard++) {
+                        statements.get(shard).executeBatch();
+                        targets.get(shard).commit();
+                    }
+                }
+                if (i % (BATCH_SIZE * 50) == 0 || i == rows) {
+                    double seconds = (System.nanoTime() - started) / 1e9;
+                    System.out.printf("%,d / %,d rows (%.0f rows/s)%n", i, rows, i / Math.max(seconds, 0.001));
+                }
+            }
+        } finally {
+            for (PreparedStatement statement : statements) {
+                statement.close();
+            }
+        }
+    }
+
+    private static void createSchema(Connection connection) throws IOException, SQLException {
+        String schema;
+        try (InputStream in = SyntheticDataGenerator.class.getClassLoader()
+                .getResourceAsStream("schema-loadtest.sql")) {
+            if (in == null) {
+                throw new IllegalStateException("schema-loadtest.sql not found on classpath");
+            }
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8).replaceAll("(?m)^--.*$", "");
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    // A few personas and users carry most of the traffic
+    private int skewedIndex(int bound) {
+        double r = random.nextDouble();
+        return Math.min(bound - 1, (int) (r * r * r * bound));
+    }
+
+    private String[] textPool(int minLength, int maxLength) {
+        String[] pool = new String[TEXT_POOL_SIZE];
+        for (int i = 0; i < TEXT_POOL_SIZE; i++) {
+            pool[i] = text(minLength, maxLength);
+        }
+        return pool;
+    }
+
+    private String text(int minLength, int maxLength) {
+        String[] words = {"deploy", "server", "error", "**status**", "log", "request", "timeout", "user",
+            "\n- check", "config", "`kubectl get pods`", "database", "latency", "\n## Summary\n", "retry",
+            "queue", "배포", "서버", "오류", "확인"};
+        int length = minLength + random.nextInt(Math.max(1, maxLength - minLength));
+        StringBuilder text = new StringBuilder(length + 32);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
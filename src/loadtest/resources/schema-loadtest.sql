@@ -0,0 +1,93 @@
+-- Load test schema (MySQL, or H2 with MODE=MySQL)
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_storage (
+    ID           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    PERSONA_CODE VARCHAR(100) NOT NULL,
+    USER_QUERY   TEXT,
+    AI_QUERY     TEXT,
+    CREATOR      VARCHAR(100),
+    CREATED_DATE TIMESTAMP NOT NULL,
+    USER_QUERY_Z       BLOB,
+    AI_QUERY_Z         BLOB,
+    USER_QUERY_LEN     INT,
+    AI_QUERY_LEN       INT,
+    USER_QUERY_PREVIEW VARCHAR(200),
+    AI_QUERY_PREVIEW   VARCHAR(200),
+    RESPONSE_TIME_MS   INT
+);
+CREATE INDEX idx_storage_created ON swp_ai_chatops_storage (CREATED_DATE);
+CREATE INDEX idx_storage_persona_created ON swp_ai_chatops_storage (PERSONA_CODE, CREATED_DATE);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_persona_prompt (
+    persona_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    persona_code    VARCHAR(100) NOT NULL,
+    prompt_type     VARCHAR(50),
+    persona_prompt  TEXT,
+    current_version INT NOT NULL DEFAULT 1,
+    created_date    TIMESTAMP NOT NULL
+);
+CREATE UNIQUE INDEX uk_persona_prompt_type ON swp_ai_chatops_persona_prompt (persona_code, prompt_type);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_persona_prompt_version (
+    persona_code   VARCHAR(100) NOT NULL,
+    prompt_type    VARCHAR(50)  NOT NULL,
+    version        INT          NOT NULL,
+    persona_prompt TEXT,
+    created_date   TIMESTAMP    NOT NULL,
+    PRIMARY KEY (persona_code, prompt_type, version)
+);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_persona (
+    persona_code   VARCHAR(100)  NOT NULL PRIMARY KEY,
+    title          VARCHAR(200)  NOT NULL,
+    description    VARCHAR(1000),
+    description_en VARCHAR(1000),
+    category       VARCHAR(50)   NOT NULL DEFAULT 'general',
+    prompt_type    VARCHAR(50)   NOT NULL DEFAULT 'system',
+    icon_path      VARCHAR(500),
+    welcome_msg    VARCHAR(1000),
+    row_version    INT           NOT NULL DEFAULT 1,
+    created_date   TIMESTAMP     NOT NULL,
+    updated_date   TIMESTAMP     NOT NULL
+);
+CREATE INDEX idx_persona_category ON swp_ai_chatops_persona (category, created_date);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_compression_dict (
+    dictionary_id INT AUTO_INCREMENT PRIMARY KEY,
+    dictionary    BLOB      NOT NULL,
+    sample_count  INT       NOT NULL,
+    created_date  TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_feedback (
+    feedback_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    persona_code     VARCHAR(100)  NOT NULL DEFAULT '',
+    rating           TINYINT,
+    feedback_comment VARCHAR(1000) NOT NULL,
+    creator          VARCHAR(100),
+    created_date     TIMESTAMP     NOT NULL
+);
+CREATE INDEX idx_feedback_persona_created ON swp_ai_chatops_feedback (persona_code, created_date);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_feedback_daily (
+    persona_code    VARCHAR(100) NOT NULL,
+    feedback_date   DATE         NOT NULL,
+    feedback_count  INT          NOT NULL DEFAULT 0,
+    rated_count     INT          NOT NULL DEFAULT 0,
+    rating_sum      INT          NOT NULL DEFAULT 0,
+    satisfied_count INT          NOT NULL DEFAULT 0,
+    updated_date    TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (persona_code, feedback_date)
+);
+CREATE INDEX idx_feedback_daily_updated ON swp_ai_chatops_feedback_daily (updated_date);
+
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_latency_hist (
+    persona_code VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP    NOT NULL,
+    instance_id  VARCHAR(64)  NOT NULL,
+    sample_count BIGINT       NOT NULL,
+    max_ms       BIGINT       NOT NULL,
+    histogram    BLOB         NOT NULL,
+    updated_date TIMESTAMP    NOT NULL,
+    PRIMARY KEY (persona_code, bucket_start, instance_id)
+);
+CREATE INDEX idx_latency_hist_bucket ON swp_ai_chatops_latency_hist (bucket_start);
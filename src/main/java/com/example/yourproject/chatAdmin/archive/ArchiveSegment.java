@@ -0,0 +1,259 @@
+package com.example.yourproject.chatAdmin.archive;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable archive file holding a single persona's conversations for a date range.
+ *
+ * Layout: magic, version, header length, header, compressed body length, uncompressed body
+ * length, deflated body. The header carries the persona, date range and the additive totals
+ * (including distinct creators), so statistics over whole segments never inflate the body.
+ * Rows in the body are ordered by CREATED_DATE descending.
+ */
+final class ArchiveSegment {
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x43485347;
+    private static final int VERSION = 1;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final Path path;
+    private final String personaCode;
+    private final LocalDateTime minCreated;
+    private final LocalDateTime maxCreated;
+    private final ConversationTotals totals;
+    private final int bodyOffset;
+    private final int bodyLength;
+    private final int uncompressedLength;
+    private final MappedByteBuffer mapped;
+
+    private ArchiveSegment(Path path, String personaCode, LocalDateTime minCreated, LocalDateTime maxCreated,
+            ConversationTotals totals, int bodyOffset, int bodyLength, int uncompressedLength,
+            MappedByteBuffer mapped) {
+        this.path = path;
+        this.personaCode = personaCode;
+        this.minCreated = minCreated;
+        this.maxCreated = maxCreated;
+        this.totals = totals;
+        this.bodyOffset = bodyOffset;
+        this.bodyLength = bodyLength;
+        this.uncompressedLength = uncompressedLength;
+        this.mapped = mapped;
+    }
+
+    // Write rows of one persona to a new file (via a temp file and atomic rename) and open it
+    static ArchiveSegment write(Path file, String personaCode, List<AIChatOpsAdminDto> rows) throws IOException {
+        List<AIChatOpsAdminDto> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(AIChatOpsAdminDto::getCreatedDate).reversed());
+
+        ConversationTotals totals = new ConversationTotals(personaCode);
+        ByteArrayOutputStream rawBody = new ByteArrayOutputStream(sorted.size() * 256);
+        DataOutputStream body = new DataOutputStream(rawBody);
+        for (AIChatOpsAdminDto row : sorted) {
+            totals.add(row);
+            body.writeLong(toMillis(row.getCreatedDate()));
+            writeString(body, row.getCreator());
+            writeString(body, row.getUserQuery());
+            writeString(body, row.getAiQuery());
+        }
+        body.flush();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(rawBody.size() / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            rawBody.writeTo(out);
+        } finally {
+            deflater.end();
+        }
+
+        ByteArrayOutputStream rawHeader = new ByteArrayOutputStream(256 + totals.getCreators().size() * 16);
+        DataOutputStream header = new DataOutputStream(rawHeader);
+        writeString(header, personaCode);
+        header.writeLong(toMillis(sorted.get(sorted.size() - 1).getCreatedDate()));
+        header.writeLong(toMillis(sorted.get(0).getCreatedDate()));
+        header.writeLong(totals.getTotal());
+        header.writeLong(totals.getAiCount());
+        header.writeLong(totals.getAiChars());
+        header.writeLong(totals.getSuccessCount());
+        header.writeInt(totals.getCreators().size());
+        for (String creator : totals.getCreators()) {
+            writeString(header, creator);
+        }
+        header.flush();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer prefix = ByteBuffer.allocate(12);
+            prefix.putInt(MAGIC).putInt(VERSION).putInt(rawHeader.size()).flip();
+            ByteBuffer lengths = ByteBuffer.allocate(8);
+            lengths.putInt(compressed.size()).putInt(rawBody.size()).flip();
+            for (ByteBuffer buffer : new ByteBuffer[] {prefix, ByteBuffer.wrap(rawHeader.toByteArray()), lengths,
+                ByteBuffer.wrap(compressed.toByteArray())}) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    // Map the file and parse its header; the body is inflated on demand
+    static ArchiveSegment open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer buffer = mapped.duplicate();
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not an archive segment: " + file);
+        }
+        int headerLength = buffer.getInt();
+        int headerEnd = buffer.position() + headerLength;
+
+        String personaCode = readString(buffer);
+        LocalDateTime minCreated = toDateTime(buffer.getLong());
+        LocalDateTime maxCreated = toDateTime(buffer.getLong());
+        ConversationTotals totals = new ConversationTotals(personaCode);
+        totals.setTotal(buffer.getLong());
+        totals.setAiCount(buffer.getLong());
+        totals.setAiChars(buffer.getLong());
+        totals.setSuccessCount(buffer.getLong());
+        int creatorCount = buffer.getInt();
+        for (int i = 0; i < creatorCount; i++) {
+            totals.getCreators().add(readString(buffer));
+        }
+        buffer.position(headerEnd);
+
+        int bodyLength = buffer.getInt();
+        int uncompressedLength = buffer.getInt();
+        return new ArchiveSegment(file, personaCode, minCreated, maxCreated, totals, buffer.position(),
+                bodyLength, uncompressedLength, mapped);
+    }
+
+    // All rows, newest first
+    List<AIChatOpsAdminDto> readRows() {
+        ByteBuffer body = mapped.duplicate();
+        body.position(bodyOffset).limit(bodyOffset + bodyLength);
+
+        byte[] raw = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new RuntimeException("Failed to read archive segment: " + path + " " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteBuffer rows = ByteBuffer.wrap(raw);
+        List<AIChatOpsAdminDto> conversations = new ArrayList<>((int) totals.getTotal());
+        while (rows.hasRemaining()) {
+            AIChatOpsAdminDto conversation = new AIChatOpsAdminDto();
+            conversation.setPersonaCode(personaCode);
+            conversation.setCreatedDate(toDateTime(rows.getLong()));
+            conversation.setCreator(readString(rows));
+            conversation.setUserQuery(readString(rows));
+            conversation.setAiQuery(readString(rows));
+            conversations.add(conversation);
+        }
+        return conversations;
+    }
+
+    // Whether [from, to] (either end may be null) overlaps or fully contains this segment
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return (from == null || !maxCreated.isBefore(from)) && (to == null || !minCreated.isAfter(to));
+    }
+
+    boolean within(LocalDateTime from, LocalDateTime to) {
+        return (from == null || !minCreated.isBefore(from)) && (to == null || !maxCreated.isAfter(to));
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    String getPersonaCode() {
+        return personaCode;
+    }
+
+    LocalDateTime getMinCreated() {
+        return minCreated;
+    }
+
+    LocalDateTime getMaxCreated() {
+        return maxCreated;
+    }
+
+    ConversationTotals getTotals() {
+        return totals;
+    }
+
+    long getFileSize() {
+        return mapped.capacity();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (!buffer.hasArray()) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.yourproject.chatAdmin.archive;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.sharding.ShardedConversationMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Cold tier for swp_ai_chatops_storage: compressed, immutable segment files on local disk,
+ * one per persona and archive window. The segment index (persona, date range, totals) is read
+ * from the file headers at startup and kept in memory; bodies are memory-mapped and inflated
+ * only when rows are needed.
+ */
+@Component
+public class ConversationArchive implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(ConversationArchive.class);
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Value("${chatops.archive.dir:./data/archive}")
+    private String directory;
+
+    // Newest first by maxCreated; replaced, never modified
+    private volatile List<ArchiveSegment> segments = Collections.emptyList();
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        List<ArchiveSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ArchiveSegment.FILE_SUFFIX + ".tmp")) {
+                    // Left behind by an interrupted archive run
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(ArchiveSegment.FILE_SUFFIX)) {
+                    loaded.add(ArchiveSegment.open(file));
+                }
+            }
+        }
+        loaded.sort(Comparator.comparing(ArchiveSegment::getMaxCreated).reversed());
+        segments = Collections.unmodifiableList(loaded);
+        log.info("Loaded {} archive segments from {}", loaded.size(), dir.toAbsolutePath());
+    }
+
+    // Whether archived rows can fall inside a query starting at from (null = all time)
+    public boolean covers(LocalDateTime from) {
+        List<ArchiveSegment> current = segments;
+        return !current.isEmpty() && (from == null || !current.get(0).getMaxCreated().isBefore(from));
+    }
+
+    public ConversationTotals getTotals(String personaCode, LocalDateTime from) {
+        ConversationTotals totals = new ConversationTotals(personaCode);
+        for (ArchiveSegment segment : candidates(personaCode, from, null)) {
+            totals.merge(segmentTotals(segment, from));
+        }
+        return totals;
+    }
+
+    public Map<String, ConversationTotals> getTotalsByPersona(LocalDateTime from) {
+        Map<String, ConversationTotals> totals = new HashMap<>();
+        for (ArchiveSegment segment : candidates(null, from, null)) {
+            totals.computeIfAbsent(segment.getPersonaCode(), ConversationTotals::new)
+                    .merge(segmentTotals(segment, from));
+        }
+        return totals;
+    }
+
+    public int count(String personaCode, String creator, LocalDateTime from, LocalDateTime to) {
+        int count = 0;
+        for (ArchiveSegment segment : candidates(personaCode, from, to)) {
+            count += headerCountable(segment, creator, from, to) ? (int) segment.getTotals().getTotal()
+                    : matchingRows(segment, creator, from, to).size();
+        }
+        return count;
+    }
+
+    // Archived rows newest first, skipping offset matches; whole time-clusters are skipped by count
+    public List<AIChatOpsAdminDto> getConversations(String personaCode, String creator, LocalDateTime from,
+            LocalDateTime to, int offset, int limit) {
+        List<AIChatOpsAdminDto> page = new ArrayList<>(Math.min(limit, 1000));
+        Map<ArchiveSegment, List<AIChatOpsAdminDto>> scanned = new IdentityHashMap<>();
+        int skip = offset;
+
+        for (List<ArchiveSegment> cluster : overlappingClusters(candidates(personaCode, from, to))) {
+            if (page.size() >= limit) {
+                break;
+            }
+            int clusterCount = 0;
+            for (ArchiveSegment segment : cluster) {
+                if (headerCountable(segment, creator, from, to)) {
+                    clusterCount += segment.getTotals().getTotal();
+                } else {
+                    clusterCount += scanned.computeIfAbsent(segment,
+                            s -> matchingRows(s, creator, from, to)).size();
+                }
+            }
+            if (skip >= clusterCount) {
+                skip -= clusterCount;
+                continue;
+            }
+
+            List<AIChatOpsAdminDto> rows = new ArrayList<>(clusterCount);
+            for (ArchiveSegment segment : cluster) {
+                List<AIChatOpsAdminDto> matches = scanned.get(segment);
+                rows.addAll(matches != null ? matches : segment.readRows());
+            }
+            rows.sort(Comparator.comparing(AIChatOpsAdminDto::getCreatedDate).reversed());
+            for (int i = skip; i < rows.size() && page.size() < limit; i++) {
+                page.add(rows.get(i));
+            }
+            skip = 0;
+        }
+        return page;
+    }
+
+    // Every archived row, oldest first, one group of overlapping segments in memory at a time
+    public void forEachConversation(Consumer<AIChatOpsAdminDto> consumer) {
+        List<List<ArchiveSegment>> clusters = overlappingClusters(segments);
+        for (int c = clusters.size() - 1; c >= 0; c--) {
+            List<AIChatOpsAdminDto> rows = new ArrayList<>();
+            for (ArchiveSegment segment : clusters.get(c)) {
+                rows.addAll(segment.readRows());
+            }
+            rows.sort(Comparator.comparing(AIChatOpsAdminDto::getCreatedDate));
+            rows.forEach(consumer);
+        }
+    }
+
+    // Archived rows of one persona (null or empty for all) from a time on (null for all time), one
+    // segment at a time and in no particular order
+    public void forEachConversation(String personaCode, LocalDateTime from, Consumer<AIChatOpsAdminDto> consumer) {
+        for (ArchiveSegment segment : candidates(personaCode, from, null)) {
+            matchingRows(segment, null, from, null).forEach(consumer);
+        }
+    }
+
+    // Move one window [from, to) of the hot table into segments, one per persona. The segments are
+    // only read once the delete has committed; a rollback removes them again. With sharding the
+    // storage table is outside this transaction, so each shard is archived in a transaction of its
+    // own: a failing shard keeps its rows, the segments of shards already committed stay, and the
+    // next run takes the window up again
+    @Transactional
+    public int archiveWindow(LocalDateTime from, LocalDateTime to) {
+        if (!(conversationMapper instanceof ShardedConversationMapper)) {
+            List<ArchiveSegment> written = new ArrayList<>();
+            int archived = archiveRows(conversationMapper, from, to, written);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        for (ArchiveSegment segment : written) {
+                            deleteQuietly(segment.getPath());
+                        }
+                        return;
+                    }
+                    if (status == STATUS_UNKNOWN) {
+                        // As with a failed shard commit: rows in both places beats rows in neither
+                        log.error("Commit of archive window {} - {} has an unknown outcome, keeping its {} segments",
+                                from, to, written.size());
+                    }
+                    register(written);
+                }
+            });
+            return archived;
+        }
+
+        ShardedConversationMapper sharded = (ShardedConversationMapper) conversationMapper;
+        int archived = 0;
+        RuntimeException failure = null;
+        for (int shard = 0; shard < sharded.getShardCount(); shard++) {
+            List<ArchiveSegment> written = new ArrayList<>();
+            boolean[] deleted = {false};
+            try {
+                archived += sharded.inShardTransaction(shard, mapper -> {
+                    int rows = archiveRows(mapper, from, to, written);
+                    deleted[0] = true;
+                    return rows;
+                });
+            } catch (RuntimeException e) {
+                failure = e;
+                if (!deleted[0]) {
+                    // Rolled back with its segments removed: the rows are still on the shard
+                    continue;
+                }
+                // Only the commit failed and the delete may have gone through: rows could now be in
+                // both places, which beats having them in neither
+                log.error("Commit of archive window {} - {} on shard {} failed, keeping its {} segments: {}", from,
+                        to, shard, written.size(), e.getMessage());
+            }
+            register(written);
+        }
+        if (failure != null) {
+            throw new RuntimeException("Failed to archive conversations: " + failure.getMessage(), failure);
+        }
+        return archived;
+    }
+
+    // Select and lock the window, write its segments and delete its rows, all in the caller's
+    // transaction; segments are removed again if anything fails, so a rollback leaves no files
+    private int archiveRows(ConversationMapper mapper, LocalDateTime from, LocalDateTime to,
+            List<ArchiveSegment> written) {
+        List<AIChatOpsAdminDto> rows = mapper.selectConversationsBetween(from, to);
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<AIChatOpsAdminDto>> byPersona = new LinkedHashMap<>();
+        for (AIChatOpsAdminDto row : rows) {
+            byPersona.computeIfAbsent(row.getPersonaCode(), k -> new ArrayList<>()).add(row);
+        }
+
+        try {
+            for (Map.Entry<String, List<AIChatOpsAdminDto>> entry : byPersona.entrySet()) {
+                written.add(ArchiveSegment.write(newSegmentFile(entry.getKey(), from, to), entry.getKey(),
+                        entry.getValue()));
+            }
+            int deleted = mapper.deleteConversationsBetween(from, to);
+            if (deleted != rows.size()) {
+                throw new IllegalStateException("Archived " + rows.size() + " rows but " + deleted
+                        + " matched the delete");
+            }
+        } catch (IOException | RuntimeException e) {
+            for (ArchiveSegment segment : written) {
+                deleteQuietly(segment.getPath());
+            }
+            written.clear();
+            throw new RuntimeException("Failed to archive conversations: " + e.getMessage(), e);
+        }
+        return rows.size();
+    }
+
+    // Remove every archived conversation of a persona; returns the number of rows removed
+    public synchronized int deleteSegments(String personaCode) {
+        List<ArchiveSegment> kept = new ArrayList<>(segments.size());
+        int removed = 0;
+        for (ArchiveSegment segment : segments) {
+            if (segment.getPersonaCode().equals(personaCode)) {
+                deleteQuietly(segment.getPath());
+                removed += segment.getTotals().getTotal();
+            } else {
+                kept.add(segment);
+            }
+        }
+        segments = Collections.unmodifiableList(kept);
+        return removed;
+    }
+
+    private synchronized void register(List<ArchiveSegment> added) {
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        updated.addAll(added);
+        updated.sort(Comparator.comparing(ArchiveSegment::getMaxCreated).reversed());
+        segments = Collections.unmodifiableList(updated);
+    }
+
+    private List<ArchiveSegment> candidates(String personaCode, LocalDateTime from, LocalDateTime to) {
+        boolean allPersonas = personaCode == null || personaCode.isEmpty();
+        List<ArchiveSegment> matches = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if ((allPersonas || segment.getPersonaCode().equals(personaCode)) && segment.overlaps(from, to)) {
+                matches.add(segment);
+            }
+        }
+        return matches;
+    }
+
+    // Group segments (newest first) whose date ranges overlap, so each group can be merged alone
+    private List<List<ArchiveSegment>> overlappingClusters(List<ArchiveSegment> sorted) {
+        List<List<ArchiveSegment>> clusters = new ArrayList<>();
+        List<ArchiveSegment> cluster = null;
+        LocalDateTime clusterMin = null;
+        for (ArchiveSegment segment : sorted) {
+            if (cluster == null || segment.getMaxCreated().isBefore(clusterMin)) {
+                cluster = new ArrayList<>();
+                clusters.add(cluster);
+                clusterMin = segment.getMinCreated();
+            } else if (segment.getMinCreated().isBefore(clusterMin)) {
+                clusterMin = segment.getMinCreated();
+            }
+            cluster.add(segment);
+        }
+        return clusters;
+    }
+
+    private boolean headerCountable(ArchiveSegment segment, String creator, LocalDateTime from,
+            LocalDateTime to) {
+        return (creator == null || creator.isEmpty()) && segment.within(from, to);
+    }
+
+    private ConversationTotals segmentTotals(ArchiveSegment segment, LocalDateTime from) {
+        if (segment.within(from, null)) {
+            return segment.getTotals();
+        }
+        ConversationTotals totals = new ConversationTotals(segment.getPersonaCode());
+        for (AIChatOpsAdminDto row : matchingRows(segment, null, from, null)) {
+            totals.add(row);
+        }
+        return totals;
+    }
+
+    private List<AIChatOpsAdminDto> matchingRows(ArchiveSegment segment, String creator, LocalDateTime from,
+            LocalDateTime to) {
+        boolean anyCreator = creator == null || creator.isEmpty();
+        List<AIChatOpsAdminDto> rows = segment.readRows();
+        List<AIChatOpsAdminDto> matches = new ArrayList<>(rows.size());
+        for (AIChatOpsAdminDto row : rows) {
+            if ((anyCreator || creator.equals(row.getCreator()))
+                    && (from == null || !row.getCreatedDate().isBefore(from))
+                    && (to == null || !row.getCreatedDate().isAfter(to))) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+
+    private Path newSegmentFile(String personaCode, LocalDateTime from, LocalDateTime to) {
+        String base = personaCode.replaceAll("[^A-Za-z0-9_-]", "_") + "_" + from.toLocalDate() + "_"
+                + to.toLocalDate();
+        Path file = Paths.get(directory, base + ArchiveSegment.FILE_SUFFIX);
+        for (int i = 2; Files.exists(file); i++) {
+            file = Paths.get(directory, base + "_" + i + ArchiveSegment.FILE_SUFFIX);
+        }
+        return file;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete archive segment {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.yourproject.chatAdmin.archive;
+
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves conversations older than age-days from swp_ai_chatops_storage into archive segments.
+ * Windows are aligned to window-days boundaries and only archived once entirely past the
+ * cutoff, so each persona gets one segment per window however often the job runs.
+ */
+@Component
+public class ConversationArchiveJob {
+    private static final Logger log = LoggerFactory.getLogger(ConversationArchiveJob.class);
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private ConversationArchive conversationArchive;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Value("${chatops.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chatops.archive.age-days:365}")
+    private int ageDays;
+
+    @Value("${chatops.archive.window-days:7}")
+    private int windowDays;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${chatops.archive.cron:0 30 3 * * *}")
+    public void archiveOldConversations() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            runArchive();
+        } catch (Exception e) {
+            log.warn("Conversation archive run failed: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Archive every complete window before the cutoff; returns the number of rows moved
+    public int runArchive() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(ageDays).atStartOfDay();
+        LocalDateTime oldest = conversationMapper.selectOldestConversationDate(cutoff);
+        if (oldest == null) {
+            return 0;
+        }
+
+        long window = Math.max(1, windowDays);
+        long firstDay = Math.floorDiv(oldest.toLocalDate().toEpochDay(), window) * window;
+        LocalDateTime from = LocalDate.ofEpochDay(firstDay).atStartOfDay();
+
+        int archived = 0;
+        long start = System.nanoTime();
+        for (LocalDateTime to = from.plusDays(window); !to.isAfter(cutoff); from = to, to = to.plusDays(window)) {
+            archived += conversationArchive.archiveWindow(from, to);
+        }
+
+        chatOpsMetrics.recordTime("chatops.archive.run", System.nanoTime() - start);
+        chatOpsMetrics.recordValue("chatops.archive.rows", archived);
+        log.info("Archived {} conversations older than {}", archived, cutoff);
+        return archived;
+    }
+}
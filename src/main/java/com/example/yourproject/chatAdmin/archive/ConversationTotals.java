@@ -0,0 +1,113 @@
+package com.example.yourproject.chatAdmin.archive;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Additive form of selectConversationStatistics, so hot-table and archive figures can be
+ * merged exactly: counts and sums add up, distinct users are unioned.
+ */
+public class ConversationTotals {
+    private String personaCode;
+    private long total;
+    private long aiCount;
+    private long aiChars;
+    private long successCount;
+    private final Set<String> creators = new HashSet<>();
+
+    public ConversationTotals() {
+    }
+
+    public ConversationTotals(String personaCode) {
+        this.personaCode = personaCode;
+    }
+
+    public void add(AIChatOpsAdminDto conversation) {
+        total++;
+        String aiQuery = conversation.getAiQuery();
+        if (aiQuery != null) {
+            aiCount++;
+            aiChars += aiQuery.codePointCount(0, aiQuery.length());
+            if (!aiQuery.isEmpty()) {
+                successCount++;
+            }
+        }
+        if (conversation.getCreator() != null) {
+            creators.add(conversation.getCreator());
+        }
+    }
+
+    public void merge(ConversationTotals other) {
+        total += other.total;
+        aiCount += other.aiCount;
+        aiChars += other.aiChars;
+        successCount += other.successCount;
+        creators.addAll(other.creators);
+    }
+
+    public void addCreators(Collection<String> creatorList) {
+        for (String creator : creatorList) {
+            if (creator != null) {
+                creators.add(creator);
+            }
+        }
+    }
+
+    // Same fields and rounding as selectConversationStatistics
+    public AIChatOpsAdminDto toStatistics() {
+        AIChatOpsAdminDto statistics = new AIChatOpsAdminDto();
+        statistics.setPersonaCode(personaCode);
+        statistics.setTotalConversations((int) total);
+        statistics.setUniqueUsers(creators.size());
+        statistics.setAvgResponseTime(aiCount == 0 ? null : (double) aiChars / aiCount);
+        statistics.setSuccessRate(total == 0 ? null : Math.round(successCount * 10000.0 / total) / 100.0);
+        return statistics;
+    }
+
+    public String getPersonaCode() {
+        return personaCode;
+    }
+
+    public void setPersonaCode(String personaCode) {
+        this.personaCode = personaCode;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getAiCount() {
+        return aiCount;
+    }
+
+    public void setAiCount(long aiCount) {
+        this.aiCount = aiCount;
+    }
+
+    public long getAiChars() {
+        return aiChars;
+    }
+
+    public void setAiChars(long aiChars) {
+        this.aiChars = aiChars;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public Set<String> getCreators() {
+        return creators;
+    }
+}
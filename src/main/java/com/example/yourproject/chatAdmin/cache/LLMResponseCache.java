@@ -0,0 +1,272 @@
+package com.example.yourproject.chatAdmin.cache;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of LLM responses on local disk. The key is the SHA-256 of
+ * (model, system prompt, user prompt, parameters); each entry is one file named by the key and
+ * memory-mapped on read. Entries survive restarts, and the least recently used ones are deleted
+ * once the directory grows past max-bytes. Last access is kept as the file's modified time so
+ * the LRU order is rebuilt on startup.
+ */
+@Component
+public class LLMResponseCache implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(LLMResponseCache.class);
+    private static final String FILE_SUFFIX = ".llm";
+    private static final int MAGIC = 0x4C4C4D43;
+    private static final int VERSION = 1;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Value("${chatops.llm-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chatops.llm-cache.dir:./data/llm-cache}")
+    private String directory;
+
+    @Value("${chatops.llm-cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    // Key -> file size, least recently used first; guarded by this
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        chatOpsMetrics.getRegistry().gauge("chatops.llm.cache.hit.ratio", Tags.of(), this,
+                LLMResponseCache::getHitRatio);
+        chatOpsMetrics.getRegistry().gauge("chatops.llm.cache.bytes", Tags.of(), this,
+                cache -> cache.getTotalBytes());
+        if (!enabled) {
+            return;
+        }
+
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(FILE_SUFFIX + ".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(FILE_SUFFIX)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort((a, b) -> lastModified(a).compareTo(lastModified(b)));
+        synchronized (this) {
+            for (Path file : files) {
+                long size = Files.size(file);
+                entries.put(keyOf(file), size);
+                totalBytes += size;
+            }
+            evict();
+        }
+        log.info("Loaded {} cached LLM responses ({} bytes) from {}", files.size(), totalBytes,
+                dir.toAbsolutePath());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Hex SHA-256 over the length-prefixed parts, so ("ab", "c") and ("a", "bc") differ
+    public static String key(String model, String systemPrompt, String userPrompt, String parameters) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] {model, systemPrompt, userPrompt, parameters}) {
+                byte[] bytes = part == null ? new byte[0] : part.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(5).put((byte) (part == null ? 0 : 1)).putInt(bytes.length)
+                        .array());
+                digest.update(bytes);
+            }
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Cached response, or null on a miss (including entries evicted or unreadable mid-read)
+    public String get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses.incrementAndGet();
+                chatOpsMetrics.increment("chatops.llm.cache", "result", "miss");
+                return null;
+            }
+        }
+
+        Path file = fileOf(key);
+        try {
+            String response = read(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            chatOpsMetrics.increment("chatops.llm.cache", "result", "hit");
+            return response;
+        } catch (IOException e) {
+            if (!(e instanceof NoSuchFileException)) {
+                log.warn("Dropping unreadable LLM cache entry {}: {}", key, e.getMessage());
+            }
+            remove(key);
+            misses.incrementAndGet();
+            chatOpsMetrics.increment("chatops.llm.cache", "result", "miss");
+            return null;
+        }
+    }
+
+    public void put(String key, String response) {
+        if (!enabled || response == null) {
+            return;
+        }
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        Path file = fileOf(key);
+        Path temp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(12 + body.length);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(body.length).put(body).flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed to cache LLM response {}: {}", key, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Swept on next startup
+            }
+            return;
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(key, (long) body.length + 12);
+            totalBytes += body.length + 12 - (previous == null ? 0 : previous);
+            evict();
+        }
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", getHitRatio());
+        return stats;
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    // Caller holds the lock
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(fileOf(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to delete LLM cache entry {}: {}", entry.getKey(), e.getMessage());
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            chatOpsMetrics.increment("chatops.llm.cache.evictions");
+        }
+    }
+
+    private String read(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.capacity() < 12 || mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+            throw new IOException("Not an LLM cache entry: " + file);
+        }
+        int length = mapped.getInt();
+        if (length != mapped.remaining()) {
+            throw new IOException("Truncated LLM cache entry: " + file);
+        }
+        byte[] body = new byte[length];
+        mapped.get(body);
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private Path fileOf(String key) {
+        return Paths.get(directory, key + FILE_SUFFIX);
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - FILE_SUFFIX.length());
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
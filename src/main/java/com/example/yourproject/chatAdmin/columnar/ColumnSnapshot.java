@@ -0,0 +1,179 @@
+package com.example.yourproject.chatAdmin.columnar;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable view of the first size rows of the column arrays. The store only ever writes past
+ * size (or into fresh arrays), so a published snapshot can be scanned without locking.
+ * Rows are in CREATED_DATE order, which lets range scans start from a binary search.
+ */
+final class ColumnSnapshot {
+    // Rows per parallel scan chunk
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    final int size;
+    final int[] persona;
+    final int[] creator;
+    final int[] aiLength;
+    final long[] createdMillis;
+    final String[] personaNames;
+    final int personaCount;
+    final int creatorCount;
+
+    ColumnSnapshot(int size, int[] persona, int[] creator, int[] aiLength, long[] createdMillis,
+            String[] personaNames, int personaCount, int creatorCount) {
+        this.size = size;
+        this.persona = persona;
+        this.creator = creator;
+        this.aiLength = aiLength;
+        this.createdMillis = createdMillis;
+        this.personaNames = personaNames;
+        this.personaCount = personaCount;
+        this.creatorCount = creatorCount;
+    }
+
+    static ColumnSnapshot empty() {
+        return new ColumnSnapshot(0, new int[0], new int[0], new int[0], new long[0], new String[0], 0, 0);
+    }
+
+    // First row created at or after fromMillis
+    int lowerBound(long fromMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (createdMillis[mid] < fromMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Totals over [from, size) for one persona id (-1 for all)
+    Totals totals(int personaId, int from) {
+        return chunks(from).mapToObj(chunk -> {
+            Totals totals = new Totals(creatorCount);
+            int end = Math.min(size, chunk + CHUNK_SIZE);
+            for (int i = chunk; i < end; i++) {
+                if (personaId >= 0 && persona[i] != personaId) {
+                    continue;
+                }
+                totals.add(creator[i], aiLength[i]);
+            }
+            return totals;
+        }).reduce(Totals::merge).orElseGet(() -> new Totals(creatorCount));
+    }
+
+    // Per-persona totals over [from, size), indexed by persona id
+    Totals[] totalsByPersona(int from) {
+        return chunks(from).mapToObj(chunk -> {
+            Totals[] totals = newTotals(personaCount, creatorCount);
+            int end = Math.min(size, chunk + CHUNK_SIZE);
+            for (int i = chunk; i < end; i++) {
+                totals[persona[i]].add(creator[i], aiLength[i]);
+            }
+            return totals;
+        }).reduce(ColumnSnapshot::mergeAll).orElseGet(() -> newTotals(personaCount, creatorCount));
+    }
+
+    // Row counts and distinct creators per fixed-width time bucket starting at fromMillis
+    Totals[] trend(int personaId, long fromMillis, long bucketMillis, int bucketCount) {
+        int from = lowerBound(fromMillis);
+        return chunks(from).mapToObj(chunk -> {
+            Totals[] buckets = newTotals(bucketCount, creatorCount);
+            int end = Math.min(size, chunk + CHUNK_SIZE);
+            for (int i = chunk; i < end; i++) {
+                if (personaId >= 0 && persona[i] != personaId) {
+                    continue;
+                }
+                int bucket = (int) ((createdMillis[i] - fromMillis) / bucketMillis);
+                if (bucket < bucketCount) {
+                    buckets[bucket].add(creator[i], aiLength[i]);
+                }
+            }
+            return buckets;
+        }).reduce(ColumnSnapshot::mergeAll).orElseGet(() -> newTotals(bucketCount, creatorCount));
+    }
+
+    int personaId(String personaCode) {
+        for (int p = 0; p < personaCount; p++) {
+            if (personaNames[p].equals(personaCode)) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    // Bytes per row across all columns
+    static int rowBytes() {
+        return 3 * Integer.BYTES + Long.BYTES;
+    }
+
+    // Bytes held by the column arrays (allocated capacity, not just size)
+    long columnBytes() {
+        return (long) persona.length * Integer.BYTES + (long) creator.length * Integer.BYTES
+                + (long) aiLength.length * Integer.BYTES + (long) createdMillis.length * Long.BYTES;
+    }
+
+    private IntStream chunks(int from) {
+        int chunkCount = (size - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, Math.max(0, chunkCount)).map(c -> from + c * CHUNK_SIZE).parallel();
+    }
+
+    // Partials are fresh per chunk, so merging into the left one is safe
+    private static Totals[] mergeAll(Totals[] a, Totals[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i].merge(b[i]);
+        }
+        return a;
+    }
+
+    private static Totals[] newTotals(int count, int creatorCount) {
+        Totals[] totals = new Totals[count];
+        for (int i = 0; i < count; i++) {
+            totals[i] = new Totals(creatorCount);
+        }
+        return totals;
+    }
+
+    /**
+     * Partial statistics for one scan chunk; distinct creators as a bitmap over creator ids.
+     */
+    static final class Totals {
+        long total;
+        long aiCount;
+        long aiChars;
+        long successCount;
+        final BitSet creators;
+
+        Totals(int creatorCount) {
+            this.creators = new BitSet(creatorCount);
+        }
+
+        void add(int creatorId, int length) {
+            total++;
+            if (length >= 0) {
+                aiCount++;
+                aiChars += length;
+                if (length > 0) {
+                    successCount++;
+                }
+            }
+            if (creatorId >= 0) {
+                creators.set(creatorId);
+            }
+        }
+
+        Totals merge(Totals other) {
+            total += other.total;
+            aiCount += other.aiCount;
+            aiChars += other.aiChars;
+            successCount += other.successCount;
+            creators.or(other.creators);
+            return this;
+        }
+    }
+}
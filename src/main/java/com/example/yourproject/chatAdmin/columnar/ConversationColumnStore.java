@@ -0,0 +1,390 @@
+package com.example.yourproject.chatAdmin.columnar;
+
+import com.example.yourproject.chatAdmin.archive.ConversationArchive;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process copy of the statistics columns of every conversation, hot table and archive alike.
+ * Persona and creator are dictionary-encoded to int ids, CREATED_DATE is kept as epoch millis and
+ * the response as its length (-1 for no response), each in its own primitive array: 20 bytes a row.
+ *
+ * Loaded in the background at startup, then tailed every tail-ms. A row is appended once its
+ * CREATED_DATE is lag-ms old, by when write-behind logging and concurrent transactions have
+ * committed it, so answers lag the table by lag-ms plus tail-ms. Each tail re-reads lag-ms below
+ * that horizon and skips ids already loaded; a row committed later still is inserted in place.
+ * Callers fall back to SQL until isReady().
+ */
+@Component
+public class ConversationColumnStore implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(ConversationColumnStore.class);
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int LOAD_WINDOW_DAYS = 7;
+    public static final int MAX_TREND_BUCKETS = 10000;
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private ConversationArchive conversationArchive;
+
+    @Value("${chatops.columnar.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chatops.columnar.lag-ms:10000}")
+    private long lagMs;
+
+    private volatile boolean ready = false;
+    private volatile ColumnSnapshot snapshot = ColumnSnapshot.empty();
+
+    // Writer state, guarded by this
+    private int size;
+    private int[] persona = new int[INITIAL_CAPACITY];
+    private int[] creator = new int[INITIAL_CAPACITY];
+    private int[] aiLength = new int[INITIAL_CAPACITY];
+    private long[] createdMillis = new long[INITIAL_CAPACITY];
+    private String[] personaNames = new String[16];
+    private final Map<String, Integer> personaIds = new HashMap<>();
+    private final Map<String, Integer> creatorIds = new HashMap<>();
+
+    // Every row created before horizon and committed by the last tail is loaded
+    private LocalDateTime horizon;
+    // Ids loaded with CREATED_DATE in the lag window below horizon, which the next tail reads again
+    private final Map<Long, LocalDateTime> recentIds = new HashMap<>();
+    private long lateRows;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "columnar-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Scheduled(fixedDelayString = "${chatops.columnar.tail-ms:5000}")
+    public void tail() {
+        if (!ready) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                LocalDateTime until = LocalDateTime.now().minus(lagMs, ChronoUnit.MILLIS);
+                appendBefore(conversationMapper.selectConversationMetadataSince(horizon.minus(lagMs,
+                        ChronoUnit.MILLIS)), until);
+                publish();
+            }
+        } catch (Exception e) {
+            log.warn("Columnar store tail failed: {}", e.getMessage());
+        }
+    }
+
+    // Same result as ConversationMapper.selectConversationStatistics over hot and archived rows
+    public AIChatOpsAdminDto getStatistics(String personaCode, LocalDateTime from) {
+        ColumnSnapshot current = snapshot;
+        int personaId = -1;
+        if (personaCode != null && !personaCode.isEmpty()) {
+            personaId = current.personaId(personaCode);
+            if (personaId < 0) {
+                return toStatistics(null, new ColumnSnapshot.Totals(0));
+            }
+        }
+        return toStatistics(null, current.totals(personaId, startRow(current, from)));
+    }
+
+    // Same result as ConversationMapper.selectConversationCountsByPersona over hot and archived rows
+    public List<AIChatOpsAdminDto> getCountsByPersona(LocalDateTime from) {
+        ColumnSnapshot current = snapshot;
+        ColumnSnapshot.Totals[] totals = current.totalsByPersona(startRow(current, from));
+
+        List<AIChatOpsAdminDto> counts = new ArrayList<>(totals.length);
+        for (int p = 0; p < totals.length; p++) {
+            if (totals[p].total == 0) {
+                continue;
+            }
+            AIChatOpsAdminDto count = new AIChatOpsAdminDto();
+            count.setPersonaCode(current.personaNames[p]);
+            count.setTotalConversations((int) totals[p].total);
+            count.setUniqueUsers(totals[p].creators.cardinality());
+            counts.add(count);
+        }
+        counts.sort((a, b) -> Integer.compare(b.getTotalConversations(), a.getTotalConversations()));
+        return counts;
+    }
+
+    // Conversations and distinct users per day or hour from from (null = first row) up to now
+    public List<AIChatOpsAdminDto> getTrend(String personaCode, LocalDateTime from, ChronoUnit bucket) {
+        ColumnSnapshot current = snapshot;
+        LocalDateTime now = LocalDateTime.now();
+        if (from == null) {
+            if (current.size == 0) {
+                return new ArrayList<>();
+            }
+            from = toDateTime(current.createdMillis[0]);
+        }
+        LocalDateTime start = from.truncatedTo(bucket);
+        long bucketMillis = bucket.getDuration().toMillis();
+        long startMillis = toMillis(start);
+        long bucketCount = (toMillis(now) - startMillis) / bucketMillis + 1;
+        if (bucketCount > MAX_TREND_BUCKETS) {
+            throw new IllegalArgumentException("Trend range too large: " + bucketCount + " buckets");
+        }
+
+        ColumnSnapshot.Totals[] buckets = new ColumnSnapshot.Totals[0];
+        int personaId = -1;
+        if (personaCode != null && !personaCode.isEmpty()) {
+            personaId = current.personaId(personaCode);
+        }
+        if (personaId >= 0 || personaCode == null || personaCode.isEmpty()) {
+            buckets = current.trend(personaId, startMillis, bucketMillis, (int) bucketCount);
+        }
+
+        List<AIChatOpsAdminDto> trend = new ArrayList<>((int) bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            AIChatOpsAdminDto point = new AIChatOpsAdminDto();
+            point.setPersonaCode(personaCode);
+            point.setCreatedDate(start.plus(b, bucket));
+            point.setTotalConversations(b < buckets.length ? (int) buckets[b].total : 0);
+            point.setUniqueUsers(b < buckets.length ? buckets[b].creators.cardinality() : 0);
+            trend.add(point);
+        }
+        return trend;
+    }
+
+    // Drop every row of a deleted persona; old snapshots keep their arrays until readers finish
+    public synchronized void removePersona(String personaCode) {
+        Integer personaId = personaIds.get(personaCode);
+        if (personaId == null) {
+            return;
+        }
+        int kept = 0;
+        int[] keptPersona = new int[persona.length];
+        int[] keptCreator = new int[creator.length];
+        int[] keptLength = new int[aiLength.length];
+        long[] keptCreated = new long[createdMillis.length];
+        for (int i = 0; i < size; i++) {
+            if (persona[i] != personaId) {
+                keptPersona[kept] = persona[i];
+                keptCreator[kept] = creator[i];
+                keptLength[kept] = aiLength[i];
+                keptCreated[kept] = createdMillis[i];
+                kept++;
+            }
+        }
+        persona = keptPersona;
+        creator = keptCreator;
+        aiLength = keptLength;
+        createdMillis = keptCreated;
+        size = kept;
+        publish();
+    }
+
+    public Map<String, Object> getStatus() {
+        ColumnSnapshot current = snapshot;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("ready", ready);
+        status.put("rows", current.size);
+        synchronized (this) {
+            status.put("horizon", horizon == null ? null : horizon.toString());
+            status.put("lateRows", lateRows);
+        }
+        status.put("personas", current.personaCount);
+        status.put("creators", current.creatorCount);
+        status.put("usedBytes", (long) current.size * ColumnSnapshot.rowBytes());
+        status.put("allocatedBytes", current.columnBytes());
+        status.put("bytesPerMillionRows", 1_000_000L * ColumnSnapshot.rowBytes());
+        return status;
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            conversationArchive.forEachConversation(row -> {
+                String aiQuery = row.getAiQuery();
+                synchronized (this) {
+                    append(row.getPersonaCode(), row.getCreator(), row.getCreatedDate(),
+                            aiQuery == null ? -1 : aiQuery.codePointCount(0, aiQuery.length()));
+                }
+            });
+
+            // Hot table one window at a time, so no more than a week of rows is materialised at once;
+            // the tail takes over from the horizon
+            LocalDateTime until = LocalDateTime.now().minus(lagMs, ChronoUnit.MILLIS);
+            LocalDateTime from = conversationMapper.selectOldestConversationDate(until);
+            for (; from != null && from.isBefore(until); from = from.plusDays(LOAD_WINDOW_DAYS)) {
+                LocalDateTime to = from.plusDays(LOAD_WINDOW_DAYS);
+                if (to.isAfter(until)) {
+                    to = until;
+                }
+                List<ConversationMetadata> rows = conversationMapper.selectConversationMetadataBetween(from, to);
+                synchronized (this) {
+                    appendBefore(rows, to);
+                    publish();
+                }
+            }
+            synchronized (this) {
+                if (horizon == null) {
+                    horizon = until;
+                }
+            }
+
+            ready = true;
+            Map<String, Object> status = getStatus();
+            log.info("Columnar store loaded {} rows in {} ms: {} bytes used ({} allocated), {} bytes per million "
+                    + "rows, {} personas, {} creators", status.get("rows"), (System.nanoTime() - start) / 1_000_000,
+                    status.get("usedBytes"), status.get("allocatedBytes"), status.get("bytesPerMillionRows"),
+                    status.get("personas"), status.get("creators"));
+        } catch (Exception e) {
+            log.warn("Failed to load columnar store, statistics stay on SQL: {}", e.getMessage());
+        }
+    }
+
+    // Load rows ordered by CREATED_DATE up to until, skipping ids already loaded, and move the horizon there
+    private void appendBefore(List<ConversationMetadata> rows, LocalDateTime until) {
+        for (ConversationMetadata row : rows) {
+            if (!row.getCreatedDate().isBefore(until)) {
+                break;
+            }
+            if (row.getId() != null && recentIds.containsKey(row.getId())) {
+                continue;
+            }
+            int length = row.getAiLength() == null ? -1 : row.getAiLength();
+            if (horizon != null && row.getCreatedDate().isBefore(horizon)) {
+                insert(row.getPersonaCode(), row.getCreator(), row.getCreatedDate(), length);
+                lateRows++;
+            } else {
+                append(row.getPersonaCode(), row.getCreator(), row.getCreatedDate(), length);
+            }
+            if (row.getId() != null) {
+                recentIds.put(row.getId(), row.getCreatedDate());
+            }
+        }
+        if (horizon == null || until.isAfter(horizon)) {
+            horizon = until;
+        }
+        LocalDateTime oldest = horizon.minus(lagMs, ChronoUnit.MILLIS);
+        recentIds.values().removeIf(createdDate -> createdDate.isBefore(oldest));
+    }
+
+    private void append(String personaCode, String creatorName, LocalDateTime createdDate, int length) {
+        if (size == persona.length) {
+            int capacity = persona.length * 2;
+            persona = Arrays.copyOf(persona, capacity);
+            creator = Arrays.copyOf(creator, capacity);
+            aiLength = Arrays.copyOf(aiLength, capacity);
+            createdMillis = Arrays.copyOf(createdMillis, capacity);
+        }
+        persona[size] = personaId(personaCode);
+        creator[size] = creatorId(creatorName);
+        aiLength[size] = length;
+        createdMillis[size] = toMillis(createdDate);
+        size++;
+    }
+
+    // A row older than rows already loaded goes after the last row of its instant. Into copies of the
+    // arrays, since published snapshots must not see rows shift; late rows are rare enough for that
+    private void insert(String personaCode, String creatorName, LocalDateTime createdDate, int length) {
+        long millis = toMillis(createdDate);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (createdMillis[mid] <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int at = low;
+        int capacity = size == persona.length ? persona.length * 2 : persona.length;
+        persona = insertAt(persona, at, personaId(personaCode), capacity);
+        creator = insertAt(creator, at, creatorId(creatorName), capacity);
+        aiLength = insertAt(aiLength, at, length, capacity);
+        long[] created = new long[capacity];
+        System.arraycopy(createdMillis, 0, created, 0, at);
+        created[at] = millis;
+        System.arraycopy(createdMillis, at, created, at + 1, size - at);
+        createdMillis = created;
+        size++;
+    }
+
+    private int[] insertAt(int[] column, int at, int value, int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(column, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(column, at, copy, at + 1, size - at);
+        return copy;
+    }
+
+    private int personaId(String personaCode) {
+        Integer personaId = personaIds.get(personaCode);
+        if (personaId == null) {
+            personaId = personaIds.size();
+            personaIds.put(personaCode, personaId);
+            if (personaId == personaNames.length) {
+                personaNames = Arrays.copyOf(personaNames, personaNames.length * 2);
+            }
+            personaNames[personaId] = personaCode;
+        }
+        return personaId;
+    }
+
+    private int creatorId(String creatorName) {
+        return creatorName == null ? -1 : creatorIds.computeIfAbsent(creatorName, name -> creatorIds.size());
+    }
+
+    private void publish() {
+        snapshot = new ColumnSnapshot(size, persona, creator, aiLength, createdMillis, personaNames,
+                personaIds.size(), creatorIds.size());
+    }
+
+    private int startRow(ColumnSnapshot current, LocalDateTime from) {
+        return from == null ? 0 : current.lowerBound(toMillis(from));
+    }
+
+    // Same fields and rounding as selectConversationStatistics
+    private static AIChatOpsAdminDto toStatistics(String personaCode, ColumnSnapshot.Totals totals) {
+        AIChatOpsAdminDto statistics = new AIChatOpsAdminDto();
+        statistics.setPersonaCode(personaCode);
+        statistics.setTotalConversations((int) totals.total);
+        statistics.setUniqueUsers(totals.creators.cardinality());
+        statistics.setAvgResponseTime(totals.aiCount == 0 ? null : (double) totals.aiChars / totals.aiCount);
+        statistics.setSuccessRate(totals.total == 0 ? null
+                : Math.round(totals.successCount * 10000.0 / totals.total) / 100.0);
+        return statistics;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+}
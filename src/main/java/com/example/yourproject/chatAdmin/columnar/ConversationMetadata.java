@@ -0,0 +1,56 @@
+package com.example.yourproject.chatAdmin.columnar;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a conversation that statistics need: no query or response text.
+ * aiLength is the response length in characters, null when there is no response.
+ * id is null for archived conversations.
+ */
+public class ConversationMetadata {
+    private Long id;
+    private String personaCode;
+    private String creator;
+    private LocalDateTime createdDate;
+    private Integer aiLength;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPersonaCode() {
+        return personaCode;
+    }
+
+    public void setPersonaCode(String personaCode) {
+        this.personaCode = personaCode;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public void setCreator(String creator) {
+        this.creator = creator;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Integer getAiLength() {
+        return aiLength;
+    }
+
+    public void setAiLength(Integer aiLength) {
+        this.aiLength = aiLength;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.yourproject.chatAdmin.compression;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a String property to a compressed BLOB column (USER_QUERY_Z, AI_QUERY_Z). Only
+ * statements that name it in their result map pay for decompression, so listings and
+ * statistics that select lengths and previews never inflate a body.
+ */
+public class CompressedTextTypeHandler extends BaseTypeHandler<String> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setBytes(i, TextCompressor.get().compress(parameter));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decode(rs.getBytes(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decode(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decode(cs.getBytes(columnIndex));
+    }
+
+    private static String decode(byte[] stored) {
+        return stored == null ? null : TextCompressor.get().decompress(stored);
+    }
+}
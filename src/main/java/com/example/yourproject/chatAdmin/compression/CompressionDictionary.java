@@ -0,0 +1,46 @@
+package com.example.yourproject.chatAdmin.compression;
+
+import java.time.LocalDateTime;
+
+/**
+ * A preset deflate dictionary from swp_ai_chatops_compression_dict. Dictionaries are never
+ * changed or deleted, because compressed rows refer to them by id.
+ */
+public class CompressionDictionary {
+    private Integer dictionaryId;
+    private byte[] dictionary;
+    private int sampleCount;
+    private LocalDateTime createdDate;
+
+    public Integer getDictionaryId() {
+        return dictionaryId;
+    }
+
+    public void setDictionaryId(Integer dictionaryId) {
+        this.dictionaryId = dictionaryId;
+    }
+
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(byte[] dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
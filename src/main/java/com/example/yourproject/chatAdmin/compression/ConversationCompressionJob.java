@@ -0,0 +1,85 @@
+package com.example.yourproject.chatAdmin.compression;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Backfills conversations written before compression: moves USER_QUERY / AI_QUERY into the
+ * compressed columns with their lengths and previews, in id order and batch-size rows at a
+ * time. Trains the first dictionary if there is none yet, so the backfill benefits from it.
+ */
+@Component
+public class ConversationCompressionJob {
+    private static final Logger log = LoggerFactory.getLogger(ConversationCompressionJob.class);
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private TextCompressor textCompressor;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Value("${chatops.compression.backfill.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chatops.compression.backfill.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // Rows up to this id are compressed; new rows are written compressed, so the cursor never goes back
+    private volatile long lastId = 0;
+
+    @Scheduled(fixedDelayString = "${chatops.compression.backfill.interval-ms:300000}")
+    public void compressConversations() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            runBackfill();
+        } catch (Exception e) {
+            log.warn("Conversation compression backfill failed: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Compress every remaining plain-text row; returns the number of rows moved
+    public int runBackfill() {
+        if (textCompressor.getCurrentDictionaryId() == 0) {
+            textCompressor.trainDictionary();
+        }
+
+        int compressed = 0;
+        long start = System.nanoTime();
+        List<AIChatOpsAdminDto> rows;
+        do {
+            rows = conversationMapper.selectUncompressedConversations(lastId, batchSize);
+            for (AIChatOpsAdminDto row : rows) {
+                TextCompressor.summarize(row);
+                compressed += conversationMapper.updateCompressedConversation(row);
+                lastId = row.getConversationId();
+            }
+        } while (rows.size() == batchSize);
+
+        if (compressed > 0) {
+            chatOpsMetrics.recordTime("chatops.compression.backfill", System.nanoTime() - start);
+            chatOpsMetrics.recordValue("chatops.compression.backfill.rows", compressed);
+            log.info("Compressed {} conversations, ratio so far {}", compressed,
+                    textCompressor.getCompressionRatio());
+        }
+        return compressed;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.yourproject.chatAdmin.compression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a preset deflate dictionary from sample texts. Candidates are whole lines (markdown
+ * headings, list markers, boilerplate sentences) and runs of four words; each is scored by
+ * (documents containing it - 1) * length, the bytes it would save across the samples. The best
+ * candidates are packed with the most valuable at the end of the dictionary, where deflate
+ * reaches them with the shortest distances.
+ */
+public final class DictionaryTrainer {
+    private static final int MIN_SEGMENT_CHARS = 8;
+    private static final int MAX_SEGMENT_CHARS = 256;
+    private static final int NGRAM_WORDS = 4;
+    // Candidates looked at when packing; the rest are too rare to matter
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private DictionaryTrainer() {
+    }
+
+    // Empty when the samples share nothing worth a dictionary
+    public static byte[] train(List<String> samples, int maxBytes) {
+        Map<String, Integer> documentCounts = new HashMap<>();
+        for (String sample : samples) {
+            if (sample == null || sample.isEmpty()) {
+                continue;
+            }
+            Set<String> segments = new HashSet<>();
+            for (String line : sample.split("\n")) {
+                String trimmed = line.stripTrailing();
+                if (trimmed.length() >= MIN_SEGMENT_CHARS && trimmed.length() <= MAX_SEGMENT_CHARS) {
+                    segments.add(trimmed + "\n");
+                }
+            }
+            String[] words = sample.trim().split("\\s+");
+            for (int i = 0; i + NGRAM_WORDS <= words.length; i++) {
+                String gram = String.join(" ", Arrays.asList(words).subList(i, i + NGRAM_WORDS));
+                if (gram.length() >= MIN_SEGMENT_CHARS && gram.length() <= MAX_SEGMENT_CHARS) {
+                    segments.add(gram);
+                }
+            }
+            for (String segment : segments) {
+                documentCounts.merge(segment, 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : documentCounts.entrySet()) {
+            if (entry.getValue() > 1) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort((a, b) -> Long.compare(score(b), score(a)));
+
+        List<byte[]> chosen = new ArrayList<>();
+        StringBuilder packed = new StringBuilder();
+        int size = 0;
+        for (Map.Entry<String, Integer> candidate : candidates.subList(0, Math.min(candidates.size(),
+                MAX_CANDIDATES))) {
+            String segment = candidate.getKey();
+            if (packed.indexOf(segment) >= 0) {
+                continue;
+            }
+            byte[] bytes = segment.getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length > maxBytes) {
+                continue;
+            }
+            chosen.add(bytes);
+            packed.append(segment).append('\u0000');
+            size += bytes.length;
+        }
+
+        // Best first in chosen, so copy back to front to put it last
+        byte[] dictionary = new byte[size];
+        int offset = 0;
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            byte[] bytes = chosen.get(i);
+            System.arraycopy(bytes, 0, dictionary, offset, bytes.length);
+            offset += bytes.length;
+        }
+        return dictionary;
+    }
+
+    private static long score(Map.Entry<String, Integer> candidate) {
+        return (long) (candidate.getValue() - 1) * candidate.getKey().length();
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.yourproject.chatAdmin.compression;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.CompressionDictionaryMapper;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses conversation bodies for USER_QUERY_Z / AI_QUERY_Z with deflate and a preset
+ * dictionary trained on our own conversations. A stored value is either plain UTF-8 (texts
+ * shorter than min-bytes, or ones deflate does not shrink) or a frame: 0xFF, dictionary id,
+ * UTF-8 byte length, raw deflate data. 0xFF never starts UTF-8, so the two cannot be confused.
+ *
+ * New dictionaries only affect new writes; old ones stay loaded because existing rows name them.
+ */
+@Component
+public class TextCompressor implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(TextCompressor.class);
+    public static final int PREVIEW_CHARS = 200;
+    private static final byte FRAME_MARKER = (byte) 0xFF;
+    private static final int HEADER_BYTES = 9;
+    // Deflate looks back at most 32 KB, so a longer dictionary is never used
+    private static final int MAX_DICTIONARY_BYTES = 32 * 1024;
+
+    // MyBatis creates type handlers itself, so CompressedTextTypeHandler finds the bean here
+    private static volatile TextCompressor instance;
+
+    @Autowired
+    private CompressionDictionaryMapper compressionDictionaryMapper;
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    // false stores new bodies as plain UTF-8; existing frames are still read
+    @Value("${chatops.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chatops.compression.level:6}")
+    private int level;
+
+    @Value("${chatops.compression.min-bytes:64}")
+    private int minBytes;
+
+    @Value("${chatops.compression.dictionary-bytes:32768}")
+    private int dictionaryBytes;
+
+    // Recent conversations the dictionary is trained on
+    @Value("${chatops.compression.training-samples:1000}")
+    private int trainingSamples;
+
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private volatile int currentDictionaryId = 0;
+
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong decodedBodies = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        for (CompressionDictionary dictionary : compressionDictionaryMapper.selectDictionaries()) {
+            dictionaries.put(dictionary.getDictionaryId(), dictionary.getDictionary());
+            currentDictionaryId = Math.max(currentDictionaryId, dictionary.getDictionaryId());
+        }
+        chatOpsMetrics.getRegistry().gauge("chatops.compression.ratio.total", Tags.of(), this,
+                TextCompressor::getCompressionRatio);
+        instance = this;
+        log.info("Loaded {} compression dictionaries, writing with dictionary {}", dictionaries.size(),
+                currentDictionaryId);
+    }
+
+    static TextCompressor get() {
+        TextCompressor compressor = instance;
+        if (compressor == null) {
+            throw new IllegalStateException("TextCompressor is not initialized");
+        }
+        return compressor;
+    }
+
+    // Fill in the stored lengths and previews from the full texts
+    public static void summarize(AIChatOpsAdminDto conversation) {
+        conversation.setUserQueryLength(length(conversation.getUserQuery()));
+        conversation.setAiQueryLength(length(conversation.getAiQuery()));
+        conversation.setUserQueryPreview(preview(conversation.getUserQuery()));
+        conversation.setAiQueryPreview(preview(conversation.getAiQuery()));
+    }
+
+    public byte[] compress(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        int dictionaryId = currentDictionaryId;
+        if (!enabled || raw.length < minBytes) {
+            return stored(raw, raw);
+        }
+
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionaryId != 0) {
+                deflater.setDictionary(dictionaries.get(dictionaryId));
+            }
+            deflater.setInput(raw);
+            deflater.finish();
+            // No room beyond the raw size: if deflate needs more, plain UTF-8 is smaller
+            byte[] frame = new byte[raw.length];
+            int written = HEADER_BYTES;
+            while (!deflater.finished() && written < frame.length) {
+                written += deflater.deflate(frame, written, frame.length - written);
+            }
+            if (!deflater.finished()) {
+                return stored(raw, raw);
+            }
+            ByteBuffer.wrap(frame, 0, HEADER_BYTES).put(FRAME_MARKER).putInt(dictionaryId).putInt(raw.length);
+            byte[] compressed = new byte[written];
+            System.arraycopy(frame, 0, compressed, 0, written);
+            return stored(raw, compressed);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public String decompress(byte[] stored) {
+        if (stored.length == 0 || stored[0] != FRAME_MARKER) {
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+
+        long start = System.nanoTime();
+        ByteBuffer header = ByteBuffer.wrap(stored, 1, HEADER_BYTES - 1);
+        int dictionaryId = header.getInt();
+        int length = header.getInt();
+        Inflater inflater = new Inflater(true);
+        try {
+            if (dictionaryId != 0) {
+                inflater.setDictionary(dictionary(dictionaryId));
+            }
+            inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int inflated = inflater.inflate(raw, read, length - read);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length) {
+                throw new IllegalStateException("Truncated compressed text: " + read + " of " + length + " bytes");
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+            long elapsed = System.nanoTime() - start;
+            decodedBodies.incrementAndGet();
+            decodeNanos.addAndGet(elapsed);
+            chatOpsMetrics.recordTime("chatops.compression.decode", elapsed);
+        }
+    }
+
+    // Train a dictionary on recent conversations and write new bodies with it; null if there is too little data
+    public synchronized CompressionDictionary trainDictionary() {
+        List<String> samples = new ArrayList<>();
+        for (AIChatOpsAdminDto conversation : conversationMapper.selectRecentConversations(trainingSamples)) {
+            samples.add(conversation.getUserQuery());
+            samples.add(conversation.getAiQuery());
+        }
+        long start = System.nanoTime();
+        byte[] trained = DictionaryTrainer.train(samples, Math.min(dictionaryBytes, MAX_DICTIONARY_BYTES));
+        chatOpsMetrics.recordTime("chatops.compression.train", System.nanoTime() - start);
+        if (trained.length == 0) {
+            log.info("Not enough shared text in {} samples to train a compression dictionary", samples.size());
+            return null;
+        }
+
+        CompressionDictionary dictionary = new CompressionDictionary();
+        dictionary.setDictionary(trained);
+        dictionary.setSampleCount(samples.size());
+        compressionDictionaryMapper.insertDictionary(dictionary);
+        dictionaries.put(dictionary.getDictionaryId(), trained);
+        currentDictionaryId = dictionary.getDictionaryId();
+        log.info("Trained compression dictionary {} ({} bytes) from {} samples", currentDictionaryId, trained.length,
+                samples.size());
+        return dictionary;
+    }
+
+    public int getCurrentDictionaryId() {
+        return currentDictionaryId;
+    }
+
+    // Stored bytes per raw byte for bodies written since startup; 1 when nothing was written
+    public double getCompressionRatio() {
+        long raw = rawBytes.get();
+        return raw == 0 ? 1 : (double) storedBytes.get() / raw;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> dictionarySizes = new LinkedHashMap<>();
+        dictionaries.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> dictionarySizes.put(String.valueOf(entry.getKey()), entry.getValue().length));
+
+        long decoded = decodedBodies.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("level", level);
+        stats.put("currentDictionaryId", currentDictionaryId);
+        stats.put("dictionaryBytes", dictionarySizes);
+        stats.put("rawBytes", rawBytes.get());
+        stats.put("storedBytes", storedBytes.get());
+        stats.put("compressionRatio", Math.round(getCompressionRatio() * 1000) / 1000.0);
+        stats.put("decodedBodies", decoded);
+        stats.put("avgDecodeMicros", decoded == 0 ? 0 : decodeNanos.get() / decoded / 1000);
+        return stats;
+    }
+
+    private byte[] stored(byte[] raw, byte[] stored) {
+        rawBytes.addAndGet(raw.length);
+        storedBytes.addAndGet(stored.length);
+        if (raw.length > 0) {
+            chatOpsMetrics.recordValue("chatops.compression.ratio", (double) stored.length / raw.length);
+        }
+        return stored;
+    }
+
+    // Another instance may have trained a dictionary this one has not loaded yet
+    private byte[] dictionary(int dictionaryId) {
+        byte[] dictionary = dictionaries.get(dictionaryId);
+        if (dictionary == null) {
+            CompressionDictionary loaded = compressionDictionaryMapper.selectDictionary(dictionaryId);
+            if (loaded == null) {
+                throw new IllegalStateException("Unknown compression dictionary: " + dictionaryId);
+            }
+            dictionary = loaded.getDictionary();
+            dictionaries.put(dictionaryId, dictionary);
+        }
+        return dictionary;
+    }
+
+    private static Integer length(String text) {
+        return text == null ? null : text.codePointCount(0, text.length());
+    }
+
+    private static String preview(String text) {
+        if (text == null || text.length() <= PREVIEW_CHARS) {
+            return text;
+        }
+        int end = text.offsetByCodePoints(0, Math.min(PREVIEW_CHARS, text.codePointCount(0, text.length())));
+        return text.substring(0, end);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.yourproject.chatAdmin.concurrent;
+
+import com.example.yourproject.chatAdmin.trace.TraceContext;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs named sections in parallel and keeps whatever finishes by the deadline. Unlike
+ * StructuredFanOut a failed or late section does not fail the others; it is cancelled and
+ * reported through getFailures().
+ */
+public class BestEffortFanOut implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Map<String, Future<?>> futures = new LinkedHashMap<>();
+    private final Map<String, Object> results = new LinkedHashMap<>();
+    private final Map<String, String> failures = new LinkedHashMap<>();
+    private final Map<String, Long> elapsedMillis = new LinkedHashMap<>();
+
+    public BestEffortFanOut(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public void fork(String section, Callable<?> task) {
+        Callable<?> traced = TraceContext.wrap(section, task);
+        futures.put(section, executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return traced.call();
+            } finally {
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                synchronized (elapsedMillis) {
+                    elapsedMillis.put(section, elapsed);
+                }
+            }
+        }));
+    }
+
+    // Wait until every section has finished or the deadline passes; late sections are cancelled
+    public void join(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+            String section = entry.getKey();
+            Future<?> future = entry.getValue();
+            try {
+                results.put(section, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                failures.put(section, "Timed out after " + timeout.toMillis() + " ms");
+            } catch (ExecutionException e) {
+                failures.put(section, e.getCause().getMessage());
+            } catch (CancellationException e) {
+                failures.put(section, "Cancelled");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                failures.put(section, "Interrupted");
+                return;
+            }
+        }
+    }
+
+    public boolean isComplete(String section) {
+        return results.containsKey(section);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getResult(String section) {
+        return (T) results.get(section);
+    }
+
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    public Map<String, Long> getElapsedMillis() {
+        synchronized (elapsedMillis) {
+            return new LinkedHashMap<>(elapsedMillis);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Future<?> future : futures.values()) {
+            future.cancel(true);
+        }
+    }
+}
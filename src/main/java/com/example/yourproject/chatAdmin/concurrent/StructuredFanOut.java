@@ -0,0 +1,127 @@
+package com.example.yourproject.chatAdmin.concurrent;
+
+import com.example.yourproject.chatAdmin.trace.TraceContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs sub-tasks in parallel as one unit: the first failure or a timeout cancels the siblings,
+ * and closing the scope cancels anything still running. Same contract as
+ * StructuredTaskScope.ShutdownOnFailure, which is still a preview API.
+ *
+ * <pre>
+ * try (StructuredFanOut fanOut = new StructuredFanOut(executor)) {
+ *     Supplier&lt;A&gt; a = fanOut.fork(() -&gt; ...);
+ *     Supplier&lt;B&gt; b = fanOut.fork(() -&gt; ...);
+ *     fanOut.join(timeout);
+ *     use(a.get(), b.get());
+ * }
+ * </pre>
+ */
+public class StructuredFanOut implements AutoCloseable {
+    private final ExecutorService executor;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean joined;
+
+    public StructuredFanOut(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // Start a sub-task; its result is available from the returned supplier after join()
+    public synchronized <T> Supplier<T> fork(Callable<T> task) {
+        if (joined) {
+            throw new IllegalStateException("Cannot fork after join");
+        }
+        // Runs under a span of the forking request, if it is traced
+        Callable<T> traced = TraceContext.wrap("fork", task);
+        Future<T> future = executor.submit(() -> {
+            try {
+                return traced.call();
+            } catch (Exception | Error e) {
+                if (failure.compareAndSet(null, e)) {
+                    cancelAll();
+                }
+                throw e;
+            }
+        });
+        futures.add(future);
+        if (failure.get() != null) {
+            future.cancel(true);
+        }
+        return () -> result(future);
+    }
+
+    // Wait for every sub-task; throws the first failure, cancelling the rest
+    public void join(Duration timeout) {
+        List<Future<?>> forked;
+        synchronized (this) {
+            joined = true;
+            forked = new ArrayList<>(futures);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Future<?> future : forked) {
+                try {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | CancellationException e) {
+                    // Reported through failure below
+                }
+                if (failure.get() != null) {
+                    break;
+                }
+            }
+        } catch (TimeoutException e) {
+            cancelAll();
+            throw new RuntimeException("Parallel tasks timed out after " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for parallel tasks");
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Parallel task failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private synchronized void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private <T> T result(Future<T> future) {
+        if (!future.isDone()) {
+            throw new IllegalStateException("Sub-task result read before join");
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parallel task failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException | CancellationException e) {
+            throw new IllegalStateException("Sub-task did not complete", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.yourproject.chatAdmin.config;
+
+import com.example.yourproject.chatAdmin.datasource.ReadWriteRoutingDataSource;
+import com.example.yourproject.chatAdmin.datasource.ReplicaLagMonitor;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Primary/replica routing, enabled with chatops.datasource.replica.enabled=true.
+ * The primary keeps the spring.datasource.* settings; the replica is configured under
+ * chatops.datasource.replica.* (url, username, password, driver-class-name).
+ */
+@Configuration
+@ConditionalOnProperty(name = "chatops.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("chatops.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    public DataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${chatops.datasource.replica.max-lag-seconds:30}") long maxLagSeconds,
+            ChatOpsMetrics chatOpsMetrics) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, maxLagSeconds, chatOpsMetrics);
+        monitor.checkLag();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+            ChatOpsMetrics chatOpsMetrics) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.ROUTE_PRIMARY, primary);
+        targets.put(ReadWriteRoutingDataSource.ROUTE_REPLICA, replica);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor, chatOpsMetrics);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.yourproject.chatAdmin.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer setup. Scraped at /actuator/prometheus when micrometer-registry-prometheus is on
+ * the classpath and management.endpoints.web.exposure.include contains prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> chatOpsCommonTags() {
+        return registry -> registry.config().commonTags("application", "chatops-admin");
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.yourproject.chatAdmin.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (off-peak analysis precomputation)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
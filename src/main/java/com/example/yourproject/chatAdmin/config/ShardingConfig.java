@@ -0,0 +1,92 @@
+package com.example.yourproject.chatAdmin.config;
+
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import com.example.yourproject.chatAdmin.profiling.StatementProfiler;
+import com.example.yourproject.chatAdmin.sharding.ShardedConversationMapper;
+import com.example.yourproject.chatAdmin.sharding.ShardingProperties;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Persona-sharded conversation storage, enabled with chatops.sharding.enabled=true.
+ * swp_ai_chatops_storage then lives only on the databases under chatops.sharding.shards[i].*;
+ * personas, prompts and reports stay on spring.datasource. The sharded mapper is @Primary, so
+ * every ConversationMapper injection point uses it.
+ *
+ * Changing the number or order of shards moves personas between them; existing rows have to be
+ * redistributed before such a change is deployed.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "chatops.sharding.enabled", havingValue = "true")
+public class ShardingConfig implements DisposableBean {
+    private static final String CONVERSATION_MAPPER_XML = "mapper/ConversationMapper.xml";
+
+    // Built here rather than as beans, so closed here too
+    private final List<DataSource> shardDataSources = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("chatops.sharding")
+    public ShardingProperties shardingProperties() {
+        return new ShardingProperties();
+    }
+
+    @Bean
+    @Primary
+    public ConversationMapper shardedConversationMapper(ShardingProperties shardingProperties,
+            @Qualifier(VirtualThreadConfig.FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor,
+            @Value("${chatops.sharding.query-timeout-ms:30000}") long queryTimeoutMs,
+            ChatOpsMetrics chatOpsMetrics, StatementProfiler statementProfiler) throws IOException {
+        List<SqlSessionFactory> shards = new ArrayList<>();
+        for (int i = 0; i < shardingProperties.getShards().size(); i++) {
+            DataSourceProperties properties = shardingProperties.getShards().get(i);
+            DataSource dataSource = properties.initializeDataSourceBuilder().build();
+            shardDataSources.add(dataSource);
+            shards.add(sqlSessionFactory("shard-" + i, dataSource, statementProfiler));
+        }
+        return new ShardedConversationMapper(shards, fanOutExecutor, Duration.ofMillis(queryTimeoutMs),
+                chatOpsMetrics);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : shardDataSources) {
+            if (dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) dataSource).close();
+            }
+        }
+    }
+
+    // Only the conversation statements, on a plain JDBC transaction factory: each call auto-commits.
+    // Built by hand, so Interceptor beans are not applied unless added here
+    private static SqlSessionFactory sqlSessionFactory(String id, DataSource dataSource,
+            StatementProfiler statementProfiler) throws IOException {
+        Configuration configuration = new Configuration(new Environment(id, new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(statementProfiler);
+        try (InputStream in = Resources.getResourceAsStream(CONVERSATION_MAPPER_XML)) {
+            new XMLMapperBuilder(in, configuration, CONVERSATION_MAPPER_XML, configuration.getSqlFragments()).parse();
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.yourproject.chatAdmin.config;
+
+import com.example.yourproject.chatAdmin.concurrent.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves requests and runs LLM/DB fan-out on virtual threads, so requests blocked on MyBatis
+ * or LLMCallAsync(...).join() do not hold platform threads. Disable with
+ * chatops.virtual-threads.enabled=false; on Java 17 both executors fall back to platform threads.
+ */
+@Configuration
+public class VirtualThreadConfig {
+    public static final String FAN_OUT_EXECUTOR = "chatOpsFanOutExecutor";
+
+    @Value("${chatops.virtual-threads.enabled:true}")
+    private boolean enabled;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> chatOpsVirtualThreadRequestExecutor() {
+        return protocolHandler -> {
+            if (enabled && VirtualThreads.isSupported()) {
+                protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("chatops-http-"));
+            }
+        };
+    }
+
+    @Bean(name = FAN_OUT_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService chatOpsFanOutExecutor() {
+        if (!enabled) {
+            return Executors.newCachedThreadPool(VirtualThreads.platformThreadFactory("chatops-fanout-"));
+        }
+        return VirtualThreads.newThreadPerTaskExecutor("chatops-fanout-");
+    }
+}
@@ -1,14 +1,34 @@
 package com.example.yourproject.chatAdmin.controller;
 
+import com.example.yourproject.chatAdmin.cache.LLMResponseCache;
+import com.example.yourproject.chatAdmin.columnar.ConversationColumnStore;
+import com.example.yourproject.chatAdmin.compression.CompressionDictionary;
+import com.example.yourproject.chatAdmin.compression.TextCompressor;
 import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.feed.ConversationFeed;
+import com.example.yourproject.chatAdmin.feedback.ConversationFeedback;
+import com.example.yourproject.chatAdmin.profiling.SlowStatement;
+import com.example.yourproject.chatAdmin.profiling.StatementProfiler;
+import com.example.yourproject.chatAdmin.profiling.StatementStats;
+import com.example.yourproject.chatAdmin.routing.ModelRouter;
+import com.example.yourproject.chatAdmin.service.AdminDashboardService;
+import com.example.yourproject.chatAdmin.service.AnalysisReportService;
 import com.example.yourproject.chatAdmin.service.ChatOpsAdminService;
+import com.example.yourproject.chatAdmin.service.FeedbackService;
 import com.example.yourproject.chatAdmin.service.LLMAnalysisService;
+import com.example.yourproject.chatAdmin.trace.InMemoryTraceExporter;
+import com.example.yourproject.chatAdmin.trace.Trace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
@@ -19,6 +39,36 @@ public class ChatOpsAdminRestController {
     @Autowired
     private LLMAnalysisService llmAnalysisService;
 
+    @Autowired
+    private AnalysisReportService analysisReportService;
+
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+
+    @Autowired
+    private ConversationColumnStore conversationColumnStore;
+
+    @Autowired
+    private LLMResponseCache llmResponseCache;
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    private TextCompressor textCompressor;
+
+    @Autowired
+    private ConversationFeed conversationFeed;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private InMemoryTraceExporter inMemoryTraceExporter;
+
+    @Autowired
+    private StatementProfiler statementProfiler;
+
     @GetMapping("/personas-with-prompts")
     public ResponseEntity<AIChatOpsAdminDto> getPersonasWithPrompts() {
         try {
@@ -54,6 +104,9 @@ public class ChatOpsAdminRestController {
             AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(createdPersona,
                     "Successfully created persona");
             return ResponseEntity.ok(response);
+        } catch (DuplicateKeyException e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto.createErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (Exception e) {
             AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
                     .createErrorResponse("Error occurred during message processing: " + e.getMessage());
@@ -70,6 +123,9 @@ public class ChatOpsAdminRestController {
             AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(updatedPersona,
                     "Successfully updated persona");
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto.createErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (Exception e) {
             AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
                     .createErrorResponse("Error occurred during message processing: " + e.getMessage());
@@ -78,9 +134,10 @@ public class ChatOpsAdminRestController {
     }
 
     @DeleteMapping("/personas/{personaCode}")
-    public ResponseEntity<AIChatOpsAdminDto> deletePersona(@PathVariable String personaCode) {
+    public ResponseEntity<AIChatOpsAdminDto> deletePersona(@PathVariable String personaCode,
+            @RequestParam(required = false) Integer rowVersion) {
         try {
-            boolean deleted = chatOpsAdminService.deletePersona(personaCode);
+            boolean deleted = chatOpsAdminService.deletePersona(personaCode, rowVersion);
             if (deleted) {
                 AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(null,
                         "Successfully deleted persona");
@@ -89,6 +146,9 @@ public class ChatOpsAdminRestController {
                 AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto.createErrorResponse("Failed to delete persona");
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
             }
+        } catch (OptimisticLockingFailureException e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto.createErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (Exception e) {
             AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
                     .createErrorResponse("Error occurred during message processing: " + e.getMessage());
@@ -97,12 +157,13 @@ public class ChatOpsAdminRestController {
     }
 
     @PostMapping("/system-prompt/test")
-    public ResponseEntity<AIChatOpsAdminDto> testSystemPrompt(@RequestBody AIChatOpsAdminDto testData) {
+    public ResponseEntity<AIChatOpsAdminDto> testSystemPrompt(@RequestBody AIChatOpsAdminDto testData,
+            @RequestParam(defaultValue = "true") boolean cache) {
         try {
             String systemPrompt = testData.getPersonaPrompt();
             String testInput = testData.getUserQuery();
 
-            String testResult = llmAnalysisService.testSystemPrompt(systemPrompt, testInput);
+            String testResult = llmAnalysisService.testSystemPrompt(systemPrompt, testInput, cache);
             AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(testResult,
                     "System prompt test completed");
             return ResponseEntity.ok(response);
@@ -137,14 +198,65 @@ public class ChatOpsAdminRestController {
         }
     }
 
+    @GetMapping("/personas/{personaCode}/prompts/{promptType}/versions")
+    public ResponseEntity<AIChatOpsAdminDto> getPromptVersions(@PathVariable String personaCode,
+            @PathVariable String promptType) {
+        try {
+            List<AIChatOpsAdminDto> versions = chatOpsAdminService.getPromptVersions(personaCode, promptType);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(versions,
+                    "Prompt versions loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/personas/{personaCode}/prompts/{promptType}/diff")
+    public ResponseEntity<AIChatOpsAdminDto> getPromptDiff(@PathVariable String personaCode,
+            @PathVariable String promptType,
+            @RequestParam int from,
+            @RequestParam int to) {
+        try {
+            List<String> diff = chatOpsAdminService.getPromptDiff(personaCode, promptType, from, to);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(diff,
+                    "Prompt diff loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @PostMapping("/personas/{personaCode}/prompts/{promptType}/versions/{version}/rollback")
+    public ResponseEntity<AIChatOpsAdminDto> rollbackPrompt(@PathVariable String personaCode,
+            @PathVariable String promptType,
+            @PathVariable int version) {
+        try {
+            AIChatOpsAdminDto prompt = chatOpsAdminService.rollbackPrompt(personaCode, promptType, version);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(prompt,
+                    "Prompt rolled back to version " + version);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/conversations/stats")
     public ResponseEntity<AIChatOpsAdminDto> getConversationStats(
             @RequestParam(required = false) String personaCode,
-            @RequestParam(defaultValue = "all") String period) {
+            @RequestParam(defaultValue = "all") String period,
+            @RequestParam(defaultValue = "false") boolean fresh) {
         try {
-            String analysisResult = llmAnalysisService.analyzeConversations(personaCode, period);
-            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(analysisResult,
+            AIChatOpsAdminDto report = analysisReportService.getOrCompute(AnalysisReportService.TYPE_STATS,
+                    personaCode, period, fresh, () -> llmAnalysisService.analyzeConversations(personaCode, period));
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(report.getAnalysisResult(),
                     "Conversation analysis completed successfully");
+            response.setCreatedDate(report.getCreatedDate());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
@@ -176,6 +288,40 @@ public class ChatOpsAdminRestController {
         }
     }
 
+    @GetMapping("/conversations/{conversationId:\\d+}/body")
+    public ResponseEntity<AIChatOpsAdminDto> getConversationBody(@PathVariable long conversationId) {
+        try {
+            AIChatOpsAdminDto conversation = chatOpsAdminService.getConversationBody(conversationId);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(conversation,
+                    "Conversation loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<AIChatOpsAdminDto> getDashboard(
+            @RequestParam(required = false) String personaCode,
+            @RequestParam(defaultValue = "all") String period,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long sectionTimeoutMs) {
+        try {
+            Map<String, Object> dashboard = adminDashboardService.getDashboard(personaCode, period, size,
+                    sectionTimeoutMs);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(dashboard,
+                    AdminDashboardService.isPartial(dashboard) ? "Dashboard partially loaded"
+                            : "Dashboard loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/conversations/summary")
     public ResponseEntity<AIChatOpsAdminDto> getConversationSummary(
             @RequestParam(required = false) String personaCode) {
@@ -191,6 +337,55 @@ public class ChatOpsAdminRestController {
         }
     }
 
+    @GetMapping("/conversations/latency")
+    public ResponseEntity<AIChatOpsAdminDto> getResponseLatency(
+            @RequestParam(required = false) String personaCode,
+            @RequestParam(defaultValue = "7days") String period) {
+        try {
+            List<AIChatOpsAdminDto> latency = chatOpsAdminService.getResponseLatency(personaCode, period);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(latency,
+                    "Response latency loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/conversations/trend")
+    public ResponseEntity<AIChatOpsAdminDto> getConversationTrend(
+            @RequestParam(required = false) String personaCode,
+            @RequestParam(defaultValue = "30days") String period,
+            @RequestParam(defaultValue = "day") String bucket) {
+        try {
+            List<AIChatOpsAdminDto> trend = chatOpsAdminService.getConversationTrend(personaCode, period, bucket);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(trend,
+                    "Conversation trend loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto.createErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/columnar/status")
+    public ResponseEntity<AIChatOpsAdminDto> getColumnarStatus() {
+        try {
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(conversationColumnStore.getStatus(),
+                    "Columnar store status loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @PostMapping("/conversations/analyze")
     public ResponseEntity<AIChatOpsAdminDto> analyzeConversations(@RequestBody AIChatOpsAdminDto analysisRequest) {
         try {
@@ -211,11 +406,14 @@ public class ChatOpsAdminRestController {
     @GetMapping("/personas/{personaCode}/performance")
     public ResponseEntity<AIChatOpsAdminDto> getPersonaPerformance(
             @PathVariable String personaCode,
-            @RequestParam(defaultValue = "30days") String period) {
+            @RequestParam(defaultValue = "30days") String period,
+            @RequestParam(defaultValue = "false") boolean fresh) {
         try {
-            String analysisResult = llmAnalysisService.analyzePersonaPerformance(personaCode, period);
-            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(analysisResult,
+            AIChatOpsAdminDto report = analysisReportService.getOrCompute(AnalysisReportService.TYPE_PERFORMANCE,
+                    personaCode, period, fresh, () -> llmAnalysisService.analyzePersonaPerformance(personaCode, period));
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(report.getAnalysisResult(),
                     "Persona performance analysis completed");
+            response.setCreatedDate(report.getCreatedDate());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
@@ -226,11 +424,14 @@ public class ChatOpsAdminRestController {
 
     @GetMapping("/recommendations")
     public ResponseEntity<AIChatOpsAdminDto> getUsageRecommendations(
-            @RequestParam(defaultValue = "30days") String period) {
+            @RequestParam(defaultValue = "30days") String period,
+            @RequestParam(defaultValue = "false") boolean fresh) {
         try {
-            String recommendations = llmAnalysisService.generateUsageRecommendations(period);
-            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(recommendations,
+            AIChatOpsAdminDto report = analysisReportService.getOrCompute(AnalysisReportService.TYPE_RECOMMENDATION,
+                    null, period, fresh, () -> llmAnalysisService.generateUsageRecommendations(period));
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(report.getAnalysisResult(),
                     "Usage recommendations generated");
+            response.setCreatedDate(report.getCreatedDate());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
@@ -259,6 +460,218 @@ public class ChatOpsAdminRestController {
         }
     }
 
+    @GetMapping("/llm/cache")
+    public ResponseEntity<AIChatOpsAdminDto> getLlmCacheStats() {
+        try {
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(llmResponseCache.getStats(),
+                    "LLM cache statistics loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/llm/routing")
+    public ResponseEntity<AIChatOpsAdminDto> getLlmRouting() {
+        try {
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(modelRouter.getStatus(),
+                    "LLM routing status loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/compression/status")
+    public ResponseEntity<AIChatOpsAdminDto> getCompressionStatus() {
+        try {
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(textCompressor.getStats(),
+                    "Compression statistics loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @PostMapping("/compression/dictionary")
+    public ResponseEntity<AIChatOpsAdminDto> trainCompressionDictionary() {
+        try {
+            CompressionDictionary dictionary = textCompressor.trainDictionary();
+            if (dictionary == null) {
+                AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                        .createErrorResponse("Not enough conversations to train a dictionary");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+            }
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(textCompressor.getStats(),
+                    "Compression dictionary " + dictionary.getDictionaryId() + " trained successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping(value = "/conversations/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeConversationFeed(@RequestParam(required = false) String personaCode) {
+        // EventSource only accepts text/event-stream, so errors go out as a bare status it reports via onerror
+        try {
+            SseEmitter emitter = conversationFeed.subscribe(personaCode);
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/conversations/feed/status")
+    public ResponseEntity<AIChatOpsAdminDto> getConversationFeedStatus() {
+        try {
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(conversationFeed.getStatus(),
+                    "Conversation feed status loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @PostMapping("/feedback")
+    public ResponseEntity<AIChatOpsAdminDto> submitFeedback(@RequestBody AIChatOpsAdminDto feedbackRequest) {
+        try {
+            ConversationFeedback feedback = feedbackService.submitFeedback(feedbackRequest);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(feedback,
+                    "Feedback received successfully");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto.createErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/feedback/summary")
+    public ResponseEntity<AIChatOpsAdminDto> getFeedbackSummary(
+            @RequestParam(required = false) String personaCode,
+            @RequestParam(defaultValue = "all") String period) {
+        try {
+            AIChatOpsAdminDto summary = feedbackService.getFeedbackSummary(personaCode, period);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(summary,
+                    "Feedback summary loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/feedback/personas")
+    public ResponseEntity<AIChatOpsAdminDto> getFeedbackSummaryByPersona(
+            @RequestParam(defaultValue = "all") String period) {
+        try {
+            List<AIChatOpsAdminDto> summaries = feedbackService.getFeedbackSummaryByPersona(period);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(summaries,
+                    "Feedback summary by persona loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    // Slowest requests of the last hour (sort=slowest) or the latest ones (sort=recent), with their spans
+    @GetMapping("/traces/recent")
+    public ResponseEntity<AIChatOpsAdminDto> getRecentTraces(
+            @RequestParam(defaultValue = "slowest") String sort,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") long minMs) {
+        try {
+            List<Trace> traces = "recent".equals(sort) ? inMemoryTraceExporter.getRecent(limit)
+                    : inMemoryTraceExporter.getSlowest(limit, minMs);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(traces,
+                    "Traces loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/traces/{traceId}")
+    public ResponseEntity<AIChatOpsAdminDto> getTrace(@PathVariable String traceId) {
+        try {
+            Trace trace = inMemoryTraceExporter.find(traceId);
+            if (trace == null) {
+                AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                        .createErrorResponse("Trace not found or no longer kept: " + traceId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            }
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(trace,
+                    "Trace loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/statements/profile")
+    public ResponseEntity<AIChatOpsAdminDto> getStatementProfile(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<StatementStats> profile = statementProfiler.getProfile(limit);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(profile,
+                    "Statement profile loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/statements/slow")
+    public ResponseEntity<AIChatOpsAdminDto> getSlowStatements(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<SlowStatement> slowest = statementProfiler.getSlowest(limit);
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(slowest,
+                    "Slow statements loaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @DeleteMapping("/statements/profile")
+    public ResponseEntity<AIChatOpsAdminDto> resetStatementProfile() {
+        try {
+            statementProfiler.reset();
+            AIChatOpsAdminDto response = AIChatOpsAdminDto.createSuccessResponse(null,
+                    "Statement profile reset successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            AIChatOpsAdminDto errorResponse = AIChatOpsAdminDto
+                    .createErrorResponse("Error occurred during message processing: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/health")
     public ResponseEntity<AIChatOpsAdminDto> healthCheck() {
         try {
@@ -0,0 +1,42 @@
+package com.example.yourproject.chatAdmin.datasource;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections opened inside @Transactional(readOnly = true) to the replica while it is
+ * within the lag limit; everything else goes to the primary. Must be wrapped in a
+ * LazyConnectionDataSourceProxy so the connection is fetched after the transaction's
+ * read-only flag is set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String ROUTE_PRIMARY = "primary";
+    public static final String ROUTE_REPLICA = "replica";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ChatOpsMetrics chatOpsMetrics;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, ChatOpsMetrics chatOpsMetrics) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.chatOpsMetrics = chatOpsMetrics;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String route;
+        String reason;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            route = ROUTE_PRIMARY;
+            reason = "write";
+        } else if (!replicaLagMonitor.isReplicaUsable()) {
+            route = ROUTE_PRIMARY;
+            reason = "replica_lag";
+        } else {
+            route = ROUTE_REPLICA;
+            reason = "read_only";
+        }
+        chatOpsMetrics.increment("chatops.datasource.route", "route", route, "reason", reason);
+        return route;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.yourproject.chatAdmin.datasource;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates replica lag by comparing the newest CREATED_DATE in swp_ai_chatops_storage on the
+ * primary and the replica. The replica is only used while the lag stays within max-lag-seconds
+ * and the last check succeeded. Works with any replication setup and needs no replication
+ * privileges. An idle primary reads as zero lag, which is correct for this table.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String WATERMARK_SQL = "SELECT MAX(CREATED_DATE) FROM swp_ai_chatops_storage";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+
+    // -1 until the first successful check
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagSeconds, ChatOpsMetrics metrics) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagSeconds * 1000;
+        metrics.getRegistry().gauge("chatops.datasource.replica.lag.ms", Tags.of(), lagMillis,
+                AtomicLong::doubleValue);
+    }
+
+    @Scheduled(fixedDelayString = "${chatops.datasource.replica.lag-check-ms:5000}")
+    public void checkLag() {
+        try {
+            Timestamp primaryWatermark = watermark(primary);
+            Timestamp replicaWatermark = watermark(replica);
+
+            long lag;
+            if (primaryWatermark == null) {
+                lag = 0;
+            } else if (replicaWatermark == null) {
+                lag = Long.MAX_VALUE;
+            } else {
+                lag = Math.max(0, primaryWatermark.getTime() - replicaWatermark.getTime());
+            }
+
+            boolean usable = lag <= maxLagMillis;
+            if (usable != replicaUsable) {
+                log.info("Replica {} for read-only queries (lag {} ms, limit {} ms)",
+                        usable ? "enabled" : "disabled", lag == Long.MAX_VALUE ? "unknown" : lag, maxLagMillis);
+            }
+            lagMillis.set(lag);
+            replicaUsable = usable;
+        } catch (SQLException e) {
+            if (replicaUsable) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+            lagMillis.set(-1);
+            replicaUsable = false;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    private Timestamp watermark(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(WATERMARK_SQL)) {
+            return rs.next() ? rs.getTimestamp(1) : null;
+        }
+    }
+}
@@ -28,15 +28,24 @@ public class AIChatOpsAdminDto {
     private String category;
     private String iconPath;
     private String welcomeMsg;
+    // Bumped by every persona write; sent back to make a write conditional on it
+    private Integer rowVersion;
     
     // Prompt fields
     private String promptType;
     private String personaPrompt;
+    private Integer promptVersion;
     
     // Conversation fields
+    private Long conversationId;
     private String userQuery;
     private String aiQuery;
     private String creator;
+    private Integer userQueryLength;
+    private Integer aiQueryLength;
+    private String userQueryPreview;
+    private String aiQueryPreview;
+    private Integer responseTimeMs;
     
     // Analysis fields
     private String analysisResult;
@@ -46,6 +55,25 @@ public class AIChatOpsAdminDto {
     private Integer uniqueUsers;
     private Double avgResponseTime;
     private Double successRate;
+    private Long responseTimeSamples;
+    private Long responseTimeP50;
+    private Long responseTimeP95;
+    private Long responseTimeP99;
+    private Long responseTimeMax;
+    
+    // Feedback fields
+    private Integer rating;
+    private String comment;
+    private Integer feedbackCount;
+    private Double satisfactionRate;
+    private Double averageRating;
+    
+    // Analysis checkpoint fields
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime lastProcessedDate;
+    private Long lastProcessedId;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime baseDate;
     
     // Common fields
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
@@ -169,6 +197,14 @@ public class AIChatOpsAdminDto {
         this.welcomeMsg = welcomeMsg;
     }
     
+    public Integer getRowVersion() {
+        return rowVersion;
+    }
+    
+    public void setRowVersion(Integer rowVersion) {
+        this.rowVersion = rowVersion;
+    }
+    
     public String getPromptType() {
         return promptType;
     }
@@ -185,6 +221,22 @@ public class AIChatOpsAdminDto {
         this.personaPrompt = personaPrompt;
     }
     
+    public Integer getPromptVersion() {
+        return promptVersion;
+    }
+    
+    public void setPromptVersion(Integer promptVersion) {
+        this.promptVersion = promptVersion;
+    }
+    
+    public Long getConversationId() {
+        return conversationId;
+    }
+    
+    public void setConversationId(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+    
     public String getUserQuery() {
         return userQuery;
     }
@@ -209,6 +261,46 @@ public class AIChatOpsAdminDto {
         this.creator = creator;
     }
     
+    public Integer getUserQueryLength() {
+        return userQueryLength;
+    }
+    
+    public void setUserQueryLength(Integer userQueryLength) {
+        this.userQueryLength = userQueryLength;
+    }
+    
+    public Integer getAiQueryLength() {
+        return aiQueryLength;
+    }
+    
+    public void setAiQueryLength(Integer aiQueryLength) {
+        this.aiQueryLength = aiQueryLength;
+    }
+    
+    public String getUserQueryPreview() {
+        return userQueryPreview;
+    }
+    
+    public void setUserQueryPreview(String userQueryPreview) {
+        this.userQueryPreview = userQueryPreview;
+    }
+    
+    public String getAiQueryPreview() {
+        return aiQueryPreview;
+    }
+    
+    public void setAiQueryPreview(String aiQueryPreview) {
+        this.aiQueryPreview = aiQueryPreview;
+    }
+    
+    public Integer getResponseTimeMs() {
+        return responseTimeMs;
+    }
+    
+    public void setResponseTimeMs(Integer responseTimeMs) {
+        this.responseTimeMs = responseTimeMs;
+    }
+    
     public String getAnalysisResult() {
         return analysisResult;
     }
@@ -265,6 +357,110 @@ public class AIChatOpsAdminDto {
         this.successRate = successRate;
     }
     
+    public Long getResponseTimeSamples() {
+        return responseTimeSamples;
+    }
+    
+    public void setResponseTimeSamples(Long responseTimeSamples) {
+        this.responseTimeSamples = responseTimeSamples;
+    }
+    
+    public Long getResponseTimeP50() {
+        return responseTimeP50;
+    }
+    
+    public void setResponseTimeP50(Long responseTimeP50) {
+        this.responseTimeP50 = responseTimeP50;
+    }
+    
+    public Long getResponseTimeP95() {
+        return responseTimeP95;
+    }
+    
+    public void setResponseTimeP95(Long responseTimeP95) {
+        this.responseTimeP95 = responseTimeP95;
+    }
+    
+    public Long getResponseTimeP99() {
+        return responseTimeP99;
+    }
+    
+    public void setResponseTimeP99(Long responseTimeP99) {
+        this.responseTimeP99 = responseTimeP99;
+    }
+    
+    public Long getResponseTimeMax() {
+        return responseTimeMax;
+    }
+    
+    public void setResponseTimeMax(Long responseTimeMax) {
+        this.responseTimeMax = responseTimeMax;
+    }
+    
+    public Integer getRating() {
+        return rating;
+    }
+    
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+    
+    public String getComment() {
+        return comment;
+    }
+    
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+    
+    public Integer getFeedbackCount() {
+        return feedbackCount;
+    }
+    
+    public void setFeedbackCount(Integer feedbackCount) {
+        this.feedbackCount = feedbackCount;
+    }
+    
+    public Double getSatisfactionRate() {
+        return satisfactionRate;
+    }
+    
+    public void setSatisfactionRate(Double satisfactionRate) {
+        this.satisfactionRate = satisfactionRate;
+    }
+    
+    public Double getAverageRating() {
+        return averageRating;
+    }
+    
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+    
+    public LocalDateTime getLastProcessedDate() {
+        return lastProcessedDate;
+    }
+    
+    public void setLastProcessedDate(LocalDateTime lastProcessedDate) {
+        this.lastProcessedDate = lastProcessedDate;
+    }
+    
+    public Long getLastProcessedId() {
+        return lastProcessedId;
+    }
+    
+    public void setLastProcessedId(Long lastProcessedId) {
+        this.lastProcessedId = lastProcessedId;
+    }
+    
+    public LocalDateTime getBaseDate() {
+        return baseDate;
+    }
+    
+    public void setBaseDate(LocalDateTime baseDate) {
+        this.baseDate = baseDate;
+    }
+    
     public LocalDateTime getCreatedDate() {
         return createdDate;
     }
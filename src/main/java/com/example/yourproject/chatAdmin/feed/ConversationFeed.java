@@ -0,0 +1,336 @@
+package com.example.yourproject.chatAdmin.feed;
+
+import com.example.yourproject.chatAdmin.config.VirtualThreadConfig;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live feed of new conversations for admin dashboards. One poller tails swp_ai_chatops_storage
+ * from the CREATED_DATE watermark every poll-ms and pushes the new rows (summaries, no bodies) with
+ * counter deltas to every subscribed SSE client, so the database sees one query per interval no
+ * matter how many dashboards are open, and none while nobody is subscribed.
+ *
+ * Each poll re-reads the last lag-ms before the watermark, because write-behind logging commits
+ * rows up to a flush interval after their CREATED_DATE; ids already sent in that window are skipped.
+ * Every client has its own bounded queue drained on the fan-out executor, and a client that falls
+ * queue-size events behind is disconnected rather than slowing the others down. EventSource
+ * reconnects on its own and the dashboard reloads the page it shows.
+ */
+@Component
+public class ConversationFeed implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ConversationFeed.class);
+
+    private static final int MAX_CATCH_UP_QUERIES = 10;
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Autowired
+    @Qualifier(VirtualThreadConfig.FAN_OUT_EXECUTOR)
+    private ExecutorService fanOutExecutor;
+
+    @Value("${chatops.conversation-feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chatops.conversation-feed.poll-ms:2000}")
+    private long pollMs;
+
+    @Value("${chatops.conversation-feed.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chatops.conversation-feed.lag-ms:5000}")
+    private long lagMs;
+
+    @Value("${chatops.conversation-feed.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${chatops.conversation-feed.queue-size:100}")
+    private int queueSize;
+
+    @Value("${chatops.conversation-feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${chatops.conversation-feed.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong rowsPublished = new AtomicLong();
+
+    // Poller state, guarded by this. Null watermark = not tailing (nobody subscribed)
+    private LocalDateTime watermark;
+    // The (created date, id) of the last row read while catching up after full batches, null otherwise
+    private LocalDateTime resumeFrom;
+    private long resumeFromId;
+    private long lastSentMillis;
+    // Ids already published whose CREATED_DATE is still inside the lag window
+    private final Map<Long, LocalDateTime> recentIds = new HashMap<>();
+
+    // New SSE stream for one dashboard; personaCode (null or empty for all) filters rows and counters
+    public SseEmitter subscribe(String personaCode) {
+        if (!enabled) {
+            throw new IllegalStateException("Conversation feed is disabled");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many conversation feed subscribers: " + subscribers.size());
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter,
+                personaCode == null || personaCode.isEmpty() ? null : personaCode);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        chatOpsMetrics.increment("chatops.feed.subscribe");
+
+        Map<String, Object> ready = new LinkedHashMap<>();
+        ready.put("personaCode", subscriber.personaCode);
+        ready.put("pollMs", pollMs);
+        subscriber.offer(SseEmitter.event().name("ready").reconnectTime(pollMs).data(ready, MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${chatops.conversation-feed.poll-ms:2000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                if (subscribers.isEmpty()) {
+                    // Start from "now" again when the next dashboard connects
+                    watermark = null;
+                    recentIds.clear();
+                    return;
+                }
+                if (watermark == null) {
+                    watermark = LocalDateTime.now();
+                    resumeFrom = null;
+                }
+                publish(readNewRows());
+                if (System.currentTimeMillis() - lastSentMillis >= heartbeatMs) {
+                    broadcastHeartbeat();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Conversation feed poll failed: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("subscribers", subscribers.size());
+        status.put("maxSubscribers", maxSubscribers);
+        synchronized (this) {
+            status.put("watermark", watermark == null ? null : watermark.toString());
+            status.put("catchingUp", resumeFrom != null);
+        }
+        status.put("polls", polls.get());
+        status.put("rowsPublished", rowsPublished.get());
+        status.put("pollMs", pollMs);
+        return status;
+    }
+
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    // Reads on after the last row's (created date, id) while batches come back full, up to
+    // MAX_CATCH_UP_QUERIES a poll; a poll that still ends on a full batch leaves resumeFrom set and the
+    // next one continues there
+    private List<AIChatOpsAdminDto> readNewRows() {
+        List<AIChatOpsAdminDto> fresh = new ArrayList<>();
+        LocalDateTime from = resumeFrom != null ? resumeFrom : watermark.minusNanos(lagMs * 1_000_000L);
+        long fromId = resumeFrom != null ? resumeFromId : 0;
+        for (int query = 1; ; query++) {
+            long start = System.nanoTime();
+            List<AIChatOpsAdminDto> rows = conversationMapper.selectConversationFeedSince(from, fromId, batchSize);
+            chatOpsMetrics.recordTime("chatops.feed.poll", System.nanoTime() - start);
+            polls.incrementAndGet();
+
+            for (AIChatOpsAdminDto row : rows) {
+                if (recentIds.putIfAbsent(row.getConversationId(), row.getCreatedDate()) == null) {
+                    fresh.add(row);
+                }
+                if (row.getCreatedDate().isAfter(watermark)) {
+                    watermark = row.getCreatedDate();
+                }
+            }
+
+            resumeFrom = null;
+            if (rows.size() == batchSize) {
+                AIChatOpsAdminDto last = rows.get(rows.size() - 1);
+                resumeFrom = last.getCreatedDate();
+                resumeFromId = last.getConversationId();
+            }
+            if (resumeFrom == null || query == MAX_CATCH_UP_QUERIES) {
+                break;
+            }
+            from = resumeFrom;
+            fromId = resumeFromId;
+        }
+
+        LocalDateTime horizon = watermark.minusNanos(lagMs * 1_000_000L);
+        recentIds.values().removeIf(created -> created.isBefore(horizon));
+        return fresh;
+    }
+
+    private void publish(List<AIChatOpsAdminDto> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        rowsPublished.addAndGet(rows.size());
+        lastSentMillis = System.currentTimeMillis();
+        chatOpsMetrics.recordValue("chatops.feed.rows", rows.size());
+
+        // Most dashboards watch all personas, so build each filter's payload once
+        Map<String, List<AIChatOpsAdminDto>> rowsByFilter = new HashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            String filter = subscriber.personaCode == null ? "" : subscriber.personaCode;
+            List<AIChatOpsAdminDto> matching = rowsByFilter.computeIfAbsent(filter, f -> filter(rows, subscriber.personaCode));
+            if (matching.isEmpty()) {
+                continue;
+            }
+            subscriber.offer(SseEmitter.event().name("conversations").data(matching, MediaType.APPLICATION_JSON));
+            subscriber.offer(SseEmitter.event().name("counters").data(counterDeltas(matching), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void broadcastHeartbeat() {
+        lastSentMillis = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private static List<AIChatOpsAdminDto> filter(List<AIChatOpsAdminDto> rows, String personaCode) {
+        if (personaCode == null) {
+            return rows;
+        }
+        List<AIChatOpsAdminDto> matching = new ArrayList<>();
+        for (AIChatOpsAdminDto row : rows) {
+            if (personaCode.equals(row.getPersonaCode())) {
+                matching.add(row);
+            }
+        }
+        return matching;
+    }
+
+    // Increments to add to the dashboard's totals; success follows selectConversationStatistics (response length > 0)
+    private static Map<String, Object> counterDeltas(List<AIChatOpsAdminDto> rows) {
+        int succeeded = 0;
+        Map<String, Integer> byPersona = new TreeMap<>();
+        for (AIChatOpsAdminDto row : rows) {
+            if (row.getAiQueryLength() != null && row.getAiQueryLength() > 0) {
+                succeeded++;
+            }
+            byPersona.merge(row.getPersonaCode(), 1, Integer::sum);
+        }
+
+        Map<String, Object> deltas = new LinkedHashMap<>();
+        deltas.put("totalConversations", rows.size());
+        deltas.put("successfulConversations", succeeded);
+        deltas.put("conversationsByPersona", byPersona);
+        deltas.put("latestCreatedDate", rows.get(rows.size() - 1).getCreatedDate().toString());
+        return deltas;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.close();
+        if (subscribers.remove(subscriber)) {
+            chatOpsMetrics.increment("chatops.feed.unsubscribe");
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String personaCode;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, String personaCode) {
+            this.emitter = emitter;
+            this.personaCode = personaCode;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                // Slow client: drop it, it reconnects and reloads
+                chatOpsMetrics.increment("chatops.feed.dropped");
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                fanOutExecutor.execute(this::drain);
+            }
+        }
+
+        // At most one drain per client at a time, so its events stay in order
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                // Client went away; the container reports it through onError / onCompletion as well
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.yourproject.chatAdmin.feedback;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of swp_ai_chatops_feedback.
+ */
+public class ConversationFeedback {
+    private Long feedbackId;
+    private String personaCode;
+    private Integer rating;
+    private String comment;
+    private String creator;
+    private LocalDateTime createdDate;
+
+    public Long getFeedbackId() {
+        return feedbackId;
+    }
+
+    public void setFeedbackId(Long feedbackId) {
+        this.feedbackId = feedbackId;
+    }
+
+    public String getPersonaCode() {
+        return personaCode;
+    }
+
+    public void setPersonaCode(String personaCode) {
+        this.personaCode = personaCode;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public void setCreator(String creator) {
+        this.creator = creator;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.yourproject.chatAdmin.feedback;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of swp_ai_chatops_feedback_daily: feedback counts and rating sums of one persona on one
+ * day. Also used for totals over several days or personas, where personaCode / feedbackDate are null.
+ */
+public class DailyFeedback {
+    // Ratings at or above this count as satisfied
+    public static final int SATISFIED_RATING = 4;
+    public static final int MAX_RATING = 5;
+
+    private String personaCode;
+    private LocalDate feedbackDate;
+    private long feedbackCount;
+    private long ratedCount;
+    private long ratingSum;
+    private long satisfiedCount;
+    private LocalDateTime updatedDate;
+
+    public DailyFeedback() {
+    }
+
+    public DailyFeedback(String personaCode, LocalDate feedbackDate) {
+        this.personaCode = personaCode;
+        this.feedbackDate = feedbackDate;
+    }
+
+    // The aggregate delta of one feedback (rating null when not rated)
+    public static DailyFeedback of(String personaCode, LocalDate feedbackDate, Integer rating) {
+        DailyFeedback delta = new DailyFeedback(personaCode, feedbackDate);
+        delta.feedbackCount = 1;
+        if (rating != null) {
+            delta.ratedCount = 1;
+            delta.ratingSum = rating;
+            delta.satisfiedCount = rating >= SATISFIED_RATING ? 1 : 0;
+        }
+        return delta;
+    }
+
+    // Adds (sign 1) or removes (sign -1) another aggregate's counts
+    public void add(DailyFeedback other, int sign) {
+        feedbackCount += sign * other.feedbackCount;
+        ratedCount += sign * other.ratedCount;
+        ratingSum += sign * other.ratingSum;
+        satisfiedCount += sign * other.satisfiedCount;
+    }
+
+    // Percent of rated feedback with a satisfied rating, null when nothing was rated
+    public Double getSatisfactionRate() {
+        return ratedCount == 0 ? null : Math.round(satisfiedCount * 10000.0 / ratedCount) / 100.0;
+    }
+
+    public Double getAverageRating() {
+        return ratedCount == 0 ? null : Math.round(ratingSum * 100.0 / ratedCount) / 100.0;
+    }
+
+    public String getPersonaCode() {
+        return personaCode;
+    }
+
+    public void setPersonaCode(String personaCode) {
+        this.personaCode = personaCode;
+    }
+
+    public LocalDate getFeedbackDate() {
+        return feedbackDate;
+    }
+
+    public void setFeedbackDate(LocalDate feedbackDate) {
+        this.feedbackDate = feedbackDate;
+    }
+
+    public long getFeedbackCount() {
+        return feedbackCount;
+    }
+
+    public void setFeedbackCount(long feedbackCount) {
+        this.feedbackCount = feedbackCount;
+    }
+
+    public long getRatedCount() {
+        return ratedCount;
+    }
+
+    public void setRatedCount(long ratedCount) {
+        this.ratedCount = ratedCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getSatisfiedCount() {
+        return satisfiedCount;
+    }
+
+    public void setSatisfiedCount(long satisfiedCount) {
+        this.satisfiedCount = satisfiedCount;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
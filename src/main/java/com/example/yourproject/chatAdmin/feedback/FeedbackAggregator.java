@@ -0,0 +1,159 @@
+package com.example.yourproject.chatAdmin.feedback;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.FeedbackMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-process copy of swp_ai_chatops_feedback_daily, so satisfaction rates never scan feedback or
+ * conversations: all-time totals are kept running (O(1)), period totals add up at most one row per
+ * day of the period. Periods are counted in whole days from the day they start.
+ *
+ * Rows are replaced, never added to, so reading one twice is harmless: the row a submission just
+ * changed is re-read after commit, and every refresh-ms the rows changed on other instances are
+ * re-read from the updated_date watermark minus refresh-slack-ms (for transactions that committed late).
+ */
+@Component
+public class FeedbackAggregator implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(FeedbackAggregator.class);
+
+    @Autowired
+    private FeedbackMapper feedbackMapper;
+
+    @Value("${chatops.feedback.refresh-slack-ms:60000}")
+    private long refreshSlackMs;
+
+    // Guarded by this
+    private final Map<String, NavigableMap<LocalDate, DailyFeedback>> daysByPersona = new HashMap<>();
+    private final Map<String, DailyFeedback> allTimeByPersona = new HashMap<>();
+    private final NavigableMap<LocalDate, DailyFeedback> allPersonasByDay = new TreeMap<>();
+    private final DailyFeedback allTime = new DailyFeedback();
+    private boolean loaded;
+    // Newest updated_date loaded
+    private LocalDateTime watermark;
+
+    @Override
+    public void afterPropertiesSet() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${chatops.feedback.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            LocalDateTime since;
+            synchronized (this) {
+                since = !loaded || watermark == null ? null : watermark.minusNanos(refreshSlackMs * 1_000_000L);
+            }
+            List<DailyFeedback> rows = feedbackMapper.selectDailyFeedbackSince(since);
+            synchronized (this) {
+                for (DailyFeedback row : rows) {
+                    replace(row);
+                }
+                loaded = true;
+            }
+        } catch (Exception e) {
+            log.warn("Feedback aggregate refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Re-read the row one feedback just changed, so this instance reports it without waiting for refresh
+    public void reload(String personaCode, LocalDate feedbackDate) {
+        try {
+            DailyFeedback row = feedbackMapper.selectDailyFeedback(personaCode, feedbackDate);
+            if (row != null) {
+                synchronized (this) {
+                    replace(row);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Feedback aggregate reload failed for {} {}: {}", personaCode, feedbackDate, e.getMessage());
+        }
+    }
+
+    // Totals of one persona (null or empty for all) from a day on (null for all time)
+    public synchronized DailyFeedback getTotals(String personaCode, LocalDate from) {
+        boolean allPersonas = personaCode == null || personaCode.isEmpty();
+        if (from == null) {
+            DailyFeedback running = allPersonas ? allTime : allTimeByPersona.get(personaCode);
+            return copy(running, allPersonas ? null : personaCode);
+        }
+
+        NavigableMap<LocalDate, DailyFeedback> days = allPersonas ? allPersonasByDay : daysByPersona.get(personaCode);
+        DailyFeedback totals = new DailyFeedback(allPersonas ? null : personaCode, null);
+        if (days != null) {
+            for (DailyFeedback day : days.tailMap(from, true).values()) {
+                totals.add(day, 1);
+            }
+        }
+        return totals;
+    }
+
+    public synchronized Map<String, DailyFeedback> getTotalsByPersona(LocalDate from) {
+        Map<String, DailyFeedback> totals = new LinkedHashMap<>();
+        for (String personaCode : daysByPersona.keySet()) {
+            totals.put(personaCode, getTotals(personaCode, from));
+        }
+        return totals;
+    }
+
+    // Sets feedbackCount, satisfactionRate and averageRating on a statistics row
+    public void applyTo(AIChatOpsAdminDto statistics, String personaCode, LocalDateTime from) {
+        if (statistics == null) {
+            return;
+        }
+        DailyFeedback totals = getTotals(personaCode, from == null ? null : from.toLocalDate());
+        statistics.setFeedbackCount((int) totals.getFeedbackCount());
+        statistics.setSatisfactionRate(totals.getSatisfactionRate());
+        statistics.setAverageRating(totals.getAverageRating());
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private void replace(DailyFeedback row) {
+        NavigableMap<LocalDate, DailyFeedback> days = daysByPersona.computeIfAbsent(row.getPersonaCode(),
+                p -> new TreeMap<>());
+        DailyFeedback previous = days.get(row.getFeedbackDate());
+        // Counts only grow, so an older read of the same row has nothing new
+        if (previous != null && previous.getFeedbackCount() > row.getFeedbackCount()) {
+            return;
+        }
+        days.put(row.getFeedbackDate(), row);
+
+        DailyFeedback delta = copy(row, row.getPersonaCode());
+        if (previous != null) {
+            delta.add(previous, -1);
+        }
+        allTimeByPersona.computeIfAbsent(row.getPersonaCode(), p -> new DailyFeedback(p, null)).add(delta, 1);
+        allPersonasByDay.computeIfAbsent(row.getFeedbackDate(), d -> new DailyFeedback(null, d)).add(delta, 1);
+        allTime.add(delta, 1);
+
+        if (row.getUpdatedDate() != null && (watermark == null || row.getUpdatedDate().isAfter(watermark))) {
+            watermark = row.getUpdatedDate();
+        }
+    }
+
+    private static DailyFeedback copy(DailyFeedback source, String personaCode) {
+        DailyFeedback copy = new DailyFeedback(personaCode, null);
+        if (source != null) {
+            copy.add(source, 1);
+        }
+        return copy;
+    }
+}
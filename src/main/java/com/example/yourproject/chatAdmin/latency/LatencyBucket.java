@@ -0,0 +1,64 @@
+package com.example.yourproject.chatAdmin.latency;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of swp_ai_chatops_latency_hist: the response time histogram one instance recorded for
+ * one persona in the hour starting at bucketStart.
+ */
+public class LatencyBucket {
+    private String personaCode;
+    private LocalDateTime bucketStart;
+    private String instanceId;
+    private long sampleCount;
+    private long maxMs;
+    private byte[] histogram;
+
+    public String getPersonaCode() {
+        return personaCode;
+    }
+
+    public void setPersonaCode(String personaCode) {
+        this.personaCode = personaCode;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public long getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(long maxMs) {
+        this.maxMs = maxMs;
+    }
+
+    public byte[] getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(byte[] histogram) {
+        this.histogram = histogram;
+    }
+}
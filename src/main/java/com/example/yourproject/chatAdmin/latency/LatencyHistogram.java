@@ -0,0 +1,165 @@
+package com.example.yourproject.chatAdmin.latency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Log-linear latency histogram in milliseconds, HdrHistogram-style: values below 128 ms are
+ * counted exactly, larger ones in 64 sub-buckets per power of two, so any recorded value is off by
+ * under 1.6%. Histograms of the same layout merge by adding counts, which is what makes
+ * per-persona, per-hour, per-instance histograms combinable into any period.
+ *
+ * Not thread-safe. Serialized sparsely (only non-empty buckets) as variable-length integers.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = SUB_BUCKETS * 2;
+    // About 4.6 hours; larger values are counted here
+    public static final long MAX_TRACKABLE_MS = (1L << 24) - 1;
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_MS) + 1;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    public void record(long valueMs) {
+        long value = Math.min(Math.max(valueMs, 0), MAX_TRACKABLE_MS);
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    // Highest value equivalent to the bucket holding the nearest-rank percentile, capped at the max seen
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public Double getMean() {
+        return totalCount == 0 ? null : Math.round(sum * 10.0 / totalCount) / 10.0;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeVarLong(out, totalCount);
+            writeVarLong(out, sum);
+            writeVarLong(out, max);
+            // Bucket gaps rather than indexes keep the varints short
+            int previous = -1;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (counts[i] != 0) {
+                    writeVarLong(out, i - previous);
+                    writeVarLong(out, counts[i]);
+                    previous = i;
+                }
+            }
+            writeVarLong(out, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static LatencyHistogram fromBytes(byte[] data) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unknown latency histogram format: " + version);
+            }
+            histogram.totalCount = readVarLong(in);
+            histogram.sum = readVarLong(in);
+            histogram.max = readVarLong(in);
+            int index = -1;
+            for (long gap = readVarLong(in); gap != 0; gap = readVarLong(in)) {
+                index += (int) gap;
+                histogram.counts[index] = readVarLong(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return histogram;
+    }
+
+    // Exact below EXACT_LIMIT, then SUB_BUCKETS buckets for each further power of two
+    static int indexOf(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) - SUB_BUCKETS;
+        return EXACT_LIMIT + (shift - 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int shift = (index - EXACT_LIMIT) / SUB_BUCKETS + 1;
+        long mantissa = (index - EXACT_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.yourproject.chatAdmin.latency;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.LatencyHistogramMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response time histograms per persona and hour. Each instance records the conversations it logs
+ * into in-memory histograms of the current hours and writes the changed ones to
+ * swp_ai_chatops_latency_hist every flush-ms, under its own instance id. Percentiles of a period
+ * merge every instance's histograms of the hours in it: O(personas x hours), never the raw rows.
+ *
+ * Periods are counted in whole hours from the hour they start in. Merged results are cached for
+ * cache-ms, and other instances' latest samples show up after their next flush. Samples for hours
+ * older than retain-hours that are no longer in memory are dropped and counted as chatops.latency.late.
+ */
+@Component
+public class ResponseLatencyStore implements InitializingBean, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ResponseLatencyStore.class);
+
+    @Autowired
+    private LatencyHistogramMapper latencyHistogramMapper;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    // Defaults to host + random suffix: unique per process start, so a restart never overwrites an hour
+    @Value("${chatops.latency.instance-id:}")
+    private String instanceId;
+
+    @Value("${chatops.latency.retain-hours:2}")
+    private int retainHours;
+
+    @Value("${chatops.latency.cache-ms:30000}")
+    private long cacheMs;
+
+    // Guarded by this: this instance's histograms of recent hours, and the ones changed since the last flush
+    private final Map<BucketKey, LatencyHistogram> recent = new HashMap<>();
+    private final Set<BucketKey> dirty = new LinkedHashSet<>();
+
+    private final Map<String, CachedHistograms> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (instanceId == null || instanceId.isEmpty()) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "instance";
+            }
+            String suffix = "-" + UUID.randomUUID().toString().substring(0, 8);
+            instanceId = host.substring(0, Math.min(host.length(), 64 - suffix.length())) + suffix;
+        }
+    }
+
+    public void record(String personaCode, LocalDateTime createdDate, long responseTimeMs) {
+        BucketKey key = new BucketKey(personaCode, createdDate.truncatedTo(ChronoUnit.HOURS));
+        synchronized (this) {
+            // An evicted hour's row is final: a fresh histogram for it would overwrite the row on flush
+            LocalDateTime oldest = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(retainHours);
+            if (key.bucketStart.isBefore(oldest) && !recent.containsKey(key)) {
+                chatOpsMetrics.increment("chatops.latency.late");
+                return;
+            }
+            recent.computeIfAbsent(key, k -> new LatencyHistogram()).record(responseTimeMs);
+            dirty.add(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chatops.latency.flush-ms:30000}")
+    public void flush() {
+        Set<BucketKey> keys;
+        List<LatencyBucket> rows = new ArrayList<>();
+        synchronized (this) {
+            keys = new LinkedHashSet<>(dirty);
+            dirty.clear();
+            for (BucketKey key : keys) {
+                LatencyHistogram histogram = recent.get(key);
+                LatencyBucket row = new LatencyBucket();
+                row.setPersonaCode(key.personaCode);
+                row.setBucketStart(key.bucketStart);
+                row.setInstanceId(instanceId);
+                row.setSampleCount(histogram.getTotalCount());
+                row.setMaxMs(histogram.getMax());
+                row.setHistogram(histogram.toBytes());
+                rows.add(row);
+            }
+            // Closed hours are final once written; queries read them from the table
+            LocalDateTime oldest = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(retainHours);
+            recent.keySet().removeIf(key -> key.bucketStart.isBefore(oldest) && !keys.contains(key));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            latencyHistogramMapper.upsertHistograms(rows);
+            chatOpsMetrics.recordTime("chatops.latency.flush", System.nanoTime() - start);
+        } catch (Exception e) {
+            synchronized (this) {
+                dirty.addAll(keys);
+            }
+            chatOpsMetrics.increment("chatops.latency.flush.errors");
+            log.warn("Failed to write {} latency histograms: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    // Merged histogram of one persona (null or empty for all) from a time on (null for all time)
+    public LatencyHistogram getHistogram(String personaCode, LocalDateTime from) {
+        String persona = personaCode == null || personaCode.isEmpty() ? null : personaCode;
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram histogram : getHistogramsByPersona(persona, from).values()) {
+            merged.add(histogram);
+        }
+        return merged;
+    }
+
+    // Merged histograms per persona from a time on (null for all time)
+    public Map<String, LatencyHistogram> getHistogramsByPersona(LocalDateTime from) {
+        return getHistogramsByPersona(null, from);
+    }
+
+    // Sets avgResponseTime (mean ms) and the response time percentiles on a statistics row
+    public void applyTo(AIChatOpsAdminDto statistics, String personaCode, LocalDateTime from) {
+        if (statistics != null) {
+            applyTo(statistics, getHistogram(personaCode, from));
+        }
+    }
+
+    // avgResponseTime used to be the mean response length; with no samples it is left empty rather than mixed
+    public static void applyTo(AIChatOpsAdminDto statistics, LatencyHistogram histogram) {
+        statistics.setAvgResponseTime(histogram.getMean());
+        statistics.setResponseTimeSamples(histogram.getTotalCount());
+        if (histogram.getTotalCount() > 0) {
+            statistics.setResponseTimeP50(histogram.getValueAtPercentile(50));
+            statistics.setResponseTimeP95(histogram.getValueAtPercentile(95));
+            statistics.setResponseTimeP99(histogram.getValueAtPercentile(99));
+            statistics.setResponseTimeMax(histogram.getMax());
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private Map<String, LatencyHistogram> getHistogramsByPersona(String personaCode, LocalDateTime from) {
+        LocalDateTime fromHour = from == null ? null : from.truncatedTo(ChronoUnit.HOURS);
+        String cacheKey = personaCode + "|" + fromHour;
+        CachedHistograms cached = cache.get(cacheKey);
+        if (cached != null && System.currentTimeMillis() - cached.loadedMillis < cacheMs) {
+            return cached.byPersona;
+        }
+
+        long start = System.nanoTime();
+        List<LatencyBucket> rows = latencyHistogramMapper.selectHistograms(personaCode, fromHour);
+        Map<String, LatencyHistogram> byPersona = new HashMap<>();
+        synchronized (this) {
+            for (LatencyBucket row : rows) {
+                // This instance's unflushed samples are newer in memory than in its row
+                if (instanceId.equals(row.getInstanceId())
+                        && recent.containsKey(new BucketKey(row.getPersonaCode(), row.getBucketStart()))) {
+                    continue;
+                }
+                byPersona.computeIfAbsent(row.getPersonaCode(), p -> new LatencyHistogram())
+                        .add(LatencyHistogram.fromBytes(row.getHistogram()));
+            }
+            for (Map.Entry<BucketKey, LatencyHistogram> entry : recent.entrySet()) {
+                BucketKey key = entry.getKey();
+                if ((personaCode == null || personaCode.equals(key.personaCode))
+                        && (fromHour == null || !key.bucketStart.isBefore(fromHour))) {
+                    byPersona.computeIfAbsent(key.personaCode, p -> new LatencyHistogram()).add(entry.getValue());
+                }
+            }
+        }
+        chatOpsMetrics.recordTime("chatops.latency.query", System.nanoTime() - start);
+        chatOpsMetrics.recordValue("chatops.latency.query.rows", rows.size());
+
+        // Callers only read the cached histograms; period starts move every hour, so drop expired keys
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> now - entry.loadedMillis >= cacheMs);
+        cache.put(cacheKey, new CachedHistograms(byPersona, now));
+        return byPersona;
+    }
+
+    private static final class BucketKey {
+        private final String personaCode;
+        private final LocalDateTime bucketStart;
+
+        private BucketKey(String personaCode, LocalDateTime bucketStart) {
+            this.personaCode = personaCode;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) o;
+            return personaCode.equals(other.personaCode) && bucketStart.equals(other.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(personaCode, bucketStart);
+        }
+    }
+
+    private static final class CachedHistograms {
+        private final Map<String, LatencyHistogram> byPersona;
+        private final long loadedMillis;
+
+        private CachedHistograms(Map<String, LatencyHistogram> byPersona, long loadedMillis) {
+            this.byPersona = byPersona;
+            this.loadedMillis = loadedMillis;
+        }
+    }
+}
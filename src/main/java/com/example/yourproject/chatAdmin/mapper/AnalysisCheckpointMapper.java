@@ -0,0 +1,39 @@
+package com.example.yourproject.chatAdmin.mapper;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * AnalysisCheckpointMapper - swp_ai_chatops_analysis_checkpoint table mapping
+ */
+@Mapper
+public interface AnalysisCheckpointMapper {
+    
+    /**
+     * Get checkpoint for an analysis
+     * @param personaCode persona code ('ALL' for all personas)
+     * @param analysisType analysis type
+     * @param period period
+     * @return checkpoint info (null if none)
+     */
+    AIChatOpsAdminDto selectCheckpoint(
+        @Param("personaCode") String personaCode,
+        @Param("analysisType") String analysisType,
+        @Param("period") String period
+    );
+    
+    /**
+     * Insert or replace checkpoint
+     * @param checkpoint checkpoint info
+     * @return affected rows
+     */
+    int upsertCheckpoint(AIChatOpsAdminDto checkpoint);
+    
+    /**
+     * Delete checkpoints by persona code
+     * @param personaCode persona code
+     * @return deleted rows
+     */
+    int deleteCheckpointsByPersonaCode(@Param("personaCode") String personaCode);
+}
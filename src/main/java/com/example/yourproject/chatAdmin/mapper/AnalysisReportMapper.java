@@ -0,0 +1,39 @@
+package com.example.yourproject.chatAdmin.mapper;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * AnalysisReportMapper - swp_ai_chatops_analysis_report table mapping
+ */
+@Mapper
+public interface AnalysisReportMapper {
+    
+    /**
+     * Get stored report
+     * @param analysisType analysis type
+     * @param personaCode persona code ('ALL' for all personas)
+     * @param period period
+     * @return report info (null if none)
+     */
+    AIChatOpsAdminDto selectReport(
+        @Param("analysisType") String analysisType,
+        @Param("personaCode") String personaCode,
+        @Param("period") String period
+    );
+    
+    /**
+     * Insert or replace report
+     * @param report report info
+     * @return affected rows
+     */
+    int upsertReport(AIChatOpsAdminDto report);
+    
+    /**
+     * Delete reports by persona code
+     * @param personaCode persona code
+     * @return deleted rows
+     */
+    int deleteReportsByPersonaCode(@Param("personaCode") String personaCode);
+}
@@ -0,0 +1,35 @@
+package com.example.yourproject.chatAdmin.mapper;
+
+import com.example.yourproject.chatAdmin.compression.CompressionDictionary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * CompressionDictionaryMapper - swp_ai_chatops_compression_dict table mapping
+ */
+@Mapper
+public interface CompressionDictionaryMapper {
+
+    /**
+     * Insert dictionary (dictionaries are never updated)
+     * @param dictionary dictionary bytes and sample count; dictionaryId is set from the generated key
+     * @return created rows
+     */
+    int insertDictionary(CompressionDictionary dictionary);
+
+    /**
+     * Get dictionary
+     * @param dictionaryId dictionary id
+     * @return dictionary (null if none)
+     */
+    CompressionDictionary selectDictionary(@Param("dictionaryId") int dictionaryId);
+
+    /**
+     * Get all dictionaries, oldest first
+     * @return dictionary list
+     */
+    List<CompressionDictionary> selectDictionaries();
+
+}
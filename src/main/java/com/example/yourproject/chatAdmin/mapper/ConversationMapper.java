@@ -1,5 +1,7 @@
 package com.example.yourproject.chatAdmin.mapper;
 
+import com.example.yourproject.chatAdmin.archive.ConversationTotals;
+import com.example.yourproject.chatAdmin.columnar.ConversationMetadata;
 import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -24,6 +26,21 @@ public interface ConversationMapper {
         @Param("period") String period
     );
     
+    /**
+     * Get up to 1000 conversations after a (created date, id) watermark, oldest first (incremental analysis)
+     * @param personaCode persona code (null for all)
+     * @param period period (today, 7days, 30days, 90days, all)
+     * @param since created date of the last conversation processed
+     * @param sinceId id of the last conversation processed (0 to take every row at since)
+     * @return conversation list
+     */
+    List<AIChatOpsAdminDto> selectConversationsSince(
+        @Param("personaCode") String personaCode,
+        @Param("period") String period,
+        @Param("since") LocalDateTime since,
+        @Param("sinceId") long sinceId
+    );
+    
     /**
      * Get conversations with paging
      * @param personaCode persona code (null for all)
@@ -83,4 +100,165 @@ public interface ConversationMapper {
      */
     List<AIChatOpsAdminDto> selectConversationCountsByPersona(@Param("period") String period);
     
+    /**
+     * Get additive statistics (counts and sums) for merging with the archive
+     * @param personaCode persona code (null for all)
+     * @param period period
+     * @return totals without creators
+     */
+    ConversationTotals selectConversationTotals(
+        @Param("personaCode") String personaCode,
+        @Param("period") String period
+    );
+    
+    /**
+     * Get additive statistics per persona for merging with the archive
+     * @param period period
+     * @return totals per persona without creators
+     */
+    List<ConversationTotals> selectConversationTotalsByPersona(@Param("period") String period);
+    
+    /**
+     * Get distinct creators by period
+     * @param personaCode persona code (null for all)
+     * @param period period
+     * @return creator list
+     */
+    List<String> selectDistinctCreators(
+        @Param("personaCode") String personaCode,
+        @Param("period") String period
+    );
+    
+    /**
+     * Get distinct (persona code, creator) pairs by period
+     * @param period period
+     * @return persona code and creator list
+     */
+    List<AIChatOpsAdminDto> selectDistinctCreatorsByPersona(@Param("period") String period);
+    
+    /**
+     * Get conversations and unique users per day or hour, oldest first; buckets without rows are left out
+     * @param personaCode persona code (null for all)
+     * @param from inclusive lower bound on created date (null for all time)
+     * @param hourly true for hourly buckets, false for daily
+     * @return list with the bucket start as created date, total conversations and unique users
+     */
+    List<AIChatOpsAdminDto> selectConversationTrend(
+        @Param("personaCode") String personaCode,
+        @Param("from") LocalDateTime from,
+        @Param("hourly") boolean hourly
+    );
+    
+    /**
+     * Get distinct (bucket, creator) pairs per day or hour
+     * @param personaCode persona code (null for all)
+     * @param from inclusive lower bound on created date (null for all time)
+     * @param hourly true for hourly buckets, false for daily
+     * @return list with the bucket start as created date and the creator
+     */
+    List<AIChatOpsAdminDto> selectTrendCreators(
+        @Param("personaCode") String personaCode,
+        @Param("from") LocalDateTime from,
+        @Param("hourly") boolean hourly
+    );
+    
+    /**
+     * Get statistics columns of conversations in [from, to), oldest first (columnar store load)
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @return conversation metadata list
+     */
+    List<ConversationMetadata> selectConversationMetadataBetween(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
+    /**
+     * Get statistics columns of conversations at or after a watermark, oldest first (columnar store tail)
+     * @param since inclusive lower bound, null for all
+     * @return conversation metadata list
+     */
+    List<ConversationMetadata> selectConversationMetadataSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Get conversation summaries (no bodies) after a (created date, id) watermark, oldest first (live feed)
+     * @param since created date of the last conversation read
+     * @param sinceId id of the last conversation read (0 to take every row at since)
+     * @param limit count limit
+     * @return conversation list with ids, lengths and previews
+     */
+    List<AIChatOpsAdminDto> selectConversationFeedSince(
+        @Param("since") LocalDateTime since,
+        @Param("sinceId") long sinceId,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Insert conversations in one multi-row statement (write-behind logging)
+     * @param conversations conversation list (personaCode, userQuery, aiQuery, lengths, previews, responseTimeMs, creator, createdDate)
+     * @return created rows
+     */
+    int insertConversations(@Param("conversations") List<AIChatOpsAdminDto> conversations);
+    
+    /**
+     * Get one conversation with its full (decompressed) bodies
+     * @param conversationId conversation id
+     * @return conversation (null if none)
+     */
+    AIChatOpsAdminDto selectConversationBody(@Param("conversationId") long conversationId);
+    
+    /**
+     * Get the newest conversations with full bodies (compression dictionary training)
+     * @param limit count limit
+     * @return conversation list
+     */
+    List<AIChatOpsAdminDto> selectRecentConversations(@Param("limit") int limit);
+    
+    /**
+     * Get conversations still stored in the plain USER_QUERY / AI_QUERY columns (compression backfill)
+     * @param afterId exclusive lower bound on id
+     * @param limit count limit
+     * @return conversation list in id order
+     */
+    List<AIChatOpsAdminDto> selectUncompressedConversations(
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Move a conversation's bodies into the compressed columns and clear the plain ones
+     * @param conversation conversationId, texts, lengths and previews
+     * @return updated rows
+     */
+    int updateCompressedConversation(AIChatOpsAdminDto conversation);
+    
+    /**
+     * Get the oldest created date before a cutoff (archiving)
+     * @param before exclusive upper bound
+     * @return oldest created date, null if none
+     */
+    LocalDateTime selectOldestConversationDate(@Param("before") LocalDateTime before);
+    
+    /**
+     * Get and lock conversations in [from, to) for archiving
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @return conversation list
+     */
+    List<AIChatOpsAdminDto> selectConversationsBetween(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
+    /**
+     * Delete conversations in [from, to) after archiving
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @return deleted rows
+     */
+    int deleteConversationsBetween(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
 }
\ No newline at end of file
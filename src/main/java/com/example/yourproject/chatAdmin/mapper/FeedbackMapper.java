@@ -0,0 +1,50 @@
+package com.example.yourproject.chatAdmin.mapper;
+
+import com.example.yourproject.chatAdmin.feedback.ConversationFeedback;
+import com.example.yourproject.chatAdmin.feedback.DailyFeedback;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * FeedbackMapper - swp_ai_chatops_feedback and swp_ai_chatops_feedback_daily table mapping
+ */
+@Mapper
+public interface FeedbackMapper {
+
+    /**
+     * Insert feedback
+     * @param feedback personaCode, rating (null if not rated), comment, creator, createdDate; feedbackId is set from the generated key
+     * @return created rows
+     */
+    int insertFeedback(ConversationFeedback feedback);
+
+    /**
+     * Add a delta to the daily aggregate, creating the row if needed
+     * @param delta personaCode, feedbackDate and the counts to add
+     * @return affected rows
+     */
+    int upsertDailyFeedback(DailyFeedback delta);
+
+    /**
+     * Get one persona's daily aggregate
+     * @param personaCode persona code ('' for feedback without a persona)
+     * @param feedbackDate day
+     * @return daily aggregate (null if none)
+     */
+    DailyFeedback selectDailyFeedback(
+        @Param("personaCode") String personaCode,
+        @Param("feedbackDate") LocalDate feedbackDate
+    );
+
+    /**
+     * Get daily aggregates changed at or after a watermark, oldest change first
+     * @param since inclusive lower bound on updated date, null for all
+     * @return daily aggregate list
+     */
+    List<DailyFeedback> selectDailyFeedbackSince(@Param("since") LocalDateTime since);
+
+}
@@ -0,0 +1,34 @@
+package com.example.yourproject.chatAdmin.mapper;
+
+import com.example.yourproject.chatAdmin.latency.LatencyBucket;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * LatencyHistogramMapper - swp_ai_chatops_latency_hist table mapping
+ */
+@Mapper
+public interface LatencyHistogramMapper {
+
+    /**
+     * Insert or replace histograms in one multi-row statement
+     * @param buckets histogram rows (personaCode, bucketStart, instanceId, sampleCount, maxMs, histogram)
+     * @return affected rows
+     */
+    int upsertHistograms(@Param("buckets") List<LatencyBucket> buckets);
+
+    /**
+     * Get histograms of every instance for buckets starting at or after a time
+     * @param personaCode persona code (null for all)
+     * @param from inclusive lower bound on bucket start, null for all
+     * @return histogram rows
+     */
+    List<LatencyBucket> selectHistograms(
+        @Param("personaCode") String personaCode,
+        @Param("from") LocalDateTime from
+    );
+
+}
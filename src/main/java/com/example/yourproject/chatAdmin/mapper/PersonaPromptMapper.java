@@ -7,7 +7,7 @@ import org.apache.ibatis.annotations.Param;
 import java.util.List;
 
 /**
- * PersonaPromptMapper - swp_ai_chatops_persona_prompt table mapping
+ * PersonaPromptMapper - swp_ai_chatops_persona_prompt and swp_ai_chatops_persona table mapping
  */
 @Mapper
 public interface PersonaPromptMapper {
@@ -26,25 +26,50 @@ public interface PersonaPromptMapper {
     AIChatOpsAdminDto selectPersonaByCode(@Param("personaCode") String personaCode);
     
     /**
-     * Create persona
-     * @param persona persona info
+     * Create persona prompt row at version 1 (sets personaId)
+     * @param persona persona info (code, prompt type, prompt, created date)
      * @return created rows
      */
     int insertPersona(AIChatOpsAdminDto persona);
     
     /**
-     * Update persona
-     * @param persona persona info
-     * @return updated rows
+     * Delete persona
+     * @param personaCode persona code
+     * @return deleted rows
      */
-    int updatePersona(AIChatOpsAdminDto persona);
+    int deletePersona(@Param("personaCode") String personaCode);
     
     /**
-     * Delete persona
+     * Create persona metadata
+     * @param persona persona info (title, descriptions, category, icon, welcome message)
+     * @return created rows
+     */
+    int insertPersonaMetadata(AIChatOpsAdminDto persona);
+    
+    /**
+     * Update persona metadata, keeping fields that are null, and bump its row version
+     * @param persona persona info; with rowVersion set, only updates a row still at that version
+     * @return updated rows (0 if the persona has no metadata row or is at another version)
+     */
+    int updatePersonaMetadata(AIChatOpsAdminDto persona);
+    
+    /**
+     * Delete persona metadata
      * @param personaCode persona code
+     * @param rowVersion only delete a row still at this version (null for any)
      * @return deleted rows
      */
-    int deletePersona(@Param("personaCode") String personaCode);
+    int deletePersonaMetadata(
+        @Param("personaCode") String personaCode,
+        @Param("rowVersion") Integer rowVersion
+    );
+    
+    /**
+     * Get persona row version
+     * @param personaCode persona code
+     * @return row version (null if the persona has no metadata row)
+     */
+    Integer selectPersonaRowVersion(@Param("personaCode") String personaCode);
     
     /**
      * Get prompt by type and code
@@ -58,16 +83,40 @@ public interface PersonaPromptMapper {
     );
     
     /**
-     * Update persona prompt
+     * Get prompt by type and code, locking the row until the transaction ends
      * @param personaCode persona code
      * @param promptType prompt type
-     * @param personaPrompt prompt content
+     * @return prompt info (null if none)
+     */
+    AIChatOpsAdminDto selectPersonaPromptForUpdate(
+        @Param("personaCode") String personaCode, 
+        @Param("promptType") String promptType
+    );
+    
+    /**
+     * Point persona prompt at a version
+     * @param personaCode persona code
+     * @param promptType prompt type
+     * @param personaPrompt prompt content of that version
+     * @param version version number
      * @return updated rows
      */
     int updatePersonaPrompt(
         @Param("personaCode") String personaCode,
         @Param("promptType") String promptType,
-        @Param("personaPrompt") String personaPrompt
+        @Param("personaPrompt") String personaPrompt,
+        @Param("version") int version
+    );
+    
+    /**
+     * Make the newest version of a prompt current, creating the prompt row for a new prompt type
+     * @param personaCode persona code
+     * @param promptType prompt type (null for the persona's main prompt type)
+     * @return affected rows (0 if the persona or the prompt type has no version)
+     */
+    int upsertPersonaPrompt(
+        @Param("personaCode") String personaCode,
+        @Param("promptType") String promptType
     );
     
     /**
@@ -78,8 +127,8 @@ public interface PersonaPromptMapper {
     int countByPersonaCode(@Param("personaCode") String personaCode);
     
     /**
-     * Get personas by category
-     * @param category category
+     * Get personas by category (index lookup on swp_ai_chatops_persona.category)
+     * @param category category ('all' for every persona)
      * @return persona list
      */
     List<AIChatOpsAdminDto> selectPersonasByCategory(@Param("category") String category);
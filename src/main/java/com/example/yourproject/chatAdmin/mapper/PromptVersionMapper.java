@@ -0,0 +1,68 @@
+package com.example.yourproject.chatAdmin.mapper;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * PromptVersionMapper - swp_ai_chatops_persona_prompt_version table mapping
+ */
+@Mapper
+public interface PromptVersionMapper {
+    
+    /**
+     * Insert prompt version (versions are never updated)
+     * @param personaCode persona code
+     * @param promptType prompt type
+     * @param version version number
+     * @param personaPrompt prompt content
+     * @return created rows
+     */
+    int insertPromptVersion(
+        @Param("personaCode") String personaCode,
+        @Param("promptType") String promptType,
+        @Param("version") int version,
+        @Param("personaPrompt") String personaPrompt
+    );
+    
+    /**
+     * Insert the next version (latest + 1) of a persona's prompt
+     * @param promptVersion personaCode, promptType (null for the persona's main prompt type) and
+     *                      personaPrompt; promptVersion is set to the inserted version
+     * @return created rows (0 if the persona has no metadata row)
+     */
+    int insertNextPromptVersion(AIChatOpsAdminDto promptVersion);
+    
+    /**
+     * Get prompt version
+     * @param personaCode persona code
+     * @param promptType prompt type
+     * @param version version number
+     * @return version info (null if none)
+     */
+    AIChatOpsAdminDto selectPromptVersion(
+        @Param("personaCode") String personaCode,
+        @Param("promptType") String promptType,
+        @Param("version") int version
+    );
+    
+    /**
+     * Get prompt versions, newest first
+     * @param personaCode persona code
+     * @param promptType prompt type
+     * @return version list
+     */
+    List<AIChatOpsAdminDto> selectPromptVersions(
+        @Param("personaCode") String personaCode,
+        @Param("promptType") String promptType
+    );
+    
+    /**
+     * Delete versions by persona code
+     * @param personaCode persona code
+     * @return deleted rows
+     */
+    int deleteVersionsByPersonaCode(@Param("personaCode") String personaCode);
+}
@@ -0,0 +1,101 @@
+package com.example.yourproject.chatAdmin.metrics;
+
+import com.example.yourproject.chatAdmin.prompt.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin backend metrics (controller, service and LLM layers; statements are timed by StatementProfiler).
+ * Takes the registry in the constructor so tests can pass a SimpleMeterRegistry.
+ */
+@Component
+public class ChatOpsMetrics {
+    private final MeterRegistry registry;
+
+    public ChatOpsMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    // Per-endpoint request latency
+    public void recordRequest(String endpoint, int status, long elapsedNanos) {
+        Timer.builder("chatops.admin.request")
+                .description("Admin endpoint latency")
+                .tags("endpoint", endpoint, "status", String.valueOf(status))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // firstByteNanos is null for calls that return the body in one piece: there is no first byte to observe
+    public void recordLlmCall(String model, String operation, long latencyNanos, Long firstByteNanos,
+            String systemPrompt, String userPrompt, String response) {
+        Timer.builder("chatops.llm.latency")
+                .tags("model", model, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (firstByteNanos != null) {
+            Timer.builder("chatops.llm.ttfb")
+                    .tags("model", model, "operation", operation)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(firstByteNanos, TimeUnit.NANOSECONDS);
+        }
+
+        int promptChars = length(systemPrompt) + length(userPrompt);
+        recordSize("chatops.llm.prompt.chars", "chars", model, promptChars);
+        recordSize("chatops.llm.prompt.tokens", "tokens", model,
+                TokenEstimator.estimate(systemPrompt) + TokenEstimator.estimate(userPrompt));
+        recordSize("chatops.llm.response.chars", "chars", model, length(response));
+        recordSize("chatops.llm.response.tokens", "tokens", model, TokenEstimator.estimate(response));
+    }
+
+    // Error count labelled by layer and root cause type
+    public void recordError(String layer, Throwable error) {
+        Counter.builder("chatops.errors")
+                .tags("layer", layer, "cause", causeOf(error))
+                .register(registry)
+                .increment();
+    }
+
+    public void increment(String name, String... tags) {
+        Counter.builder(name).tags(tags).register(registry).increment();
+    }
+
+    public void recordTime(String name, long elapsedNanos, String... tags) {
+        Timer.builder(name).tags(tags).register(registry).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordValue(String name, double value, String... tags) {
+        DistributionSummary.builder(name).tags(tags).register(registry).record(value);
+    }
+
+    private void recordSize(String name, String unit, String model, long value) {
+        DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags("model", model)
+                .register(registry)
+                .record(value);
+    }
+
+    private int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    static String causeOf(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.yourproject.chatAdmin.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times admin controller endpoints and counts service-level errors. Statements are timed once,
+ * by StatementProfiler.
+ */
+@Aspect
+@Component
+public class ChatOpsMetricsAspect {
+    // Nested service calls share one error count: only the outermost call records
+    private static final ThreadLocal<int[]> SERVICE_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Around("execution(* com.example.yourproject.chatAdmin.controller..*(..))")
+    public Object timeEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        String endpoint = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        int status = 500;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity) {
+                status = ((ResponseEntity<?>) result).getStatusCode().value();
+            }
+            return result;
+        } finally {
+            chatOpsMetrics.recordRequest(endpoint, status, System.nanoTime() - start);
+        }
+    }
+
+    @Around("execution(public * com.example.yourproject.chatAdmin.service..*(..))")
+    public Object countServiceErrors(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] depth = SERVICE_DEPTH.get();
+        depth[0]++;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            if (depth[0] == 1) {
+                chatOpsMetrics.recordError("service", e);
+            }
+            throw e;
+        } finally {
+            depth[0]--;
+        }
+    }
+}
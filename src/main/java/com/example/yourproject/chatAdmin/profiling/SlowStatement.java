@@ -0,0 +1,88 @@
+package com.example.yourproject.chatAdmin.profiling;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One execution kept among the slowest. Carries the parameter shape, never the values; the plan
+ * is filled in later by the EXPLAIN thread when explain capture is on.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlowStatement {
+    private final String statementId;
+    private final String parameterShape;
+    private final String sql;
+    private final long rows;
+    private final double elapsedMs;
+    private final boolean failed;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private final LocalDateTime executedAt;
+    private final String traceId;
+    private volatile List<Map<String, Object>> explain;
+    private volatile String explainError;
+
+    public SlowStatement(String statementId, String parameterShape, String sql, long rows, double elapsedMs,
+            boolean failed, LocalDateTime executedAt, String traceId) {
+        this.statementId = statementId;
+        this.parameterShape = parameterShape;
+        this.sql = sql;
+        this.rows = rows;
+        this.elapsedMs = elapsedMs;
+        this.failed = failed;
+        this.executedAt = executedAt;
+        this.traceId = traceId;
+    }
+
+    public String getStatementId() {
+        return statementId;
+    }
+
+    public String getParameterShape() {
+        return parameterShape;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public LocalDateTime getExecutedAt() {
+        return executedAt;
+    }
+
+    // Links to /admin/traces/{traceId} when the statement ran in a traced request
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public List<Map<String, Object>> getExplain() {
+        return explain;
+    }
+
+    void setExplain(List<Map<String, Object>> explain) {
+        this.explain = explain;
+    }
+
+    public String getExplainError() {
+        return explainError;
+    }
+
+    void setExplainError(String explainError) {
+        this.explainError = explainError;
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.yourproject.chatAdmin.profiling;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import com.example.yourproject.chatAdmin.trace.TraceContext;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis plugin timing every chatAdmin mapper statement at the executor: per-statement counts,
+ * latency percentiles and parameter shapes, plus the slowest executions with their SQL. Parameter
+ * values are never kept, only their shape ({personaCode: String, ids: List[<=100]}).
+ *
+ * As an Interceptor bean it is picked up by the Boot-configured SqlSessionFactory; ShardingConfig
+ * adds it to the shard factories it builds itself. With chatops.statement-profiler.explain-ms set,
+ * SELECTs slower than that get an EXPLAIN, run on one background thread on a connection of their
+ * own, at most once per statement per explain-interval-ms.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class})
+})
+public class StatementProfiler implements Interceptor, InitializingBean, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(StatementProfiler.class);
+    private static final Comparator<SlowStatement> FASTEST_FIRST = Comparator.comparingDouble(SlowStatement::getElapsedMs);
+    private static final int MAX_SQL_LENGTH = 4000;
+    private static final int MAX_EXPLAIN_ROWS = 50;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Value("${chatops.statement-profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chatops.statement-profiler.namespace:com.example.yourproject.chatAdmin.mapper.}")
+    private String namespace;
+
+    @Value("${chatops.statement-profiler.top-n:50}")
+    private int topN;
+
+    // Executions faster than this never enter the slowest list (and skip building its SQL)
+    @Value("${chatops.statement-profiler.slow-ms:100}")
+    private long slowMs;
+
+    // 0 = no EXPLAIN capture
+    @Value("${chatops.statement-profiler.explain-ms:0}")
+    private long explainMs;
+
+    @Value("${chatops.statement-profiler.explain-interval-ms:600000}")
+    private long explainIntervalMs;
+
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+    // Guarded by itself
+    private final PriorityQueue<SlowStatement> slowest = new PriorityQueue<>(FASTEST_FIRST);
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private BlockingQueue<Runnable> explainQueue;
+    private Thread explainer;
+    private volatile boolean stopping = false;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (explainMs <= 0) {
+            return;
+        }
+        explainQueue = new ArrayBlockingQueue<>(100);
+        explainer = new Thread(this::runExplains, "statement-explain");
+        explainer.setDaemon(true);
+        explainer.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (explainer != null) {
+            stopping = true;
+            explainer.interrupt();
+            explainer.join(5000);
+        }
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        if (!enabled || !ms.getId().startsWith(namespace)) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            try {
+                record(ms, args, rows(result), elapsedNanos, failed);
+            } catch (RuntimeException e) {
+                log.debug("Failed to profile statement {}: {}", ms.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // Statements by total time spent, most first: where optimizing pays off most
+    public List<StatementStats> getProfile(int limit) {
+        List<StatementStats> profile = new ArrayList<>(stats.values());
+        profile.sort(Comparator.comparingDouble(StatementStats::getTotalMs).reversed());
+        return profile.subList(0, Math.min(limit, profile.size()));
+    }
+
+    // Slowest executions kept, slowest first
+    public List<SlowStatement> getSlowest(int limit) {
+        List<SlowStatement> executions;
+        synchronized (slowest) {
+            executions = new ArrayList<>(slowest);
+        }
+        executions.sort(FASTEST_FIRST.reversed());
+        return executions.subList(0, Math.min(limit, executions.size()));
+    }
+
+    public void reset() {
+        stats.clear();
+        synchronized (slowest) {
+            slowest.clear();
+        }
+        lastExplained.clear();
+    }
+
+    private void record(MappedStatement ms, Object[] args, long rows, long elapsedNanos, boolean failed) {
+        String statementId = ms.getId().substring(namespace.length());
+        String parameterShape = parameterShape(args[1]);
+        stats.computeIfAbsent(statementId, StatementStats::new).record(elapsedNanos, rows, failed, parameterShape);
+
+        double elapsedMs = elapsedNanos / 1_000_000.0;
+        if (elapsedMs < slowMs || !isAmongSlowest(elapsedMs)) {
+            return;
+        }
+        // The 6-argument query already carries the BoundSql it ran; otherwise rebuild it
+        BoundSql boundSql = args.length > 5 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+        SlowStatement slow = new SlowStatement(statementId, parameterShape, normalize(boundSql.getSql()), rows,
+                elapsedMs, failed, LocalDateTime.now(), TraceContext.current().getTraceId());
+        synchronized (slowest) {
+            slowest.add(slow);
+            if (slowest.size() > topN) {
+                slowest.poll();
+            }
+        }
+        chatOpsMetrics.increment("chatops.statement.slow", "statement", statementId);
+        if (explainQueue != null && !failed && elapsedMs >= explainMs
+                && ms.getSqlCommandType() == SqlCommandType.SELECT && claimExplain(statementId)
+                && !explainQueue.offer(() -> explain(ms, args[1], boundSql, slow))) {
+            chatOpsMetrics.increment("chatops.statement.explain.dropped");
+        }
+    }
+
+    private boolean isAmongSlowest(double elapsedMs) {
+        synchronized (slowest) {
+            return slowest.size() < topN || slowest.peek().getElapsedMs() < elapsedMs;
+        }
+    }
+
+    private boolean claimExplain(String statementId) {
+        long now = System.currentTimeMillis();
+        Long previous = lastExplained.get(statementId);
+        if (previous != null && now - previous < explainIntervalMs) {
+            return false;
+        }
+        return previous == null ? lastExplained.putIfAbsent(statementId, now) == null
+                : lastExplained.replace(statementId, previous, now);
+    }
+
+    private void runExplains() {
+        while (!stopping) {
+            try {
+                Runnable explain = explainQueue.poll(1, TimeUnit.SECONDS);
+                if (explain != null) {
+                    explain.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Runs the statement's SQL with its own bind values behind EXPLAIN on the statement's data source
+    private void explain(MappedStatement ms, Object parameter, BoundSql boundSql, SlowStatement slow) {
+        DataSource dataSource = ms.getConfiguration().getEnvironment().getDataSource();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            new DefaultParameterHandler(ms, parameter, boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                List<Map<String, Object>> plan = new ArrayList<>();
+                while (rs.next() && plan.size() < MAX_EXPLAIN_ROWS) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        row.put(meta.getColumnLabel(i), rs.getObject(i));
+                    }
+                    plan.add(row);
+                }
+                slow.setExplain(plan);
+            }
+        } catch (Exception e) {
+            chatOpsMetrics.increment("chatops.statement.explain.errors");
+            slow.setExplainError(e.getMessage());
+            log.debug("EXPLAIN of {} failed: {}", slow.getStatementId(), e.getMessage());
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        // Batch executors report a negative placeholder instead of a row count
+        if (result instanceof Number) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        return 0;
+    }
+
+    // Named parameters and the type of each, without MyBatis' positional param1, param2, ... aliases
+    private static String parameterShape(Object parameter) {
+        if (parameter == null) {
+            return "none";
+        }
+        if (!(parameter instanceof Map)) {
+            return valueShape(parameter);
+        }
+        Map<String, String> shapes = new TreeMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) parameter).entrySet()) {
+            String name = String.valueOf(entry.getKey());
+            if (!(name.startsWith("param") && name.length() > 5 && name.substring(5).chars().allMatch(Character::isDigit))) {
+                shapes.put(name, valueShape(entry.getValue()));
+            }
+        }
+        StringJoiner shape = new StringJoiner(", ", "{", "}");
+        shapes.forEach((name, type) -> shape.add(name + ": " + type));
+        return shape.toString();
+    }
+
+    // Collection sizes are bucketed so batch calls of varying size share one shape
+    private static String valueShape(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Collection) {
+            return value.getClass().getSimpleName() + "[" + sizeClass(((Collection<?>) value).size()) + "]";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + sizeClass(Array.getLength(value)) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static String sizeClass(int size) {
+        if (size <= 1) {
+            return String.valueOf(size);
+        }
+        for (int limit = 10; limit <= 10_000; limit *= 10) {
+            if (size <= limit) {
+                return "<=" + limit;
+            }
+        }
+        return ">10000";
+    }
+
+    private static String normalize(String sql) {
+        String normalized = sql.replaceAll("\\s+", " ").trim();
+        return normalized.length() > MAX_SQL_LENGTH ? normalized.substring(0, MAX_SQL_LENGTH) : normalized;
+    }
+}
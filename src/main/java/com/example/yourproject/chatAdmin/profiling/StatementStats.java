@@ -0,0 +1,92 @@
+package com.example.yourproject.chatAdmin.profiling;
+
+import com.example.yourproject.chatAdmin.latency.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running totals for one mapped statement since startup (or the last reset). Latencies are kept in
+ * a LatencyHistogram recorded in whole milliseconds, rounded up, so the percentiles below are upper
+ * bounds at 1 ms resolution, off by under 1.6% above 128 ms and clamped at MAX_TRACKABLE_MS (about
+ * 4.6 hours); the average and max are exact. Up to MAX_SHAPES parameter shapes are counted
+ * separately, the rest together.
+ */
+public class StatementStats {
+    private static final int MAX_SHAPES = 8;
+    private static final String OTHER_SHAPES = "(other)";
+
+    private final String statementId;
+
+    // Guarded by this
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Map<String, Long> parameterShapes = new LinkedHashMap<>();
+    private long count;
+    private long errors;
+    private long totalNanos;
+    private long maxNanos;
+    private long totalRows;
+
+    public StatementStats(String statementId) {
+        this.statementId = statementId;
+    }
+
+    synchronized void record(long elapsedNanos, long rows, boolean failed, String parameterShape) {
+        histogram.record((elapsedNanos + 999_999) / 1_000_000);
+        count++;
+        totalNanos += elapsedNanos;
+        maxNanos = Math.max(maxNanos, elapsedNanos);
+        totalRows += rows;
+        if (failed) {
+            errors++;
+        }
+        String shape = parameterShapes.containsKey(parameterShape) || parameterShapes.size() < MAX_SHAPES
+                ? parameterShape : OTHER_SHAPES;
+        parameterShapes.merge(shape, 1L, Long::sum);
+    }
+
+    public String getStatementId() {
+        return statementId;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    public synchronized double getTotalMs() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public synchronized double getAvgMs() {
+        return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    public synchronized double getP50Ms() {
+        return histogram.getValueAtPercentile(50);
+    }
+
+    public synchronized double getP95Ms() {
+        return histogram.getValueAtPercentile(95);
+    }
+
+    public synchronized double getP99Ms() {
+        return histogram.getValueAtPercentile(99);
+    }
+
+    public synchronized double getMaxMs() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    public synchronized double getAvgRows() {
+        return count == 0 ? 0 : (double) totalRows / count;
+    }
+
+    // Executions per parameter shape, e.g. {personaCode: String, limit: Integer} -> 1520
+    public synchronized Map<String, Long> getParameterShapes() {
+        return new LinkedHashMap<>(parameterShapes);
+    }
+}
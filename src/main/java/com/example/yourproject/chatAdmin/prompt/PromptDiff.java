@@ -0,0 +1,90 @@
+package com.example.yourproject.chatAdmin.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line diff between two prompt versions. Each output line is prefixed with "  " (unchanged),
+ * "- " (only in the old version) or "+ " (only in the new version).
+ * The common prefix and suffix are trimmed before the LCS table is built.
+ */
+public final class PromptDiff {
+    // LCS table cells above which the middle section is reported as replaced wholesale
+    private static final long MAX_TABLE_CELLS = 4_000_000L;
+
+    private PromptDiff() {
+    }
+
+    public static List<String> diff(String oldText, String newText) {
+        String[] a = split(oldText);
+        String[] b = split(newText);
+
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+
+        List<String> lines = new ArrayList<>(a.length + b.length);
+        for (int i = 0; i < prefix; i++) {
+            lines.add("  " + a[i]);
+        }
+        diffMiddle(a, prefix, a.length - suffix, b, prefix, b.length - suffix, lines);
+        for (int i = a.length - suffix; i < a.length; i++) {
+            lines.add("  " + a[i]);
+        }
+        return lines;
+    }
+
+    private static void diffMiddle(String[] a, int aFrom, int aTo, String[] b, int bFrom, int bTo,
+            List<String> lines) {
+        int n = aTo - aFrom;
+        int m = bTo - bFrom;
+        if ((long) (n + 1) * (m + 1) > MAX_TABLE_CELLS) {
+            for (int i = aFrom; i < aTo; i++) {
+                lines.add("- " + a[i]);
+            }
+            for (int j = bFrom; j < bTo; j++) {
+                lines.add("+ " + b[j]);
+            }
+            return;
+        }
+
+        // lcs[i][j] = LCS length of a[aFrom + i ..] and b[bFrom + j ..]
+        int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = a[aFrom + i].equals(b[bFrom + j]) ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < n && j < m) {
+            if (a[aFrom + i].equals(b[bFrom + j])) {
+                lines.add("  " + a[aFrom + i]);
+                i++;
+                j++;
+            } else if (lcs[i + 1][j] >= lcs[i][j + 1]) {
+                lines.add("- " + a[aFrom + i++]);
+            } else {
+                lines.add("+ " + b[bFrom + j++]);
+            }
+        }
+        while (i < n) {
+            lines.add("- " + a[aFrom + i++]);
+        }
+        while (j < m) {
+            lines.add("+ " + b[bFrom + j++]);
+        }
+    }
+
+    private static String[] split(String text) {
+        return text == null || text.isEmpty() ? new String[0] : text.split("\r?\n", -1);
+    }
+}
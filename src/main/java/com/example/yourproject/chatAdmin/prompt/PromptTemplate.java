@@ -0,0 +1,78 @@
+package com.example.yourproject.chatAdmin.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prompt template parsed once into literal and {{variable}} segments.
+ * Rendering sizes the output buffer exactly before copying.
+ */
+public final class PromptTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private PromptTemplate(String source, String[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Template source cannot be null");
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, open));
+            variables.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        return new PromptTemplate(source, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    // Missing or null values render as empty text
+    public String render(Map<String, ?> values) {
+        if (variables.length == 0) {
+            return source;
+        }
+
+        String[] rendered = new String[variables.length];
+        int capacity = literalLength;
+        for (int i = 0; i < variables.length; i++) {
+            Object value = values == null ? null : values.get(variables[i]);
+            rendered[i] = value == null ? "" : value.toString();
+            capacity += rendered[i].length();
+        }
+
+        StringBuilder out = new StringBuilder(capacity);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]).append(rendered[i]);
+        }
+        out.append(literals[variables.length]);
+        return out.toString();
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
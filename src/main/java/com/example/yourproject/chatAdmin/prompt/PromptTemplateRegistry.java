@@ -0,0 +1,91 @@
+package com.example.yourproject.chatAdmin.prompt;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.PersonaPromptMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled analysis prompt templates. Defaults come from classpath:prompts/{name}.txt;
+ * a persona can override one by storing a prompt row whose prompt_type is the template name.
+ */
+@Component
+public class PromptTemplateRegistry {
+    public static final String CONVERSATION_ANALYSIS = "analysis_system";
+    public static final String PERSONA_ANALYSIS = "persona_analysis_system";
+    public static final String RECOMMENDATION = "recommendation_system";
+    public static final String INCREMENTAL_SYSTEM = "incremental_system";
+    public static final String INCREMENTAL_USER = "incremental_user";
+
+    @Autowired
+    private PersonaPromptMapper personaPromptMapper;
+
+    @Value("${chatops.prompt-template.override-cache-seconds:300}")
+    private long overrideCacheSeconds;
+
+    private final Map<String, PromptTemplate> defaults = new ConcurrentHashMap<>();
+    private final Map<String, CachedOverride> overrides = new ConcurrentHashMap<>();
+
+    // Persona override if one exists, otherwise the default template
+    public PromptTemplate get(String name, String personaCode) {
+        if (personaCode != null && !personaCode.trim().isEmpty()) {
+            PromptTemplate override = getOverride(name, personaCode);
+            if (override != null) {
+                return override;
+            }
+        }
+        return defaults.computeIfAbsent(name, this::loadDefault);
+    }
+
+    public String render(String name, String personaCode, Map<String, ?> values) {
+        return get(name, personaCode).render(values);
+    }
+
+    // Drop cached overrides after a persona's prompts change
+    public void invalidate(String personaCode) {
+        overrides.keySet().removeIf(key -> key.startsWith(personaCode + ":"));
+    }
+
+    private PromptTemplate getOverride(String name, String personaCode) {
+        String key = personaCode + ":" + name;
+        long now = System.currentTimeMillis();
+        CachedOverride cached = overrides.get(key);
+        if (cached == null || now - cached.loadedAt > overrideCacheSeconds * 1000) {
+            AIChatOpsAdminDto row = personaPromptMapper.selectPersonaPromptByTypeAndCode(personaCode, name);
+            PromptTemplate template = row == null || row.getPersonaPrompt() == null
+                    || row.getPersonaPrompt().trim().isEmpty() ? null : PromptTemplate.compile(row.getPersonaPrompt());
+            cached = new CachedOverride(template, now);
+            overrides.put(key, cached);
+        }
+        return cached.template;
+    }
+
+    private PromptTemplate loadDefault(String name) {
+        String resource = "prompts/" + name + ".txt";
+        try (InputStream in = PromptTemplateRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Prompt template not found: " + resource);
+            }
+            return PromptTemplate.compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load prompt template: " + resource, e);
+        }
+    }
+
+    private static class CachedOverride {
+        private final PromptTemplate template;
+        private final long loadedAt;
+
+        CachedOverride(PromptTemplate template, long loadedAt) {
+            this.template = template;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.yourproject.chatAdmin.prompt;
+
+/**
+ * Rough token count of prompt and response text (~4 characters per token), used for routing,
+ * budgets and metrics where a tokenizer round trip is not worth it.
+ */
+public final class TokenEstimator {
+    private TokenEstimator() {
+    }
+
+    public static long estimate(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+}
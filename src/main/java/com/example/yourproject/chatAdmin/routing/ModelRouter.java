@@ -0,0 +1,310 @@
+package com.example.yourproject.chatAdmin.routing;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the model for each LLM call from the operation, the estimated prompt tokens and the
+ * latency and error rates observed so far, and supplies the fallback order when a call fails.
+ *
+ * Candidate order (cut to max-attempts): the operation's configured model if any, else the small model for prompts of
+ * at most small-prompt-tokens, then the remaining models in chatops.llm.models order. Models whose
+ * context limit is below the prompt are dropped. A model is skipped while its error-rate or
+ * latency average is over the limit, except for one probe call every probe-interval-ms so it
+ * can recover. Each attempt gets attempt-timeout-ms; one that runs over counts as a failure and
+ * the next candidate is tried. Every decision and its outcome is kept in a short log for tuning.
+ */
+@Component
+public class ModelRouter implements InitializingBean {
+    public static final String REASON_OPERATION = "operation";
+    public static final String REASON_SMALL_PROMPT = "small_prompt";
+    public static final String REASON_DEFAULT = "default";
+    public static final String REASON_FALLBACK = "fallback";
+
+    // Weight of the newest sample in the moving averages
+    private static final double EWMA_ALPHA = 0.2;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    // Preference order; the first one is the default model
+    @Value("${chatops.llm.models:maverick}")
+    private String models;
+
+    @Value("${chatops.llm.routing.small-model:}")
+    private String smallModel;
+
+    @Value("${chatops.llm.routing.small-prompt-tokens:2000}")
+    private long smallPromptTokens;
+
+    // operation=model pairs, e.g. prompt_test=scout,conversation_analysis=maverick
+    @Value("${chatops.llm.routing.operations:}")
+    private String operationModels;
+
+    // model=max prompt tokens pairs; models not listed have no limit
+    @Value("${chatops.llm.routing.context-limits:}")
+    private String contextLimits;
+
+    @Value("${chatops.llm.routing.max-error-rate:0.5}")
+    private double maxErrorRate;
+
+    // 0 disables the latency check
+    @Value("${chatops.llm.routing.slow-latency-ms:0}")
+    private long slowLatencyMs;
+
+    // Models tried per call, the first one included
+    @Value("${chatops.llm.routing.max-attempts:2}")
+    private int maxAttempts;
+
+    // Latency budget of one attempt, so a hung model falls back instead of holding the request
+    @Value("${chatops.llm.routing.attempt-timeout-ms:60000}")
+    private long attemptTimeoutMs;
+
+    @Value("${chatops.llm.routing.probe-interval-ms:30000}")
+    private long probeIntervalMs;
+
+    @Value("${chatops.llm.routing.decision-log-size:200}")
+    private int decisionLogSize;
+
+    private List<String> modelOrder;
+    private Map<String, String> modelByOperation;
+    private Map<String, Long> tokenLimits;
+    private final Map<String, ModelStats> stats = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> decisions = new ArrayDeque<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        modelOrder = new ArrayList<>();
+        for (String model : models.split(",")) {
+            if (!model.trim().isEmpty()) {
+                modelOrder.add(model.trim());
+            }
+        }
+        if (modelOrder.isEmpty()) {
+            throw new IllegalStateException("chatops.llm.models must name at least one model");
+        }
+        if (!smallModel.trim().isEmpty() && !modelOrder.contains(smallModel.trim())) {
+            modelOrder.add(smallModel.trim());
+        }
+        modelByOperation = parsePairs(operationModels);
+        tokenLimits = new HashMap<>();
+        for (Map.Entry<String, String> limit : parsePairs(contextLimits).entrySet()) {
+            tokenLimits.put(limit.getKey(), Long.parseLong(limit.getValue()));
+        }
+    }
+
+    public String getDefaultModel() {
+        return modelOrder.get(0);
+    }
+
+    // Models to try for one call, best first; never empty
+    public Route route(String operation, long promptTokens) {
+        List<String> order = new ArrayList<>(modelOrder.size() + 1);
+        String reason = REASON_DEFAULT;
+        String configured = modelByOperation.get(operation);
+        if (configured != null) {
+            order.add(configured);
+            reason = REASON_OPERATION;
+        } else if (!smallModel.trim().isEmpty() && promptTokens <= smallPromptTokens) {
+            order.add(smallModel.trim());
+            reason = REASON_SMALL_PROMPT;
+        }
+        for (String model : modelOrder) {
+            if (!order.contains(model)) {
+                order.add(model);
+            }
+        }
+
+        // Drop models the prompt does not fit, unless that leaves nothing to try
+        List<String> fitting = new ArrayList<>(order.size());
+        for (String model : order) {
+            Long limit = tokenLimits.get(model);
+            if (limit == null || promptTokens <= limit) {
+                fitting.add(model);
+            }
+        }
+        if (!fitting.isEmpty()) {
+            order = fitting;
+        }
+
+        // Healthy models keep their place; unhealthy ones move to the back
+        long now = System.currentTimeMillis();
+        List<String> healthy = new ArrayList<>(order.size());
+        List<String> unhealthy = new ArrayList<>();
+        for (String model : order) {
+            (statsOf(model).isAvailable(now) ? healthy : unhealthy).add(model);
+        }
+        if (!healthy.isEmpty() && !healthy.get(0).equals(order.get(0))) {
+            reason = REASON_FALLBACK;
+        }
+        healthy.addAll(unhealthy);
+        return new Route(operation, promptTokens, healthy.subList(0, Math.min(healthy.size(),
+                Math.max(1, maxAttempts))), reason, attemptTimeoutMs);
+    }
+
+    // Outcome of one attempt; fallbackFrom is the model tried before this one, if any
+    public void record(Route route, String model, String fallbackFrom, long latencyNanos, boolean success) {
+        statsOf(model).record(latencyNanos / 1_000_000.0, success, System.currentTimeMillis());
+
+        String reason = fallbackFrom != null ? REASON_FALLBACK : route.getReason();
+        chatOpsMetrics.increment("chatops.llm.route", "model", model, "operation", route.getOperation(),
+                "reason", reason, "outcome", success ? "success" : "error");
+
+        Map<String, Object> decision = new LinkedHashMap<>();
+        decision.put("time", LocalDateTime.now());
+        decision.put("operation", route.getOperation());
+        decision.put("promptTokens", route.getPromptTokens());
+        decision.put("model", model);
+        decision.put("reason", reason);
+        decision.put("fallbackFrom", fallbackFrom);
+        decision.put("latencyMs", latencyNanos / 1_000_000);
+        decision.put("success", success);
+        synchronized (decisions) {
+            decisions.addFirst(decision);
+            while (decisions.size() > decisionLogSize) {
+                decisions.removeLast();
+            }
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> models = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        for (String model : modelOrder) {
+            models.put(model, statsOf(model).toMap(now));
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("defaultModel", getDefaultModel());
+        status.put("smallModel", smallModel.trim().isEmpty() ? null : smallModel.trim());
+        status.put("smallPromptTokens", smallPromptTokens);
+        status.put("operations", modelByOperation);
+        status.put("contextLimits", tokenLimits);
+        status.put("attemptTimeoutMs", attemptTimeoutMs);
+        status.put("models", models);
+        synchronized (decisions) {
+            status.put("recentDecisions", new ArrayList<>(decisions));
+        }
+        return status;
+    }
+
+    private ModelStats statsOf(String model) {
+        return stats.computeIfAbsent(model, m -> new ModelStats());
+    }
+
+    private static Map<String, String> parsePairs(String pairs) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String pair : pairs.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parsed.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    /**
+     * Candidate models for one call, in the order they should be tried.
+     */
+    public static final class Route {
+        private final String operation;
+        private final long promptTokens;
+        private final List<String> candidates;
+        private final String reason;
+        private final long attemptTimeoutMs;
+
+        Route(String operation, long promptTokens, List<String> candidates, String reason, long attemptTimeoutMs) {
+            this.operation = operation;
+            this.promptTokens = promptTokens;
+            this.candidates = Collections.unmodifiableList(candidates);
+            this.reason = reason;
+            this.attemptTimeoutMs = attemptTimeoutMs;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public long getPromptTokens() {
+            return promptTokens;
+        }
+
+        public List<String> getCandidates() {
+            return candidates;
+        }
+
+        public String getPrimary() {
+            return candidates.get(0);
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public long getAttemptTimeoutMs() {
+            return attemptTimeoutMs;
+        }
+    }
+
+    /**
+     * Moving averages of one model's latency and error rate.
+     */
+    private final class ModelStats {
+        private double latencyMs = -1;
+        private double errorRate = 0;
+        private long calls;
+        private long failures;
+        private long lastProbe;
+
+        synchronized void record(double latency, boolean success, long now) {
+            calls++;
+            if (!success) {
+                failures++;
+            }
+            // Failures are often fast timeouts or refusals; only successes say how slow the model is
+            if (success) {
+                latencyMs = latencyMs < 0 ? latency : latencyMs + EWMA_ALPHA * (latency - latencyMs);
+            }
+            errorRate += EWMA_ALPHA * ((success ? 0 : 1) - errorRate);
+            lastProbe = now;
+        }
+
+        synchronized boolean isAvailable(long now) {
+            boolean failing = errorRate > maxErrorRate;
+            boolean slow = slowLatencyMs > 0 && latencyMs > slowLatencyMs;
+            if (!failing && !slow) {
+                return true;
+            }
+            // Let one call through now and then so a recovered model is noticed
+            if (now - lastProbe >= probeIntervalMs) {
+                lastProbe = now;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized Map<String, Object> toMap(long now) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("calls", calls);
+            map.put("failures", failures);
+            map.put("latencyMsEwma", latencyMs < 0 ? null : Math.round(latencyMs));
+            map.put("errorRateEwma", Math.round(errorRate * 1000) / 1000.0);
+            map.put("available", !(errorRate > maxErrorRate || slowLatencyMs > 0 && latencyMs > slowLatencyMs)
+                    || now - lastProbe >= probeIntervalMs);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.concurrent.BestEffortFanOut;
+import com.example.yourproject.chatAdmin.config.VirtualThreadConfig;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Loads every section of the admin stats page in one request. Sections run concurrently;
+ * one that misses the section timeout or fails is left out and listed under "incomplete".
+ */
+@Service
+public class AdminDashboardService {
+    public static final String SECTION_SUMMARY = "summary";
+    public static final String SECTION_PERSONA_COUNTS = "personaCounts";
+    public static final String SECTION_CONVERSATIONS = "conversations";
+    public static final String SECTION_TOTAL_COUNT = "totalCount";
+
+    @Autowired
+    private ChatOpsAdminService chatOpsAdminService;
+
+    @Autowired
+    @Qualifier(VirtualThreadConfig.FAN_OUT_EXECUTOR)
+    private ExecutorService fanOutExecutor;
+
+    @Value("${chatops.dashboard.section-timeout-ms:3000}")
+    private long defaultSectionTimeoutMs;
+
+    @Value("${chatops.dashboard.max-section-timeout-ms:30000}")
+    private long maxSectionTimeoutMs;
+
+    // Sections keyed by name, plus "incomplete" (section -> reason) and "timingsMs"
+    public Map<String, Object> getDashboard(String personaCode, String period, int pageSize,
+            Long sectionTimeoutMs) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid pagination parameters");
+        }
+        long timeoutMs = sectionTimeoutMs == null || sectionTimeoutMs <= 0 ? defaultSectionTimeoutMs
+                : Math.min(sectionTimeoutMs, maxSectionTimeoutMs);
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        try (BestEffortFanOut fanOut = new BestEffortFanOut(fanOutExecutor)) {
+            fanOut.fork(SECTION_SUMMARY, () -> chatOpsAdminService.getConversationStatistics(personaCode, period));
+            fanOut.fork(SECTION_PERSONA_COUNTS, () -> chatOpsAdminService.getConversationCountsByPersona(period));
+            fanOut.fork(SECTION_CONVERSATIONS, () -> chatOpsAdminService.getConversationsWithPaging(personaCode,
+                    null, null, null, 0, pageSize));
+            fanOut.fork(SECTION_TOTAL_COUNT, () -> chatOpsAdminService.getConversationCount(personaCode, null,
+                    null, null));
+            fanOut.join(Duration.ofMillis(timeoutMs));
+
+            for (String section : new String[] {SECTION_SUMMARY, SECTION_PERSONA_COUNTS, SECTION_CONVERSATIONS,
+                SECTION_TOTAL_COUNT}) {
+                dashboard.put(section, fanOut.isComplete(section) ? fanOut.getResult(section) : null);
+            }
+            dashboard.put("incomplete", fanOut.getFailures());
+            dashboard.put("timingsMs", fanOut.getElapsedMillis());
+        }
+        return dashboard;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static boolean isPartial(Map<String, Object> dashboard) {
+        return !((Map<String, String>) dashboard.get("incomplete")).isEmpty();
+    }
+}
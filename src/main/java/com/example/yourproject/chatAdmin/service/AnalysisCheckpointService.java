@@ -0,0 +1,130 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.AnalysisCheckpointMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persisted watermark + running summary per (persona, analysis type, period),
+ * so repeated analyses only send conversations added since the last run to the LLM.
+ */
+@Service
+public class AnalysisCheckpointService {
+    public static final String ALL_PERSONAS = "ALL";
+    public static final String TYPE_CONVERSATION = "conversation";
+    public static final String TYPE_PERSONA = "persona";
+
+    @Autowired
+    private AnalysisCheckpointMapper analysisCheckpointMapper;
+
+    @Value("${chatops.analysis.checkpoint.enabled:true}")
+    private boolean enabled;
+
+    // Rolling windows drop old data that a merged summary still reflects, so rebuild periodically
+    @Value("${chatops.analysis.checkpoint.rebuild-days:7}")
+    private int rebuildDays;
+
+    // Returns a checkpoint that can be extended incrementally, or null when a full analysis is required
+    public AIChatOpsAdminDto findUsableCheckpoint(String personaCode, String analysisType, String period) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            AIChatOpsAdminDto checkpoint = analysisCheckpointMapper.selectCheckpoint(
+                    toKey(personaCode), analysisType, period);
+            if (checkpoint == null || checkpoint.getAnalysisResult() == null
+                    || checkpoint.getLastProcessedDate() == null || checkpoint.getBaseDate() == null) {
+                return null;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if ("today".equals(period) && !checkpoint.getBaseDate().toLocalDate().equals(LocalDate.now())) {
+                return null;
+            }
+            if (checkpoint.getBaseDate().isBefore(now.minusDays(rebuildDays))) {
+                return null;
+            }
+            return checkpoint;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch analysis checkpoint: " + e.getMessage(), e);
+        }
+    }
+
+    // Store the summary after a full analysis; resets the base date
+    public void saveFullAnalysis(String personaCode, String analysisType, String period,
+            List<AIChatOpsAdminDto> conversations, String analysisResult) {
+        save(personaCode, analysisType, period, latest(conversations, null), conversations.size(),
+                analysisResult, LocalDateTime.now());
+    }
+
+    // Store the merged summary after an incremental analysis; keeps the original base date.
+    // The watermark moves to the last conversation read, never past rows the delta did not include
+    public void saveIncrementalAnalysis(AIChatOpsAdminDto checkpoint, String personaCode,
+            List<AIChatOpsAdminDto> delta, String analysisResult) {
+        int processedCount = (checkpoint.getTotalConversations() != null ? checkpoint.getTotalConversations() : 0)
+                + delta.size();
+        save(personaCode, checkpoint.getAnalysisType(), checkpoint.getPeriod(), latest(delta, checkpoint),
+                processedCount, analysisResult, checkpoint.getBaseDate());
+    }
+
+    public void deleteCheckpoints(String personaCode) {
+        try {
+            analysisCheckpointMapper.deleteCheckpointsByPersonaCode(toKey(personaCode));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to delete analysis checkpoints: " + e.getMessage(), e);
+        }
+    }
+
+    private void save(String personaCode, String analysisType, String period, AIChatOpsAdminDto lastProcessed,
+            int processedCount, String analysisResult, LocalDateTime baseDate) {
+        if (!enabled || lastProcessed == null || lastProcessed.getLastProcessedDate() == null) {
+            return;
+        }
+
+        AIChatOpsAdminDto checkpoint = new AIChatOpsAdminDto();
+        checkpoint.setPersonaCode(toKey(personaCode));
+        checkpoint.setAnalysisType(analysisType);
+        checkpoint.setPeriod(period);
+        checkpoint.setLastProcessedDate(lastProcessed.getLastProcessedDate());
+        checkpoint.setLastProcessedId(lastProcessed.getLastProcessedId());
+        checkpoint.setTotalConversations(processedCount);
+        checkpoint.setAnalysisResult(analysisResult);
+        checkpoint.setBaseDate(baseDate);
+
+        try {
+            analysisCheckpointMapper.upsertCheckpoint(checkpoint);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save analysis checkpoint: " + e.getMessage(), e);
+        }
+    }
+
+    // Watermark (created date, id) of the newest conversation, or the fallback's when none is newer
+    private AIChatOpsAdminDto latest(List<AIChatOpsAdminDto> conversations, AIChatOpsAdminDto fallback) {
+        LocalDateTime latestDate = fallback != null ? fallback.getLastProcessedDate() : null;
+        long latestId = fallback != null && fallback.getLastProcessedId() != null ? fallback.getLastProcessedId() : 0L;
+        for (AIChatOpsAdminDto conv : conversations) {
+            LocalDateTime createdDate = conv.getCreatedDate();
+            long id = conv.getConversationId() != null ? conv.getConversationId() : 0L;
+            if (createdDate != null && (latestDate == null || createdDate.isAfter(latestDate)
+                    || (createdDate.equals(latestDate) && id > latestId))) {
+                latestDate = createdDate;
+                latestId = id;
+            }
+        }
+        AIChatOpsAdminDto watermark = new AIChatOpsAdminDto();
+        watermark.setLastProcessedDate(latestDate);
+        watermark.setLastProcessedId(latestId);
+        return watermark;
+    }
+
+    private String toKey(String personaCode) {
+        return personaCode == null || personaCode.trim().isEmpty() ? ALL_PERSONAS : personaCode;
+    }
+}
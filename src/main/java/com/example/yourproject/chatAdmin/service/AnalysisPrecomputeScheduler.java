@@ -0,0 +1,181 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.concurrent.VirtualThreads;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Precomputes stats, persona performance and recommendation reports for every persona and
+ * standard period during the off-peak window, within a concurrency and token budget.
+ */
+@Component
+public class AnalysisPrecomputeScheduler {
+    private static final Logger log = LoggerFactory.getLogger(AnalysisPrecomputeScheduler.class);
+
+    @Autowired
+    private ChatOpsAdminService chatOpsAdminService;
+
+    @Autowired
+    private LLMAnalysisService llmAnalysisService;
+
+    @Autowired
+    private AnalysisReportService analysisReportService;
+
+    @Value("${chatops.precompute.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chatops.precompute.periods:7days,30days,90days}")
+    private String[] periods;
+
+    @Value("${chatops.precompute.concurrency:2}")
+    private int concurrency;
+
+    @Value("${chatops.precompute.token-budget:2000000}")
+    private long tokenBudget;
+
+    // Jobs not started by this hour are skipped until the next run
+    @Value("${chatops.precompute.window-end-hour:6}")
+    private int windowEndHour;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${chatops.precompute.cron:0 0 2 * * *}")
+    public void precomputeReports() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            runPrecompute();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Run every precompute job once; returns the number of reports stored
+    public int runPrecompute() {
+        LocalDateTime windowEnd = nextWindowEnd(LocalDateTime.now());
+        long tokenBaseline = llmAnalysisService.getEstimatedTokensUsed();
+        List<PrecomputeJob> jobs = buildJobs();
+
+        AtomicInteger stored = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        // One thread per job; the semaphore, not the pool size, bounds concurrent LLM calls
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("chatops-precompute-");
+        try {
+            for (PrecomputeJob job : jobs) {
+                executor.submit(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        runJob(job, tokenBaseline, windowEnd, stored, skipped);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        log.info("Precomputed {} of {} reports ({} skipped by window or token budget, ~{} tokens)",
+                stored.get(), jobs.size(), skipped.get(),
+                llmAnalysisService.getEstimatedTokensUsed() - tokenBaseline);
+        return stored.get();
+    }
+
+    private void runJob(PrecomputeJob job, long tokenBaseline, LocalDateTime windowEnd, AtomicInteger stored,
+            AtomicInteger skipped) {
+        long tokensUsed = llmAnalysisService.getEstimatedTokensUsed() - tokenBaseline;
+        if (tokensUsed >= tokenBudget || LocalDateTime.now().isAfter(windowEnd)) {
+            skipped.incrementAndGet();
+            return;
+        }
+
+        try {
+            analysisReportService.saveReport(job.analysisType, job.personaCode, job.period,
+                    job.analysis.get());
+            stored.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Precompute failed for {}/{}/{}: {}", job.analysisType, job.personaCode,
+                    job.period, e.getMessage());
+        }
+    }
+
+    private List<PrecomputeJob> buildJobs() {
+        Set<String> personaCodes = new LinkedHashSet<>();
+        for (AIChatOpsAdminDto persona : chatOpsAdminService.getAllPersonasWithPrompts()) {
+            if (persona.getPersonaCode() != null) {
+                personaCodes.add(persona.getPersonaCode());
+            }
+        }
+
+        // Shared reports first so they are kept warm even when the budget runs out
+        List<PrecomputeJob> jobs = new ArrayList<>();
+        for (String period : periods) {
+            jobs.add(new PrecomputeJob(AnalysisReportService.TYPE_RECOMMENDATION, null, period,
+                    () -> llmAnalysisService.generateUsageRecommendations(period)));
+            jobs.add(new PrecomputeJob(AnalysisReportService.TYPE_STATS, null, period,
+                    () -> llmAnalysisService.analyzeConversations(null, period)));
+        }
+        for (String period : periods) {
+            for (String personaCode : personaCodes) {
+                jobs.add(new PrecomputeJob(AnalysisReportService.TYPE_STATS, personaCode, period,
+                        () -> llmAnalysisService.analyzeConversations(personaCode, period)));
+                jobs.add(new PrecomputeJob(AnalysisReportService.TYPE_PERFORMANCE, personaCode, period,
+                        () -> llmAnalysisService.analyzePersonaPerformance(personaCode, period)));
+            }
+        }
+        return jobs;
+    }
+
+    private LocalDateTime nextWindowEnd(LocalDateTime now) {
+        LocalDateTime windowEnd = now.toLocalDate().atTime(windowEndHour, 0);
+        return windowEnd.isAfter(now) ? windowEnd : windowEnd.plusDays(1);
+    }
+
+    private static class PrecomputeJob {
+        private final String analysisType;
+        private final String personaCode;
+        private final String period;
+        private final Supplier<String> analysis;
+
+        PrecomputeJob(String analysisType, String personaCode, String period, Supplier<String> analysis) {
+            this.analysisType = analysisType;
+            this.personaCode = personaCode;
+            this.period = period;
+            this.analysis = analysis;
+        }
+    }
+}
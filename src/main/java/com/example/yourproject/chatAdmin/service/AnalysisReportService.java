@@ -0,0 +1,74 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.AnalysisReportMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Stored analysis reports. Endpoints serve the stored version unless fresh data is requested;
+ * the off-peak scheduler keeps them warm.
+ */
+@Service
+public class AnalysisReportService {
+    public static final String TYPE_STATS = "stats";
+    public static final String TYPE_PERFORMANCE = "performance";
+    public static final String TYPE_RECOMMENDATION = "recommendation";
+
+    @Autowired
+    private AnalysisReportMapper analysisReportMapper;
+
+    @Value("${chatops.precompute.max-age-hours:24}")
+    private int maxAgeHours;
+
+    // Returns the stored report if recent enough, otherwise computes, stores and returns a new one
+    public AIChatOpsAdminDto getOrCompute(String analysisType, String personaCode, String period,
+            boolean fresh, Supplier<String> analysis) {
+        if (!fresh) {
+            AIChatOpsAdminDto report = getStoredReport(analysisType, personaCode, period);
+            if (report != null) {
+                return report;
+            }
+        }
+        return saveReport(analysisType, personaCode, period, analysis.get());
+    }
+
+    public AIChatOpsAdminDto getStoredReport(String analysisType, String personaCode, String period) {
+        try {
+            AIChatOpsAdminDto report = analysisReportMapper.selectReport(analysisType, toKey(personaCode), period);
+            if (report == null || report.getCreatedDate() == null
+                    || report.getCreatedDate().isBefore(LocalDateTime.now().minusHours(maxAgeHours))) {
+                return null;
+            }
+            return report;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch analysis report: " + e.getMessage(), e);
+        }
+    }
+
+    public AIChatOpsAdminDto saveReport(String analysisType, String personaCode, String period,
+            String analysisResult) {
+        AIChatOpsAdminDto report = new AIChatOpsAdminDto();
+        report.setAnalysisType(analysisType);
+        report.setPersonaCode(toKey(personaCode));
+        report.setPeriod(period);
+        report.setAnalysisResult(analysisResult);
+        report.setCreatedDate(LocalDateTime.now());
+
+        try {
+            analysisReportMapper.upsertReport(report);
+            return report;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save analysis report: " + e.getMessage(), e);
+        }
+    }
+
+    private String toKey(String personaCode) {
+        return personaCode == null || personaCode.trim().isEmpty() ? AnalysisCheckpointService.ALL_PERSONAS
+                : personaCode;
+    }
+}
@@ -1,23 +1,80 @@
 package com.example.yourproject.chatAdmin.service;
 
+import com.example.yourproject.chatAdmin.archive.ConversationArchive;
+import com.example.yourproject.chatAdmin.archive.ConversationTotals;
+import com.example.yourproject.chatAdmin.columnar.ConversationColumnStore;
+import com.example.yourproject.chatAdmin.compression.TextCompressor;
 import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.feedback.DailyFeedback;
+import com.example.yourproject.chatAdmin.feedback.FeedbackAggregator;
+import com.example.yourproject.chatAdmin.latency.LatencyHistogram;
+import com.example.yourproject.chatAdmin.latency.ResponseLatencyStore;
+import com.example.yourproject.chatAdmin.mapper.AnalysisCheckpointMapper;
+import com.example.yourproject.chatAdmin.mapper.AnalysisReportMapper;
 import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
 import com.example.yourproject.chatAdmin.mapper.PersonaPromptMapper;
+import com.example.yourproject.chatAdmin.mapper.PromptVersionMapper;
+import com.example.yourproject.chatAdmin.prompt.PromptDiff;
+import com.example.yourproject.chatAdmin.prompt.PromptTemplateRegistry;
+import com.example.yourproject.chatAdmin.sharding.ShardedConversationMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class ChatOpsAdminService {
+    private static final Logger log = LoggerFactory.getLogger(ChatOpsAdminService.class);
+
+    // Matches the LIMIT in selectConversationsForAnalysis
+    private static final int ANALYSIS_ROW_LIMIT = 1000;
+
     @Autowired
     private PersonaPromptMapper personaPromptMapper;
 
+    @Autowired
+    private PromptVersionMapper promptVersionMapper;
+
     @Autowired
     private ConversationMapper conversationMapper;
 
+    @Autowired
+    private AnalysisCheckpointMapper analysisCheckpointMapper;
+
+    @Autowired
+    private AnalysisReportMapper analysisReportMapper;
+
+    @Autowired
+    private PromptTemplateRegistry promptTemplateRegistry;
+
+    @Autowired
+    private ConversationArchive conversationArchive;
+
+    @Autowired
+    private ConversationColumnStore conversationColumnStore;
+
+    @Autowired
+    private FeedbackAggregator feedbackAggregator;
+
+    @Autowired
+    private ResponseLatencyStore responseLatencyStore;
+
     // Persona management
     public List<AIChatOpsAdminDto> getAllPersonasWithPrompts() {
         try {
@@ -43,6 +100,7 @@ public class ChatOpsAdminService {
         }
     }
 
+    // Creates a persona without reading anything first: the metadata primary key rejects a taken code
     @Transactional
     public AIChatOpsAdminDto createPersona(AIChatOpsAdminDto personaDto) {
         if (personaDto == null) {
@@ -54,12 +112,6 @@ public class ChatOpsAdminService {
         }
 
         try {
-            // Check duplicate
-            int existingCount = personaPromptMapper.countByPersonaCode(personaDto.getPersonaCode());
-            if (existingCount > 0) {
-                throw new RuntimeException("Persona code already exists: " + personaDto.getPersonaCode());
-            }
-
             // Set defaults
             if (personaDto.getPromptType() == null) {
                 personaDto.setPromptType("system");
@@ -69,19 +121,29 @@ public class ChatOpsAdminService {
                 personaDto.setPersonaPrompt("You are an AI assistant.");
             }
 
-            personaDto.setCreatedDate(LocalDateTime.now());
+            personaDto.setCreatedDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            applyMetadataDefaults(personaDto);
 
-            int result = personaPromptMapper.insertPersona(personaDto);
-            if (result <= 0) {
+            personaPromptMapper.insertPersonaMetadata(personaDto);
+            if (personaPromptMapper.insertPersona(personaDto) <= 0) {
                 throw new RuntimeException("Failed to create persona");
             }
-
-            return personaPromptMapper.selectPersonaByCode(personaDto.getPersonaCode());
+            promptVersionMapper.insertPromptVersion(personaDto.getPersonaCode(), personaDto.getPromptType(), 1,
+                    personaDto.getPersonaPrompt());
+
+            // The written row is the request plus what the inserts set; no re-select
+            personaDto.setPromptVersion(1);
+            personaDto.setRowVersion(1);
+            return personaDto;
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateKeyException("Persona code already exists: " + personaDto.getPersonaCode(), e);
         } catch (Exception e) {
             throw new RuntimeException("Failed to create persona: " + e.getMessage(), e);
         }
     }
 
+    // Null fields are kept. With rowVersion set the update only applies to that version; the persona
+    // is returned as stored, with the new row and prompt versions
     @Transactional
     public AIChatOpsAdminDto updatePersona(AIChatOpsAdminDto personaDto) {
         if (personaDto == null || personaDto.getPersonaCode() == null) {
@@ -89,48 +151,70 @@ public class ChatOpsAdminService {
         }
 
         try {
-            // Check existence
-            AIChatOpsAdminDto existing = personaPromptMapper.selectPersonaByCode(personaDto.getPersonaCode());
-            if (existing == null) {
-                throw new RuntimeException("Persona not found: " + personaDto.getPersonaCode());
-            }
-
-            int result = personaPromptMapper.updatePersona(personaDto);
-            if (result <= 0) {
-                throw new RuntimeException("Failed to update persona");
+            String personaCode = personaDto.getPersonaCode();
+            updatePersonaRow(personaDto);
+            // A changed prompt becomes a new version of the given (or the persona's main) prompt type;
+            // the page always sends the prompt, so an unchanged one adds nothing
+            if (personaDto.getPersonaPrompt() != null) {
+                AIChatOpsAdminDto current = personaDto.getPromptType() == null
+                        ? personaPromptMapper.selectPersonaByCode(personaCode)
+                        : personaPromptMapper.selectPersonaPromptByTypeAndCode(personaCode, personaDto.getPromptType());
+                if ((current == null || !personaDto.getPersonaPrompt().equals(current.getPersonaPrompt()))
+                        && savePromptVersion(personaCode, personaDto.getPromptType(),
+                                personaDto.getPersonaPrompt()) == null) {
+                    throw new RuntimeException("Failed to update persona");
+                }
             }
-
-            return personaPromptMapper.selectPersonaByCode(personaDto.getPersonaCode());
+            promptTemplateRegistry.invalidate(personaCode);
+            return personaPromptMapper.selectPersonaByCode(personaCode);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to update persona: " + e.getMessage(), e);
         }
     }
 
+    // With rowVersion set, only deletes a persona nobody has written since that version
     @Transactional
-    public boolean deletePersona(String personaCode) {
+    public boolean deletePersona(String personaCode, Integer rowVersion) {
         if (personaCode == null || personaCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Persona code cannot be null or empty");
         }
 
         try {
-            // Check existence
-            AIChatOpsAdminDto existing = personaPromptMapper.selectPersonaByCode(personaCode);
-            if (existing == null) {
+            int deletedMetadata = personaPromptMapper.deletePersonaMetadata(personaCode, rowVersion);
+            if (deletedMetadata == 0) {
+                checkRowVersion(personaCode, rowVersion);
+            }
+            int deletedPrompts = personaPromptMapper.deletePersona(personaCode);
+            if (deletedMetadata == 0 && deletedPrompts == 0) {
                 throw new RuntimeException("Persona not found: " + personaCode);
             }
 
-            // Delete related conversations first
-            conversationMapper.deleteConversationsByPersonaCode(personaCode);
-
-            // Delete persona
-            int result = personaPromptMapper.deletePersona(personaCode);
-            return result > 0;
+            // Delete related conversations; what the transaction cannot roll back waits for its commit
+            boolean sharded = conversationMapper instanceof ShardedConversationMapper;
+            if (!sharded) {
+                conversationMapper.deleteConversationsByPersonaCode(personaCode);
+            }
+            analysisCheckpointMapper.deleteCheckpointsByPersonaCode(personaCode);
+            analysisReportMapper.deleteReportsByPersonaCode(personaCode);
+            promptVersionMapper.deleteVersionsByPersonaCode(personaCode);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    purgeOutsideTransaction(personaCode, sharded);
+                }
+            });
+            return true;
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete persona: " + e.getMessage(), e);
         }
     }
 
     // Conversation management
+    @Transactional(readOnly = true)
     public List<AIChatOpsAdminDto> getConversationsWithPaging(
             String personaCode, String creator, LocalDateTime startDate, LocalDateTime endDate,
             int page, int size) {
@@ -141,17 +225,52 @@ public class ChatOpsAdminService {
 
         try {
             int offset = page * size;
-            return conversationMapper.selectConversationsWithPaging(
+            List<AIChatOpsAdminDto> conversations = conversationMapper.selectConversationsWithPaging(
                     personaCode, creator, startDate, endDate, offset, size);
+            if (conversations.size() == size || !conversationArchive.covers(startDate)) {
+                return conversations;
+            }
+
+            // Archived rows are older than every hot row, so they continue the hot listing
+            int hotCount = conversations.isEmpty()
+                    ? conversationMapper.countConversations(personaCode, creator, startDate, endDate)
+                    : offset + conversations.size();
+            // Archived rows carry full bodies; give them the same lengths and previews as hot rows
+            List<AIChatOpsAdminDto> merged = new ArrayList<>(conversations);
+            for (AIChatOpsAdminDto archived : conversationArchive.getConversations(personaCode, creator, startDate,
+                    endDate, Math.max(0, offset - hotCount), size - conversations.size())) {
+                TextCompressor.summarize(archived);
+                merged.add(archived);
+            }
+            return merged;
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch conversations with paging: " + e.getMessage(), e);
         }
     }
 
+    // Full query and response of one listed conversation; the listing itself only carries previews
+    @Transactional(readOnly = true)
+    public AIChatOpsAdminDto getConversationBody(long conversationId) {
+        try {
+            AIChatOpsAdminDto conversation = conversationMapper.selectConversationBody(conversationId);
+            if (conversation == null) {
+                throw new RuntimeException("Conversation not found with id: " + conversationId);
+            }
+            return conversation;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch conversation: " + e.getMessage(), e);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public int getConversationCount(String personaCode, String creator,
             LocalDateTime startDate, LocalDateTime endDate) {
         try {
-            return conversationMapper.countConversations(personaCode, creator, startDate, endDate);
+            int count = conversationMapper.countConversations(personaCode, creator, startDate, endDate);
+            if (conversationArchive.covers(startDate)) {
+                count += conversationArchive.count(personaCode, creator, startDate, endDate);
+            }
+            return count;
         } catch (Exception e) {
             throw new RuntimeException("Failed to count conversations: " + e.getMessage(), e);
         }
@@ -164,7 +283,13 @@ public class ChatOpsAdminService {
         }
 
         try {
+            analysisCheckpointMapper.deleteCheckpointsByPersonaCode(personaCode);
+            // Precomputed reports were built from the purged conversations
+            analysisReportMapper.deleteReportsByPersonaCode(personaCode);
+            // Last, since shard sessions and segment files do not roll back with the transaction
             int result = conversationMapper.deleteConversationsByPersonaCode(personaCode);
+            result += conversationArchive.deleteSegments(personaCode);
+            conversationColumnStore.removePersona(personaCode);
             return result > 0;
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete conversations: " + e.getMessage(), e);
@@ -172,31 +297,231 @@ public class ChatOpsAdminService {
     }
 
     // Statistics methods
+    @Transactional(readOnly = true)
     public AIChatOpsAdminDto getConversationStatistics(String personaCode, String period) {
         try {
-            return conversationMapper.selectConversationStatistics(personaCode, period);
+            LocalDateTime from = ConversationPeriod.startOf(period, LocalDateTime.now());
+            AIChatOpsAdminDto statistics = loadConversationStatistics(personaCode, period, from);
+            // successRate only says a response was stored; satisfaction comes from user ratings
+            feedbackAggregator.applyTo(statistics, personaCode, from);
+            responseLatencyStore.applyTo(statistics, personaCode, from);
+            return statistics;
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch conversation statistics: " + e.getMessage(), e);
         }
     }
 
+    private AIChatOpsAdminDto loadConversationStatistics(String personaCode, String period, LocalDateTime from) {
+        if (conversationColumnStore.isReady()) {
+            return conversationColumnStore.getStatistics(personaCode, from);
+        }
+        if (!conversationArchive.covers(from)) {
+            return conversationMapper.selectConversationStatistics(personaCode, period);
+        }
+
+        ConversationTotals totals = conversationMapper.selectConversationTotals(personaCode, period);
+        totals.addCreators(conversationMapper.selectDistinctCreators(personaCode, period));
+        totals.merge(conversationArchive.getTotals(personaCode, from));
+        totals.setPersonaCode(null);
+        return totals.toStatistics();
+    }
+
+    @Transactional(readOnly = true)
     public List<AIChatOpsAdminDto> getConversationCountsByPersona(String period) {
         try {
-            return conversationMapper.selectConversationCountsByPersona(period);
+            LocalDateTime from = ConversationPeriod.startOf(period, LocalDateTime.now());
+            List<AIChatOpsAdminDto> counts = loadConversationCountsByPersona(period, from);
+            Map<String, DailyFeedback> feedback = feedbackAggregator.getTotalsByPersona(
+                    from == null ? null : from.toLocalDate());
+            Map<String, LatencyHistogram> latency = responseLatencyStore.getHistogramsByPersona(from);
+            for (AIChatOpsAdminDto count : counts) {
+                DailyFeedback persona = feedback.get(count.getPersonaCode());
+                if (persona != null) {
+                    count.setFeedbackCount((int) persona.getFeedbackCount());
+                    count.setSatisfactionRate(persona.getSatisfactionRate());
+                    count.setAverageRating(persona.getAverageRating());
+                }
+                LatencyHistogram histogram = latency.get(count.getPersonaCode());
+                if (histogram != null) {
+                    ResponseLatencyStore.applyTo(count, histogram);
+                }
+            }
+            return counts;
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch conversation counts by persona: " + e.getMessage(), e);
         }
     }
 
+    // Response time percentiles per persona over a period (one persona when personaCode is set), slowest p95 first
+    @Transactional(readOnly = true)
+    public List<AIChatOpsAdminDto> getResponseLatency(String personaCode, String period) {
+        try {
+            LocalDateTime from = ConversationPeriod.startOf(period, LocalDateTime.now());
+            List<AIChatOpsAdminDto> latency = new ArrayList<>();
+            for (Map.Entry<String, LatencyHistogram> persona : responseLatencyStore.getHistogramsByPersona(from)
+                    .entrySet()) {
+                if (personaCode != null && !personaCode.isEmpty() && !personaCode.equals(persona.getKey())) {
+                    continue;
+                }
+                AIChatOpsAdminDto row = new AIChatOpsAdminDto();
+                row.setPersonaCode(persona.getKey());
+                row.setPeriod(period);
+                ResponseLatencyStore.applyTo(row, persona.getValue());
+                latency.add(row);
+            }
+            latency.sort((a, b) -> Long.compare(b.getResponseTimeP95() == null ? 0 : b.getResponseTimeP95(),
+                    a.getResponseTimeP95() == null ? 0 : a.getResponseTimeP95()));
+            return latency;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch response latency: " + e.getMessage(), e);
+        }
+    }
+
+    private List<AIChatOpsAdminDto> loadConversationCountsByPersona(String period, LocalDateTime from) {
+        if (conversationColumnStore.isReady()) {
+            return conversationColumnStore.getCountsByPersona(from);
+        }
+        if (!conversationArchive.covers(from)) {
+            return conversationMapper.selectConversationCountsByPersona(period);
+        }
+
+        Map<String, ConversationTotals> totals = new LinkedHashMap<>();
+        for (ConversationTotals hot : conversationMapper.selectConversationTotalsByPersona(period)) {
+            totals.put(hot.getPersonaCode(), hot);
+        }
+        for (AIChatOpsAdminDto pair : conversationMapper.selectDistinctCreatorsByPersona(period)) {
+            totals.computeIfAbsent(pair.getPersonaCode(), ConversationTotals::new).getCreators()
+                    .add(pair.getCreator());
+        }
+        for (Map.Entry<String, ConversationTotals> archived : conversationArchive.getTotalsByPersona(from)
+                .entrySet()) {
+            totals.computeIfAbsent(archived.getKey(), ConversationTotals::new).merge(archived.getValue());
+        }
+
+        List<AIChatOpsAdminDto> counts = new ArrayList<>(totals.size());
+        for (ConversationTotals persona : totals.values()) {
+            AIChatOpsAdminDto count = new AIChatOpsAdminDto();
+            count.setPersonaCode(persona.getPersonaCode());
+            count.setTotalConversations((int) persona.getTotal());
+            count.setUniqueUsers(persona.getCreators().size());
+            counts.add(count);
+        }
+        counts.sort((a, b) -> Integer.compare(b.getTotalConversations(), a.getTotalConversations()));
+        return counts;
+    }
+
+    // Conversations and unique users per day or hour; served by the columnar store once it is loaded
+    // and by a GROUP BY on the table (plus the archive) while it is disabled or loading
+    @Transactional(readOnly = true)
+    public List<AIChatOpsAdminDto> getConversationTrend(String personaCode, String period, String bucket) {
+        ChronoUnit unit;
+        if ("day".equals(bucket)) {
+            unit = ChronoUnit.DAYS;
+        } else if ("hour".equals(bucket)) {
+            unit = ChronoUnit.HOURS;
+        } else {
+            throw new IllegalArgumentException("Unsupported trend bucket: " + bucket);
+        }
+        LocalDateTime from = ConversationPeriod.startOf(period, LocalDateTime.now());
+        if (conversationColumnStore.isReady()) {
+            return conversationColumnStore.getTrend(personaCode, from, unit);
+        }
+        return loadConversationTrend(personaCode, from, unit);
+    }
+
+    // Archive windows are whole days, so no day or hour holds both archived and hot rows
+    private List<AIChatOpsAdminDto> loadConversationTrend(String personaCode, LocalDateTime from, ChronoUnit unit) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(unit);
+        if (from != null) {
+            checkTrendRange(from.truncatedTo(unit), now, unit);
+        }
+        String persona = personaCode == null || personaCode.isEmpty() ? null : personaCode;
+        TreeMap<LocalDateTime, AIChatOpsAdminDto> byBucket = new TreeMap<>();
+        for (AIChatOpsAdminDto row : conversationMapper.selectConversationTrend(persona, from,
+                unit == ChronoUnit.HOURS)) {
+            byBucket.put(row.getCreatedDate(), row);
+        }
+        if (conversationArchive.covers(from)) {
+            Map<LocalDateTime, Set<String>> creators = new HashMap<>();
+            conversationArchive.forEachConversation(persona, from, row -> {
+                LocalDateTime bucket = row.getCreatedDate().truncatedTo(unit);
+                AIChatOpsAdminDto point = byBucket.computeIfAbsent(bucket, b -> trendPoint(persona, b, 0, 0));
+                point.setTotalConversations(point.getTotalConversations() + 1);
+                if (row.getCreator() != null && creators.computeIfAbsent(bucket, b -> new HashSet<>())
+                        .add(row.getCreator())) {
+                    point.setUniqueUsers(point.getUniqueUsers() + 1);
+                }
+            });
+        }
+
+        List<AIChatOpsAdminDto> trend = new ArrayList<>();
+        if (from == null && byBucket.isEmpty()) {
+            return trend;
+        }
+        LocalDateTime start = from != null ? from.truncatedTo(unit) : byBucket.firstKey();
+        if (from == null) {
+            checkTrendRange(start, now, unit);
+        }
+        for (LocalDateTime bucket = start; !bucket.isAfter(now); bucket = bucket.plus(1, unit)) {
+            AIChatOpsAdminDto row = byBucket.get(bucket);
+            trend.add(trendPoint(personaCode, bucket, row == null ? 0 : row.getTotalConversations(),
+                    row == null ? 0 : row.getUniqueUsers()));
+        }
+        return trend;
+    }
+
+    private static void checkTrendRange(LocalDateTime start, LocalDateTime end, ChronoUnit unit) {
+        long bucketCount = unit.between(start, end) + 1;
+        if (bucketCount > ConversationColumnStore.MAX_TREND_BUCKETS) {
+            throw new IllegalArgumentException("Trend range too large: " + bucketCount + " buckets");
+        }
+    }
+
+    private static AIChatOpsAdminDto trendPoint(String personaCode, LocalDateTime bucket, int total, int uniqueUsers) {
+        AIChatOpsAdminDto point = new AIChatOpsAdminDto();
+        point.setPersonaCode(personaCode);
+        point.setCreatedDate(bucket);
+        point.setTotalConversations(total);
+        point.setUniqueUsers(uniqueUsers);
+        return point;
+    }
+
     // Analysis data preparation
+    @Transactional(readOnly = true)
     public List<AIChatOpsAdminDto> getConversationsForAnalysis(String personaCode, String period) {
         try {
-            return conversationMapper.selectConversationsForAnalysis(personaCode, period);
+            List<AIChatOpsAdminDto> conversations = conversationMapper.selectConversationsForAnalysis(personaCode,
+                    period);
+            LocalDateTime from = ConversationPeriod.startOf(period, LocalDateTime.now());
+            if (conversations.size() >= ANALYSIS_ROW_LIMIT || !conversationArchive.covers(from)) {
+                return conversations;
+            }
+
+            List<AIChatOpsAdminDto> merged = new ArrayList<>(conversations);
+            merged.addAll(conversationArchive.getConversations(personaCode, null, from, null, 0,
+                    ANALYSIS_ROW_LIMIT - conversations.size()));
+            return merged;
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch conversations for analysis: " + e.getMessage(), e);
         }
     }
 
+    // Oldest first and capped at 1000; the rest follow once the watermark moves past the last row returned
+    @Transactional(readOnly = true)
+    public List<AIChatOpsAdminDto> getConversationsSince(String personaCode, String period, LocalDateTime since,
+            Long sinceId) {
+        if (since == null) {
+            throw new IllegalArgumentException("Watermark date is required");
+        }
+
+        try {
+            return conversationMapper.selectConversationsSince(personaCode, period, since,
+                    sinceId != null ? sinceId : 0L);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch conversations since watermark: " + e.getMessage(), e);
+        }
+    }
+
     // Prompt management
     public AIChatOpsAdminDto getPersonaPrompt(String personaCode, String promptType) {
         if (personaCode == null || promptType == null) {
@@ -217,10 +542,161 @@ public class ChatOpsAdminService {
         }
 
         try {
-            int result = personaPromptMapper.updatePersonaPrompt(personaCode, promptType, personaPrompt);
-            return result > 0;
+            updatePersonaRow(personaReference(personaCode));
+            boolean saved = savePromptVersion(personaCode, promptType, personaPrompt) != null;
+            promptTemplateRegistry.invalidate(personaCode);
+            return saved;
         } catch (Exception e) {
             throw new RuntimeException("Failed to update persona prompt: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    // Prompt reads stay on the primary like the persona reads: replica lag is only tracked for the
+    // conversation table, and a version just saved must show up in its history
+    public List<AIChatOpsAdminDto> getPromptVersions(String personaCode, String promptType) {
+        if (personaCode == null || promptType == null) {
+            throw new IllegalArgumentException("Persona code and prompt type are required");
+        }
+
+        try {
+            return promptVersionMapper.selectPromptVersions(personaCode, promptType);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch prompt versions: " + e.getMessage(), e);
+        }
+    }
+
+    // On the primary, as getPromptVersions
+    public List<String> getPromptDiff(String personaCode, String promptType, int fromVersion, int toVersion) {
+        if (personaCode == null || promptType == null) {
+            throw new IllegalArgumentException("Persona code and prompt type are required");
+        }
+
+        try {
+            AIChatOpsAdminDto from = promptVersionMapper.selectPromptVersion(personaCode, promptType, fromVersion);
+            AIChatOpsAdminDto to = promptVersionMapper.selectPromptVersion(personaCode, promptType, toVersion);
+            if (from == null || to == null) {
+                throw new RuntimeException("Prompt version not found: " + (from == null ? fromVersion : toVersion));
+            }
+            return PromptDiff.diff(from.getPersonaPrompt(), to.getPersonaPrompt());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to diff prompt versions: " + e.getMessage(), e);
+        }
+    }
+
+    // Point the current prompt back at an earlier version; no new version is written
+    @Transactional
+    public AIChatOpsAdminDto rollbackPrompt(String personaCode, String promptType, int version) {
+        if (personaCode == null || promptType == null) {
+            throw new IllegalArgumentException("Persona code and prompt type are required");
+        }
+
+        try {
+            updatePersonaRow(personaReference(personaCode));
+            AIChatOpsAdminDto current = personaPromptMapper.selectPersonaPromptForUpdate(personaCode, promptType);
+            if (current == null) {
+                throw new RuntimeException("Persona prompt not found: " + personaCode + "/" + promptType);
+            }
+            AIChatOpsAdminDto target = promptVersionMapper.selectPromptVersion(personaCode, promptType, version);
+            if (target == null) {
+                throw new RuntimeException("Prompt version not found: " + version);
+            }
+
+            personaPromptMapper.updatePersonaPrompt(personaCode, promptType, target.getPersonaPrompt(), version);
+            promptTemplateRegistry.invalidate(personaCode);
+            return personaPromptMapper.selectPersonaPromptByTypeAndCode(personaCode, promptType);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to roll back persona prompt: " + e.getMessage(), e);
+        }
+    }
+
+    // Appends a version and makes it current, returning its number (null when the persona is missing).
+    // Callers update the persona row first; its lock numbers each persona's versions one writer at a time
+    private Integer savePromptVersion(String personaCode, String promptType, String personaPrompt) {
+        AIChatOpsAdminDto version = new AIChatOpsAdminDto();
+        version.setPersonaCode(personaCode);
+        version.setPromptType(promptType);
+        version.setPersonaPrompt(personaPrompt);
+        if (promptVersionMapper.insertNextPromptVersion(version) <= 0
+                || personaPromptMapper.upsertPersonaPrompt(personaCode, promptType) <= 0) {
+            return null;
+        }
+        return version.getPromptVersion();
+    }
+
+    // Shard sessions, segment files and the column store after a persona delete committed; each step
+    // runs even if another fails, and a failure only leaves rows of a persona that no longer exists
+    private void purgeOutsideTransaction(String personaCode, boolean sharded) {
+        if (sharded) {
+            try {
+                conversationMapper.deleteConversationsByPersonaCode(personaCode);
+            } catch (Exception e) {
+                log.error("Failed to delete sharded conversations of deleted persona {}: {}", personaCode,
+                        e.getMessage());
+            }
+        }
+        try {
+            conversationArchive.deleteSegments(personaCode);
+        } catch (Exception e) {
+            log.error("Failed to delete archive segments of deleted persona {}: {}", personaCode, e.getMessage());
+        }
+        conversationColumnStore.removePersona(personaCode);
+    }
+
+    // Bumps the persona's row version, applying any metadata the request carries. Lookups only run
+    // when the update matched nothing: a stale rowVersion, a missing persona, or a persona created
+    // before the metadata table, which gets its row here
+    private void updatePersonaRow(AIChatOpsAdminDto persona) {
+        Integer expected = persona.getRowVersion();
+        if (personaPromptMapper.updatePersonaMetadata(persona) > 0) {
+            // Unconditional writes don't learn the new version
+            persona.setRowVersion(expected == null ? null : expected + 1);
+            return;
+        }
+
+        checkRowVersion(persona.getPersonaCode(), expected);
+        if (personaPromptMapper.countByPersonaCode(persona.getPersonaCode()) == 0) {
+            throw new RuntimeException("Persona not found: " + persona.getPersonaCode());
+        }
+        if (persona.getPromptType() == null) {
+            persona.setPromptType("system");
+        }
+        applyMetadataDefaults(persona);
+        personaPromptMapper.insertPersonaMetadata(persona);
+        persona.setRowVersion(1);
+    }
+
+    // After a conditional write matched nothing: a metadata row that exists is at another version
+    private void checkRowVersion(String personaCode, Integer expected) {
+        Integer current = personaPromptMapper.selectPersonaRowVersion(personaCode);
+        if (current != null) {
+            throw new OptimisticLockingFailureException("Persona " + personaCode + " was changed by another "
+                    + "editor (version " + current + ", expected " + expected + "); reload it and try again");
+        }
+    }
+
+    private static AIChatOpsAdminDto personaReference(String personaCode) {
+        AIChatOpsAdminDto persona = new AIChatOpsAdminDto();
+        persona.setPersonaCode(personaCode);
+        return persona;
+    }
+
+    private static void applyMetadataDefaults(AIChatOpsAdminDto persona) {
+        String code = persona.getPersonaCode();
+        if (persona.getTitle() == null) {
+            persona.setTitle(code);
+        }
+        if (persona.getDescription() == null) {
+            persona.setDescription("AI Assistant");
+        }
+        if (persona.getDescriptionEn() == null) {
+            persona.setDescriptionEn("AI Assistant");
+        }
+        if (persona.getCategory() == null) {
+            persona.setCategory(code.contains("personal") ? "personal"
+                    : !code.contains("general") && code.contains("operation") ? "operation" : "general");
+        }
+        if (persona.getWelcomeMsg() == null) {
+            persona.setWelcomeMsg("Hello, I am " + code + ".");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distinct users, distinct personas and per-persona counts computed in one pass over the rows.
+ */
+final class ConversationAggregate {
+    private final int total;
+    private final int uniqueUsers;
+    private final Map<String, int[]> personaCounts;
+
+    private ConversationAggregate(int total, int uniqueUsers, Map<String, int[]> personaCounts) {
+        this.total = total;
+        this.uniqueUsers = uniqueUsers;
+        this.personaCounts = personaCounts;
+    }
+
+    static ConversationAggregate of(List<AIChatOpsAdminDto> conversations) {
+        Set<String> users = new HashSet<>();
+        Map<String, int[]> personaCounts = new HashMap<>();
+        for (AIChatOpsAdminDto conv : conversations) {
+            users.add(conv.getCreator());
+            int[] count = personaCounts.get(conv.getPersonaCode());
+            if (count == null) {
+                count = new int[1];
+                personaCounts.put(conv.getPersonaCode(), count);
+            }
+            count[0]++;
+        }
+        return new ConversationAggregate(conversations.size(), users.size(), personaCounts);
+    }
+
+    int getTotal() {
+        return total;
+    }
+
+    int getUniqueUsers() {
+        return uniqueUsers;
+    }
+
+    int getUniquePersonas() {
+        return personaCounts.size();
+    }
+
+    // Persona codes with their counts, most used first
+    List<Map.Entry<String, Integer>> getPersonaCountsDescending() {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(personaCounts.size());
+        for (Map.Entry<String, int[]> entry : personaCounts.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()[0]));
+        }
+        entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        return entries;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.compression.TextCompressor;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.latency.ResponseLatencyStore;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind logging of chat turns into swp_ai_chatops_storage. Callers hand rows to a bounded
+ * ring buffer and return; one background writer drains it with multi-row inserts, flushing when
+ * batch-size rows are waiting or flush-interval-ms has passed since the first of them.
+ *
+ * When the buffer is full, log() blocks for up to offer-timeout-ms and then rejects the row, so a
+ * stalled database slows producers down instead of growing the heap. Failed batches are retried
+ * with backoff, up to max-retries times before they are dropped. A batch the database rejects for
+ * its data (too long, constraint violation) is not retried but split until the offending rows are
+ * found; only those are dropped. On shutdown the writer flushes everything still buffered before
+ * the bean is gone. Dropped rows are counted in chatops.conversation-log.dropped by reason.
+ */
+@Component
+public class ConversationLogWriter implements InitializingBean, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ConversationLogWriter.class);
+    private static final long MAX_RETRY_DELAY_MS = 5000;
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Autowired
+    private ResponseLatencyStore responseLatencyStore;
+
+    @Value("${chatops.conversation-log.capacity:10000}")
+    private int capacity;
+
+    @Value("${chatops.conversation-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chatops.conversation-log.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${chatops.conversation-log.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    // About a minute and a half of backoff before a batch is given up
+    @Value("${chatops.conversation-log.max-retries:20}")
+    private int maxRetries;
+
+    @Value("${chatops.conversation-log.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<AIChatOpsAdminDto> buffer;
+    private Thread writer;
+    private volatile boolean stopping = false;
+
+    @Override
+    public void afterPropertiesSet() {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        chatOpsMetrics.getRegistry().gauge("chatops.conversation-log.buffered", Tags.of(), buffer,
+                BlockingQueue::size);
+        writer = new Thread(this::run, "conversation-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Queue a chat turn (with responseTimeMs, the end-to-end LLM time, when known) for insertion;
+    // false if the buffer stayed full for offer-timeout-ms
+    public boolean log(AIChatOpsAdminDto conversation) {
+        if (conversation == null || conversation.getPersonaCode() == null) {
+            throw new IllegalArgumentException("Conversation and persona code are required");
+        }
+        if (stopping) {
+            chatOpsMetrics.increment("chatops.conversation-log.rejected", "reason", "shutdown");
+            return false;
+        }
+        if (conversation.getCreatedDate() == null) {
+            conversation.setCreatedDate(LocalDateTime.now());
+        }
+
+        try {
+            if (buffer.offer(conversation)) {
+                return true;
+            }
+            // Backpressure: wait for the writer to make room
+            long start = System.nanoTime();
+            boolean accepted = buffer.offer(conversation, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            chatOpsMetrics.recordTime("chatops.conversation-log.blocked", System.nanoTime() - start);
+            if (!accepted) {
+                chatOpsMetrics.increment("chatops.conversation-log.rejected", "reason", "full");
+            }
+            return accepted;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // No interrupt: the writer notices within one flush interval and never abandons a JDBC call
+        stopping = true;
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive() || !buffer.isEmpty()) {
+            log.warn("Conversation log writer stopped with {} rows unwritten", buffer.size());
+        }
+    }
+
+    private void run() {
+        List<AIChatOpsAdminDto> batch = new ArrayList<>(batchSize);
+        while (!stopping || !buffer.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Collect up to batchSize rows, waiting at most flushIntervalMs after the first one arrives
+    private void fill(List<AIChatOpsAdminDto> batch) throws InterruptedException {
+        if (stopping) {
+            buffer.drainTo(batch, batchSize);
+            return;
+        }
+        AIChatOpsAdminDto first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            if (buffer.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            AIChatOpsAdminDto next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // While a batch is retried the buffer fills and producers feel backpressure
+    private void write(List<AIChatOpsAdminDto> batch) {
+        // Lengths and previews here, compression in the insert, so callers of log() pay for neither
+        for (AIChatOpsAdminDto conversation : batch) {
+            TextCompressor.summarize(conversation);
+        }
+        insert(batch);
+    }
+
+    private void insert(List<AIChatOpsAdminDto> rows) {
+        long delay = 100;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            List<AIChatOpsAdminDto> attempted = new ArrayList<>(rows);
+            try {
+                // With sharding, rows a partial failure already wrote are removed from rows before the retry
+                conversationMapper.insertConversations(rows);
+                chatOpsMetrics.recordTime("chatops.conversation-log.flush", System.nanoTime() - start);
+                chatOpsMetrics.recordValue("chatops.conversation-log.batch.rows", rows.size());
+                recordLatency(attempted, Collections.emptyList());
+                return;
+            } catch (Exception e) {
+                chatOpsMetrics.increment("chatops.conversation-log.flush.errors");
+                recordLatency(attempted, rows);
+                if (isRejectedData(e)) {
+                    isolate(rows, e);
+                    return;
+                }
+                if (stopping) {
+                    drop(rows, "shutdown", e);
+                    return;
+                }
+                if (attempt > maxRetries) {
+                    drop(rows, "retries", e);
+                    return;
+                }
+                log.warn("Failed to write {} conversation rows, retrying in {} ms: {}", rows.size(), delay,
+                        e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+            }
+            delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+        }
+    }
+
+    // Halve a rejected batch until the rows at fault are on their own; the others are written
+    private void isolate(List<AIChatOpsAdminDto> rows, Exception e) {
+        if (rows.size() == 1) {
+            drop(rows, "rejected", e);
+            return;
+        }
+        int half = rows.size() / 2;
+        insert(new ArrayList<>(rows.subList(0, half)));
+        insert(new ArrayList<>(rows.subList(half, rows.size())));
+    }
+
+    // Latency samples of the attempted rows that were written, i.e. not left in unwritten, so the
+    // histograms only count stored conversations
+    private void recordLatency(List<AIChatOpsAdminDto> attempted, List<AIChatOpsAdminDto> unwritten) {
+        if (unwritten.size() == attempted.size()) {
+            return;
+        }
+        Set<AIChatOpsAdminDto> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+        pending.addAll(unwritten);
+        for (AIChatOpsAdminDto conversation : attempted) {
+            if (conversation.getResponseTimeMs() != null && !pending.contains(conversation)) {
+                responseLatencyStore.record(conversation.getPersonaCode(), conversation.getCreatedDate(),
+                        conversation.getResponseTimeMs());
+            }
+        }
+    }
+
+    private void drop(List<AIChatOpsAdminDto> rows, String reason, Exception e) {
+        chatOpsMetrics.getRegistry().counter("chatops.conversation-log.dropped", "reason", reason)
+                .increment(rows.size());
+        log.warn("Dropping {} conversation rows ({}), first persona {}: {}", rows.size(), reason,
+                rows.get(0).getPersonaCode(), e.getMessage());
+    }
+
+    // Rows the database refuses whatever the batch: only these are split out and dropped. Other
+    // errors, a schema or mapping error included, fail every row alike and go through the retries.
+    // Shard sessions throw untranslated MyBatis exceptions, so the SQL state of the cause is checked
+    // too (22 data exception, 23 integrity constraint)
+    private static boolean isRejectedData(Throwable e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                return state != null && (state.startsWith("22") || state.startsWith("23"));
+            }
+        }
+        return false;
+    }
+}
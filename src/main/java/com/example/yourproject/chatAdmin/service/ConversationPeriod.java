@@ -0,0 +1,31 @@
+package com.example.yourproject.chatAdmin.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Java equivalent of the periodCondition fragment in ConversationMapper.xml.
+ */
+public final class ConversationPeriod {
+
+    private ConversationPeriod() {
+    }
+
+    // Inclusive lower bound on CREATED_DATE; null for 'all' and unknown periods
+    public static LocalDateTime startOf(String period, LocalDateTime now) {
+        if (period == null) {
+            return null;
+        }
+        switch (period) {
+            case "today":
+                return now.toLocalDate().atStartOfDay();
+            case "7days":
+                return now.minusDays(7);
+            case "30days":
+                return now.minusDays(30);
+            case "90days":
+                return now.minusDays(90);
+            default:
+                return null;
+        }
+    }
+}
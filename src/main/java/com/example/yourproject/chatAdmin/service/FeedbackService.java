@@ -0,0 +1,105 @@
+package com.example.yourproject.chatAdmin.service;
+
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.feedback.ConversationFeedback;
+import com.example.yourproject.chatAdmin.feedback.DailyFeedback;
+import com.example.yourproject.chatAdmin.feedback.FeedbackAggregator;
+import com.example.yourproject.chatAdmin.mapper.FeedbackMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class FeedbackService {
+    private static final int MAX_COMMENT_LENGTH = 1000;
+
+    @Autowired
+    private FeedbackMapper feedbackMapper;
+
+    @Autowired
+    private FeedbackAggregator feedbackAggregator;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    // Stores the feedback and adds it to its persona's daily aggregate in one transaction
+    @Transactional
+    public ConversationFeedback submitFeedback(AIChatOpsAdminDto request) {
+        if (request == null || request.getComment() == null || request.getComment().trim().isEmpty()) {
+            throw new IllegalArgumentException("Feedback comment is required");
+        }
+        if (request.getComment().length() > MAX_COMMENT_LENGTH) {
+            throw new IllegalArgumentException("Feedback comment exceeds " + MAX_COMMENT_LENGTH + " characters");
+        }
+        Integer rating = request.getRating();
+        if (rating != null && (rating < 1 || rating > DailyFeedback.MAX_RATING)) {
+            throw new IllegalArgumentException("Rating must be between 1 and " + DailyFeedback.MAX_RATING);
+        }
+
+        try {
+            ConversationFeedback feedback = new ConversationFeedback();
+            feedback.setPersonaCode(request.getPersonaCode() == null ? "" : request.getPersonaCode());
+            feedback.setRating(rating);
+            feedback.setComment(request.getComment().trim());
+            feedback.setCreator(request.getCreator());
+            feedback.setCreatedDate(LocalDateTime.now());
+            feedbackMapper.insertFeedback(feedback);
+
+            LocalDate feedbackDate = feedback.getCreatedDate().toLocalDate();
+            feedbackMapper.upsertDailyFeedback(DailyFeedback.of(feedback.getPersonaCode(), feedbackDate, rating));
+
+            // The aggregate row is only final once committed; re-read it then
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    feedbackAggregator.reload(feedback.getPersonaCode(), feedbackDate);
+                }
+            });
+            chatOpsMetrics.increment("chatops.feedback.submit", "rated", String.valueOf(rating != null));
+            return feedback;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to submit feedback: " + e.getMessage(), e);
+        }
+    }
+
+    // Satisfaction of one persona (null or empty for all) over a period
+    public AIChatOpsAdminDto getFeedbackSummary(String personaCode, String period) {
+        AIChatOpsAdminDto summary = new AIChatOpsAdminDto();
+        summary.setPersonaCode(personaCode == null || personaCode.isEmpty() ? null : personaCode);
+        summary.setPeriod(period);
+        feedbackAggregator.applyTo(summary, personaCode, ConversationPeriod.startOf(period, LocalDateTime.now()));
+        return summary;
+    }
+
+    // Satisfaction per persona over a period, most feedback first
+    public List<AIChatOpsAdminDto> getFeedbackSummaryByPersona(String period) {
+        LocalDateTime from = ConversationPeriod.startOf(period, LocalDateTime.now());
+        Map<String, DailyFeedback> totals = feedbackAggregator.getTotalsByPersona(
+                from == null ? null : from.toLocalDate());
+
+        List<AIChatOpsAdminDto> summaries = new ArrayList<>(totals.size());
+        for (DailyFeedback persona : totals.values()) {
+            if (persona.getFeedbackCount() == 0) {
+                continue;
+            }
+            AIChatOpsAdminDto summary = new AIChatOpsAdminDto();
+            summary.setPersonaCode(persona.getPersonaCode());
+            summary.setPeriod(period);
+            summary.setFeedbackCount((int) persona.getFeedbackCount());
+            summary.setSatisfactionRate(persona.getSatisfactionRate());
+            summary.setAverageRating(persona.getAverageRating());
+            summaries.add(summary);
+        }
+        summaries.sort((a, b) -> Integer.compare(b.getFeedbackCount(), a.getFeedbackCount()));
+        return summaries;
+    }
+}
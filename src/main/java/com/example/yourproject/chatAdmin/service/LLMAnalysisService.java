@@ -1,34 +1,103 @@
 package com.example.yourproject.chatAdmin.service;
 
+import com.example.yourproject.chatAdmin.cache.LLMResponseCache;
+import com.example.yourproject.chatAdmin.concurrent.StructuredFanOut;
+import com.example.yourproject.chatAdmin.config.VirtualThreadConfig;
 import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import com.example.yourproject.chatAdmin.prompt.PromptTemplateRegistry;
+import com.example.yourproject.chatAdmin.prompt.TokenEstimator;
+import com.example.yourproject.chatAdmin.routing.ModelRouter;
+import com.example.yourproject.chatAdmin.trace.Span;
+import com.example.yourproject.chatAdmin.trace.TraceContext;
 import com.example.yourproject.llm.LLMService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class LLMAnalysisService {
+    private static final String OP_CONVERSATION_ANALYSIS = "conversation_analysis";
+    private static final String OP_PERSONA_ANALYSIS = "persona_analysis";
+    private static final String OP_RECOMMENDATION = "recommendation";
+    private static final String OP_PROMPT_TEST = "prompt_test";
+
     @Autowired
     private LLMService llmService;
 
     @Autowired
     private ChatOpsAdminService chatOpsAdminService;
 
+    @Autowired
+    private AnalysisCheckpointService analysisCheckpointService;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Autowired
+    private PromptTemplateRegistry promptTemplateRegistry;
+
+    @Autowired
+    private LLMResponseCache llmResponseCache;
+
+    @Autowired
+    private ModelRouter modelRouter;
+
+    @Autowired
+    @Qualifier(VirtualThreadConfig.FAN_OUT_EXECUTOR)
+    private ExecutorService fanOutExecutor;
+
+    // Upper bound for the parallel DB/template lookups that precede an LLM call
+    @Value("${chatops.fan-out.timeout-seconds:60}")
+    private long fanOutTimeoutSeconds;
+
+    // Running estimate of prompt + response tokens, used by the precompute scheduler's budget
+    private final AtomicLong estimatedTokensUsed = new AtomicLong();
+
     // Analyze conversations using LLM
     public String analyzeConversations(String personaCode, String period) {
         try {
-            List<AIChatOpsAdminDto> conversations = chatOpsAdminService.getConversationsForAnalysis(personaCode,
-                    period);
+            AIChatOpsAdminDto checkpoint = analysisCheckpointService.findUsableCheckpoint(personaCode,
+                    AnalysisCheckpointService.TYPE_CONVERSATION, period);
+            if (checkpoint != null) {
+                return extendCheckpoint(OP_CONVERSATION_ANALYSIS, checkpoint, personaCode, period,
+                        () -> buildAnalysisSystemPrompt(personaCode, period), this::buildAnalysisUserPrompt);
+            }
+
+            List<AIChatOpsAdminDto> conversations;
+            String systemPrompt;
+            try (StructuredFanOut fanOut = new StructuredFanOut(fanOutExecutor)) {
+                Supplier<List<AIChatOpsAdminDto>> conversationsTask = fanOut.fork(
+                        () -> chatOpsAdminService.getConversationsForAnalysis(personaCode, period));
+                Supplier<String> systemPromptTask = fanOut.fork(() -> buildAnalysisSystemPrompt(personaCode, period));
+                fanOut.join(fanOutTimeout());
+                conversations = conversationsTask.get();
+                systemPrompt = systemPromptTask.get();
+            }
 
             if (conversations == null || conversations.isEmpty()) {
                 return "No conversation data available for analysis.";
             }
 
-            String systemPrompt = buildAnalysisSystemPrompt();
-            String userPrompt = buildAnalysisUserPrompt(conversations);
+            String userPrompt = TraceContext.inSpan("buildAnalysisUserPrompt", "prompt",
+                    () -> buildAnalysisUserPrompt(conversations));
 
-            return llmService.LLMCallAsync("maverick", systemPrompt, userPrompt).join().toString();
+            String analysisResult = callLLM(OP_CONVERSATION_ANALYSIS, systemPrompt, userPrompt);
+            analysisCheckpointService.saveFullAnalysis(personaCode, AnalysisCheckpointService.TYPE_CONVERSATION,
+                    period, conversations, analysisResult);
+            return analysisResult;
         } catch (Exception e) {
             StringBuilder errorMessage = new StringBuilder();
             errorMessage.append("Failed to analyze conversations: ").append(e.getMessage());
@@ -36,8 +105,142 @@ public class LLMAnalysisService {
         }
     }
 
+    // Single entry point for LLM calls
+    private String callLLM(String operation, String systemPrompt, String userPrompt) {
+        return callLLM(operation, systemPrompt, userPrompt, true);
+    }
+
+    private String callLLM(String operation, String systemPrompt, String userPrompt, boolean useCache) {
+        Span span = TraceContext.current().startChild("callLLM", "llm").tag("operation", operation);
+        try (TraceContext.Scope scope = TraceContext.activate(span)) {
+            return callRoutedLLM(span, operation, systemPrompt, userPrompt, useCache);
+        } catch (RuntimeException e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private String callRoutedLLM(Span span, String operation, String systemPrompt, String userPrompt,
+            boolean useCache) {
+        long promptTokens = TokenEstimator.estimate(systemPrompt) + TokenEstimator.estimate(userPrompt);
+        ModelRouter.Route route = modelRouter.route(operation, promptTokens);
+        span.tag("promptTokens", promptTokens);
+
+        // LLMCallAsync takes no sampling parameters, so the model and prompts are the whole key
+        if (useCache && llmResponseCache.isEnabled()) {
+            String cached = llmResponseCache.get(LLMResponseCache.key(route.getPrimary(), systemPrompt, userPrompt,
+                    null));
+            span.tag("cache", cached != null ? "hit" : "miss");
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            chatOpsMetrics.increment("chatops.llm.cache", "result", "bypass");
+        }
+
+        // Try the routed models in order; a failure or a timed-out attempt falls through to the next one
+        RuntimeException failure = null;
+        String previous = null;
+        for (String model : route.getCandidates()) {
+            long start = System.nanoTime();
+            // Ends when the future completes, on whichever thread completes it
+            Span call = span.startChild("LLMCallAsync", "llm").tag("model", model);
+            try {
+                String response = llmService.LLMCallAsync(model, systemPrompt, userPrompt)
+                        .orTimeout(route.getAttemptTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .whenComplete((result, error) -> {
+                            if (error != null) {
+                                call.setError(error);
+                            }
+                            call.end();
+                        })
+                        .join().toString();
+                long elapsed = System.nanoTime() - start;
+                modelRouter.record(route, model, previous, elapsed, true);
+                chatOpsMetrics.recordLlmCall(model, operation, elapsed, null, systemPrompt, userPrompt, response);
+                estimatedTokensUsed.addAndGet(TokenEstimator.estimate(systemPrompt) + TokenEstimator.estimate(userPrompt)
+                        + TokenEstimator.estimate(response));
+                if (useCache) {
+                    llmResponseCache.put(LLMResponseCache.key(model, systemPrompt, userPrompt, null), response);
+                }
+                span.tag("model", model);
+                return response;
+            } catch (RuntimeException e) {
+                call.setError(e);
+                call.end();
+                modelRouter.record(route, model, previous, System.nanoTime() - start, false);
+                if (e.getCause() instanceof TimeoutException) {
+                    chatOpsMetrics.increment("chatops.llm.timeout", "model", model, "operation", operation);
+                }
+                chatOpsMetrics.recordError("llm", e);
+                failure = e;
+                previous = model;
+            }
+        }
+        throw failure;
+    }
+
+    public long getEstimatedTokensUsed() {
+        return estimatedTokensUsed.get();
+    }
+
+    private Duration fanOutTimeout() {
+        return Duration.ofSeconds(fanOutTimeoutSeconds);
+    }
+
+    // Merge conversations added since the checkpoint into its stored summary
+    private String extendCheckpoint(String operation, AIChatOpsAdminDto checkpoint, String personaCode,
+            String period, Supplier<String> systemPromptBuilder,
+            Function<List<AIChatOpsAdminDto>, String> deltaPromptBuilder) {
+        List<AIChatOpsAdminDto> delta;
+        String systemPrompt;
+        try (StructuredFanOut fanOut = new StructuredFanOut(fanOutExecutor)) {
+            Supplier<List<AIChatOpsAdminDto>> deltaTask = fanOut.fork(() -> chatOpsAdminService
+                    .getConversationsSince(personaCode, period, checkpoint.getLastProcessedDate(),
+                            checkpoint.getLastProcessedId()));
+            Supplier<String> systemPromptTask = fanOut.fork(systemPromptBuilder::get);
+            fanOut.join(fanOutTimeout());
+            delta = deltaTask.get();
+            systemPrompt = systemPromptTask.get();
+        }
+        if (delta == null || delta.isEmpty()) {
+            return checkpoint.getAnalysisResult();
+        }
+
+        String userPrompt = TraceContext.inSpan("buildIncrementalUserPrompt", "prompt",
+                () -> buildIncrementalUserPrompt(checkpoint, deltaPromptBuilder.apply(delta)));
+        String analysisResult = callLLM(operation, buildIncrementalSystemPrompt(personaCode, systemPrompt),
+                userPrompt);
+        analysisCheckpointService.saveIncrementalAnalysis(checkpoint, personaCode, delta, analysisResult);
+        return analysisResult;
+    }
+
+    // System prompt with instructions for updating an existing report
+    private String buildIncrementalSystemPrompt(String personaCode, String systemPrompt) {
+        Map<String, Object> values = new HashMap<>(2);
+        values.put("systemPrompt", systemPrompt);
+        return promptTemplateRegistry.render(PromptTemplateRegistry.INCREMENTAL_SYSTEM, personaCode, values);
+    }
+
+    // Build user prompt combining the previous report with new conversation data
+    private String buildIncrementalUserPrompt(AIChatOpsAdminDto checkpoint, String deltaPrompt) {
+        Map<String, Object> values = new HashMap<>(8);
+        values.put("processedCount", checkpoint.getTotalConversations());
+        values.put("lastProcessedDate", checkpoint.getLastProcessedDate());
+        values.put("previousReport", checkpoint.getAnalysisResult());
+        values.put("newData", deltaPrompt);
+        return promptTemplateRegistry.render(PromptTemplateRegistry.INCREMENTAL_USER, null, values);
+    }
+
     // Test system prompt with sample input
     public String testSystemPrompt(String systemPrompt, String testInput) {
+        return testSystemPrompt(systemPrompt, testInput, true);
+    }
+
+    // useCache=false always calls the model, e.g. to sample another answer for the same pair
+    public String testSystemPrompt(String systemPrompt, String testInput, boolean useCache) {
         if (systemPrompt == null || systemPrompt.trim().isEmpty()) {
             throw new IllegalArgumentException("System prompt cannot be null or empty");
         }
@@ -47,7 +250,7 @@ public class LLMAnalysisService {
         }
 
         try {
-            return llmService.LLMCallAsync("maverick", systemPrompt, testInput).join().toString();
+            return callLLM(OP_PROMPT_TEST, systemPrompt, testInput, useCache);
         } catch (Exception e) {
             StringBuilder errorMessage = new StringBuilder();
             errorMessage.append("Failed to test system prompt: ").append(e.getMessage());
@@ -56,57 +259,47 @@ public class LLMAnalysisService {
     }
 
     // Build system prompt for conversation analysis
-    private String buildAnalysisSystemPrompt() {
-        StringBuilder promptBuilder = new StringBuilder();
-        promptBuilder.append(
-                "You are an AI conversation analyst. Analyze the provided conversation data and provide comprehensive insights.\n\n");
-        promptBuilder.append("Your analysis should include:\n");
-        promptBuilder.append("1. **Usage Statistics**: Total conversations, active users, popular topics\n");
-        promptBuilder.append("2. **Performance Metrics**: Response quality, user satisfaction indicators\n");
-        promptBuilder.append("3. **Content Analysis**: Common questions, effective responses, improvement areas\n");
-        promptBuilder.append("4. **Trend Analysis**: Usage patterns, peak times, user behavior\n");
-        promptBuilder.append("5. **Recommendations**: Actionable insights for improvement\n\n");
-        promptBuilder.append("Format your response in clear markdown with proper sections and bullet points.\n");
-        promptBuilder.append("Provide specific numbers and percentages where possible.\n");
-        promptBuilder.append("Keep the analysis concise but comprehensive.");
-        return promptBuilder.toString();
+    private String buildAnalysisSystemPrompt(String personaCode, String period) {
+        return promptTemplateRegistry.render(PromptTemplateRegistry.CONVERSATION_ANALYSIS, personaCode,
+                templateValues(personaCode, period));
     }
 
-    // Build user prompt with conversation data
-    private String buildAnalysisUserPrompt(List<AIChatOpsAdminDto> conversations) {
-        StringBuilder promptBuilder = new StringBuilder();
+    // Build user prompt with conversation data (package-private for benchmarks)
+    String buildAnalysisUserPrompt(List<AIChatOpsAdminDto> conversations) {
+        ConversationAggregate aggregate = ConversationAggregate.of(conversations);
+        List<Map.Entry<String, Integer>> personaCounts = aggregate.getPersonaCountsDescending();
+
+        // Add conversation samples (limit to first 50 for performance)
+        int sampleCount = Math.min(50, conversations.size());
+
+        int capacity = 512;
+        for (int i = 0; i < sampleCount; i++) {
+            AIChatOpsAdminDto conv = conversations.get(i);
+            capacity += 160 + length(conv.getPersonaCode()) + length(conv.getCreator())
+                    + truncatedLength(conv.getUserQuery(), 200) + truncatedLength(conv.getAiQuery(), 300);
+        }
+        for (Map.Entry<String, Integer> entry : personaCounts) {
+            capacity += 32 + length(entry.getKey());
+        }
+
+        StringBuilder promptBuilder = new StringBuilder(capacity);
         promptBuilder.append("Please analyze the following conversation data:\n\n");
 
         // Add summary info
         promptBuilder.append("## Dataset Summary\n");
-        promptBuilder.append("- Total conversations: ").append(conversations.size()).append("\n");
-
-        // Count unique users
-        long uniqueUsers = conversations.stream()
-                .map(AIChatOpsAdminDto::getCreator)
-                .distinct()
-                .count();
-        promptBuilder.append("- Unique users: ").append(uniqueUsers).append("\n");
+        promptBuilder.append("- Total conversations: ").append(aggregate.getTotal()).append("\n");
+        promptBuilder.append("- Unique users: ").append(aggregate.getUniqueUsers()).append("\n");
+        promptBuilder.append("- Personas involved: ").append(aggregate.getUniquePersonas()).append("\n\n");
 
-        // Count personas
-        long uniquePersonas = conversations.stream()
-                .map(AIChatOpsAdminDto::getPersonaCode)
-                .distinct()
-                .count();
-        promptBuilder.append("- Personas involved: ").append(uniquePersonas).append("\n\n");
-
-        // Add conversation samples (limit to first 50 for performance)
         promptBuilder.append("## Conversation Samples\n");
-        int sampleCount = Math.min(50, conversations.size());
-
         for (int i = 0; i < sampleCount; i++) {
             AIChatOpsAdminDto conv = conversations.get(i);
             promptBuilder.append("### Conversation ").append(i + 1).append("\n");
             promptBuilder.append("- **Persona**: ").append(conv.getPersonaCode()).append("\n");
             promptBuilder.append("- **User**: ").append(conv.getCreator()).append("\n");
             promptBuilder.append("- **Date**: ").append(conv.getCreatedDate()).append("\n");
-            promptBuilder.append("- **User Query**: ").append(truncateText(conv.getUserQuery(), 200)).append("\n");
-            promptBuilder.append("- **AI Response**: ").append(truncateText(conv.getAiQuery(), 300)).append("\n\n");
+            appendTruncated(promptBuilder.append("- **User Query**: "), conv.getUserQuery(), 200).append("\n");
+            appendTruncated(promptBuilder.append("- **AI Response**: "), conv.getAiQuery(), 300).append("\n\n");
         }
 
         if (conversations.size() > sampleCount) {
@@ -116,14 +309,10 @@ public class LLMAnalysisService {
 
         // Add persona breakdown
         promptBuilder.append("## Persona Usage Breakdown\n");
-        conversations.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        AIChatOpsAdminDto::getPersonaCode,
-                        java.util.stream.Collectors.counting()))
-                .entrySet().stream()
-                .sorted(java.util.Map.Entry.<String, Long>comparingByValue().reversed())
-                .forEach(entry -> promptBuilder.append("- ").append(entry.getKey())
-                        .append(": ").append(entry.getValue()).append(" conversations\n"));
+        for (Map.Entry<String, Integer> entry : personaCounts) {
+            promptBuilder.append("- ").append(entry.getKey())
+                    .append(": ").append(entry.getValue()).append(" conversations\n");
+        }
 
         promptBuilder.append("\nPlease provide a comprehensive analysis based on this data.");
 
@@ -131,29 +320,74 @@ public class LLMAnalysisService {
     }
 
     // Utility method to truncate text
-    private String truncateText(String text, int maxLength) {
+    String truncateText(String text, int maxLength) {
         if (text == null)
             return "";
         if (text.length() <= maxLength)
             return text;
-        return new StringBuilder().append(text.substring(0, maxLength)).append("...").toString();
+        return new StringBuilder(maxLength + 3).append(text, 0, maxLength).append("...").toString();
+    }
+
+    // Append text truncated to maxLength without an intermediate substring
+    private StringBuilder appendTruncated(StringBuilder builder, String text, int maxLength) {
+        if (text == null)
+            return builder;
+        if (text.length() <= maxLength)
+            return builder.append(text);
+        return builder.append(text, 0, maxLength).append("...");
+    }
+
+    private int truncatedLength(String text, int maxLength) {
+        return text == null ? 0 : text.length() <= maxLength ? text.length() : maxLength + 3;
+    }
+
+    private int length(String text) {
+        return text == null ? 4 : text.length();
+    }
+
+    // Variables available to system prompt templates
+    private Map<String, Object> templateValues(String personaCode, String period) {
+        Map<String, Object> values = new HashMap<>(4);
+        values.put("personaCode", personaCode);
+        values.put("period", period);
+        return values;
     }
 
     // Analyze specific persona performance
     public String analyzePersonaPerformance(String personaCode, String period) {
         try {
-            List<AIChatOpsAdminDto> conversations = chatOpsAdminService.getConversationsForAnalysis(personaCode,
-                    period);
+            AIChatOpsAdminDto checkpoint = analysisCheckpointService.findUsableCheckpoint(personaCode,
+                    AnalysisCheckpointService.TYPE_PERSONA, period);
+            if (checkpoint != null) {
+                return extendCheckpoint(OP_PERSONA_ANALYSIS, checkpoint, personaCode, period,
+                        () -> buildPersonaAnalysisSystemPrompt(personaCode, period),
+                        delta -> buildPersonaAnalysisUserPrompt(personaCode, delta));
+            }
+
+            List<AIChatOpsAdminDto> conversations;
+            String systemPrompt;
+            try (StructuredFanOut fanOut = new StructuredFanOut(fanOutExecutor)) {
+                Supplier<List<AIChatOpsAdminDto>> conversationsTask = fanOut.fork(
+                        () -> chatOpsAdminService.getConversationsForAnalysis(personaCode, period));
+                Supplier<String> systemPromptTask = fanOut.fork(
+                        () -> buildPersonaAnalysisSystemPrompt(personaCode, period));
+                fanOut.join(fanOutTimeout());
+                conversations = conversationsTask.get();
+                systemPrompt = systemPromptTask.get();
+            }
 
             if (conversations == null || conversations.isEmpty()) {
                 return new StringBuilder().append("No conversation data available for persona: ").append(personaCode)
                         .toString();
             }
 
-            String systemPrompt = buildPersonaAnalysisSystemPrompt();
-            String userPrompt = buildPersonaAnalysisUserPrompt(personaCode, conversations);
+            String userPrompt = TraceContext.inSpan("buildPersonaAnalysisUserPrompt", "prompt",
+                    () -> buildPersonaAnalysisUserPrompt(personaCode, conversations));
 
-            return llmService.LLMCallAsync("maverick", systemPrompt, userPrompt).join().toString();
+            String analysisResult = callLLM(OP_PERSONA_ANALYSIS, systemPrompt, userPrompt);
+            analysisCheckpointService.saveFullAnalysis(personaCode, AnalysisCheckpointService.TYPE_PERSONA,
+                    period, conversations, analysisResult);
+            return analysisResult;
         } catch (Exception e) {
             StringBuilder errorMessage = new StringBuilder();
             errorMessage.append("Failed to analyze persona performance: ").append(e.getMessage());
@@ -162,43 +396,36 @@ public class LLMAnalysisService {
     }
 
     // Build system prompt for persona-specific analysis
-    private String buildPersonaAnalysisSystemPrompt() {
-        StringBuilder promptBuilder = new StringBuilder();
-        promptBuilder.append("You are analyzing the performance of a specific AI persona. ");
-        promptBuilder.append("Focus on persona-specific metrics and insights.\n\n");
-        promptBuilder.append("Your analysis should cover:\n");
-        promptBuilder.append("1. **Persona Effectiveness**: How well the persona serves its intended purpose\n");
-        promptBuilder.append("2. **User Engagement**: Frequency of use, user retention, satisfaction\n");
-        promptBuilder.append("3. **Response Quality**: Relevance, helpfulness, accuracy of responses\n");
-        promptBuilder.append("4. **Common Use Cases**: What users typically ask this persona\n");
-        promptBuilder.append("5. **Improvement Areas**: Specific recommendations for this persona\n\n");
-        promptBuilder.append("Provide actionable insights with specific examples from the conversation data.");
-        return promptBuilder.toString();
+    private String buildPersonaAnalysisSystemPrompt(String personaCode, String period) {
+        return promptTemplateRegistry.render(PromptTemplateRegistry.PERSONA_ANALYSIS, personaCode,
+                templateValues(personaCode, period));
     }
 
     // Build user prompt for persona analysis
-    private String buildPersonaAnalysisUserPrompt(String personaCode, List<AIChatOpsAdminDto> conversations) {
-        StringBuilder promptBuilder = new StringBuilder();
+    String buildPersonaAnalysisUserPrompt(String personaCode, List<AIChatOpsAdminDto> conversations) {
+        // Add conversation details
+        int limit = Math.min(20, conversations.size());
+
+        int capacity = 256 + length(personaCode);
+        for (int i = 0; i < limit; i++) {
+            AIChatOpsAdminDto conv = conversations.get(i);
+            capacity += 40 + truncatedLength(conv.getUserQuery(), 150) + truncatedLength(conv.getAiQuery(), 200);
+        }
+
+        StringBuilder promptBuilder = new StringBuilder(capacity);
         promptBuilder.append("Analyze the performance of persona: **").append(personaCode).append("**\n\n");
 
         promptBuilder.append("## Persona Data Summary\n");
         promptBuilder.append("- Total conversations: ").append(conversations.size()).append("\n");
+        promptBuilder.append("- Unique users: ").append(ConversationAggregate.of(conversations).getUniqueUsers())
+                .append("\n\n");
 
-        long uniqueUsers = conversations.stream()
-                .map(AIChatOpsAdminDto::getCreator)
-                .distinct()
-                .count();
-        promptBuilder.append("- Unique users: ").append(uniqueUsers).append("\n\n");
-
-        // Add conversation details
         promptBuilder.append("## Recent Conversations\n");
-        int limit = Math.min(20, conversations.size());
-
         for (int i = 0; i < limit; i++) {
             AIChatOpsAdminDto conv = conversations.get(i);
             promptBuilder.append("**Conversation ").append(i + 1).append("**\n");
-            promptBuilder.append("User: ").append(truncateText(conv.getUserQuery(), 150)).append("\n");
-            promptBuilder.append("AI: ").append(truncateText(conv.getAiQuery(), 200)).append("\n\n");
+            appendTruncated(promptBuilder.append("User: "), conv.getUserQuery(), 150).append("\n");
+            appendTruncated(promptBuilder.append("AI: "), conv.getAiQuery(), 200).append("\n\n");
         }
 
         return promptBuilder.toString();
@@ -207,13 +434,21 @@ public class LLMAnalysisService {
     // Generate usage recommendations
     public String generateUsageRecommendations(String period) {
         try {
-            String systemPrompt = buildRecommendationSystemPrompt();
-
-            // Get overall statistics
-            List<AIChatOpsAdminDto> personaStats = chatOpsAdminService.getConversationCountsByPersona(period);
-            String userPrompt = buildRecommendationUserPrompt(personaStats, period);
+            String systemPrompt;
+            List<AIChatOpsAdminDto> personaStats;
+            try (StructuredFanOut fanOut = new StructuredFanOut(fanOutExecutor)) {
+                Supplier<String> systemPromptTask = fanOut.fork(() -> buildRecommendationSystemPrompt(period));
+                // Get overall statistics
+                Supplier<List<AIChatOpsAdminDto>> personaStatsTask = fanOut.fork(
+                        () -> chatOpsAdminService.getConversationCountsByPersona(period));
+                fanOut.join(fanOutTimeout());
+                systemPrompt = systemPromptTask.get();
+                personaStats = personaStatsTask.get();
+            }
+            String userPrompt = TraceContext.inSpan("buildRecommendationUserPrompt", "prompt",
+                    () -> buildRecommendationUserPrompt(personaStats, period));
 
-            return llmService.LLMCallAsync("maverick", systemPrompt, userPrompt).join().toString();
+            return callLLM(OP_RECOMMENDATION, systemPrompt, userPrompt);
         } catch (Exception e) {
             StringBuilder errorMessage = new StringBuilder();
             errorMessage.append("Failed to generate recommendations: ").append(e.getMessage());
@@ -222,23 +457,14 @@ public class LLMAnalysisService {
     }
 
     // Build system prompt for recommendations
-    private String buildRecommendationSystemPrompt() {
-        StringBuilder promptBuilder = new StringBuilder();
-        promptBuilder.append("You are an AI system optimization consultant. ");
-        promptBuilder.append("Based on usage statistics, provide actionable recommendations.\n\n");
-        promptBuilder.append("Focus on:\n");
-        promptBuilder.append("1. **Resource Optimization**: Which personas are over/under utilized\n");
-        promptBuilder.append("2. **User Experience**: How to improve user satisfaction\n");
-        promptBuilder.append("3. **System Efficiency**: Performance improvements\n");
-        promptBuilder.append("4. **Feature Development**: New capabilities to consider\n");
-        promptBuilder.append("5. **Training Needs**: Areas where personas need improvement\n\n");
-        promptBuilder.append("Provide specific, measurable recommendations with priority levels.");
-        return promptBuilder.toString();
+    private String buildRecommendationSystemPrompt(String period) {
+        return promptTemplateRegistry.render(PromptTemplateRegistry.RECOMMENDATION, null,
+                templateValues(null, period));
     }
 
     // Build user prompt for recommendations
     private String buildRecommendationUserPrompt(List<AIChatOpsAdminDto> personaStats, String period) {
-        StringBuilder promptBuilder = new StringBuilder();
+        StringBuilder promptBuilder = new StringBuilder(256 + personaStats.size() * 80);
         promptBuilder.append("Generate optimization recommendations based on ").append(period)
                 .append(" usage data:\n\n");
 
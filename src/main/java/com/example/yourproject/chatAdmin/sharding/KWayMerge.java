@@ -0,0 +1,47 @@
+package com.example.yourproject.chatAdmin.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges lists that are each sorted in the same order into one sorted list, reading every list
+ * once through a heap of cursors: O(n log k) for n rows from k shards.
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    // Rows skip .. skip + limit of the merged order
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, int skip, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> order.compare(sorted.get(a[0]).get(a[1]), sorted.get(b[0]).get(b[1])));
+        for (int list = 0; list < sorted.size(); list++) {
+            if (!sorted.get(list).isEmpty()) {
+                heads.add(new int[] {list, 0});
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+        int skipped = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            List<T> rows = sorted.get(head[0]);
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(rows.get(head[1]));
+            }
+            if (++head[1] < rows.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order) {
+        return merge(sorted, order, 0, Integer.MAX_VALUE);
+    }
+}
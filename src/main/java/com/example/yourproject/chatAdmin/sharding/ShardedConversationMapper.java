@@ -0,0 +1,436 @@
+package com.example.yourproject.chatAdmin.sharding;
+
+import com.example.yourproject.chatAdmin.archive.ConversationTotals;
+import com.example.yourproject.chatAdmin.columnar.ConversationMetadata;
+import com.example.yourproject.chatAdmin.concurrent.StructuredFanOut;
+import com.example.yourproject.chatAdmin.dto.AIChatOpsAdminDto;
+import com.example.yourproject.chatAdmin.mapper.ConversationMapper;
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * ConversationMapper over swp_ai_chatops_storage split across databases by CRC32(PERSONA_CODE)
+ * modulo the shard count. Statements with a persona code go to that persona's shard; the rest
+ * run on every shard in parallel and are merged: sorted listings with a k-way merge, counts and
+ * sums added, distinct creators unioned. A persona lives on exactly one shard, so per-persona
+ * rows from different shards never overlap.
+ *
+ * Each shard has its own auto-increment ID, so ids leaving this class are global:
+ * local id * shard count + shard index. Every statement runs in its own auto-commit session;
+ * the storage table does not take part in the service's @Transactional transactions. Work that
+ * has to be atomic on the storage table runs per shard through inShardTransaction.
+ */
+public class ShardedConversationMapper implements ConversationMapper {
+    // Same as the LIMIT in selectConversationsForAnalysis / selectConversationsSince
+    private static final int ANALYSIS_ROW_LIMIT = 1000;
+    private static final Comparator<AIChatOpsAdminDto> NEWEST_FIRST =
+            Comparator.comparing(AIChatOpsAdminDto::getCreatedDate).reversed();
+    private static final Comparator<ConversationMetadata> OLDEST_FIRST =
+            Comparator.comparing(ConversationMetadata::getCreatedDate);
+    private static final Comparator<AIChatOpsAdminDto> BY_ID =
+            Comparator.comparing(AIChatOpsAdminDto::getConversationId);
+    private static final Comparator<AIChatOpsAdminDto> OLDEST_SUMMARY_FIRST =
+            Comparator.comparing(AIChatOpsAdminDto::getCreatedDate).thenComparing(AIChatOpsAdminDto::getConversationId);
+
+    private final List<SqlSessionFactory> shards;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final ChatOpsMetrics chatOpsMetrics;
+
+    public ShardedConversationMapper(List<SqlSessionFactory> shards, ExecutorService executor, Duration timeout,
+            ChatOpsMetrics chatOpsMetrics) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one conversation shard is required");
+        }
+        this.shards = new ArrayList<>(shards);
+        this.executor = executor;
+        this.timeout = timeout;
+        this.chatOpsMetrics = chatOpsMetrics;
+    }
+
+    public static int shardOf(String personaCode, int shardCount) {
+        CRC32 crc = new CRC32();
+        crc.update(personaCode.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationsForAnalysis(String personaCode, String period) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectConversationsForAnalysis(personaCode, period));
+        }
+        return KWayMerge.merge(onAllShards(mapper -> mapper.selectConversationsForAnalysis(null, period)),
+                NEWEST_FIRST, 0, ANALYSIS_ROW_LIMIT);
+    }
+
+    // The watermark id is global; each shard compares against its local equivalent
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationsSince(String personaCode, String period, LocalDateTime since,
+            long sinceId) {
+        if (routed(personaCode)) {
+            int shard = shardOf(personaCode, shards.size());
+            return onShard(shard, mapper -> mapper.selectConversationsSince(personaCode, period, since,
+                    localAfter(sinceId, shard)));
+        }
+        return KWayMerge.merge(onAllShards((shard, mapper) -> mapper.selectConversationsSince(null, period, since,
+                localAfter(sinceId, shard))), OLDEST_SUMMARY_FIRST, 0, ANALYSIS_ROW_LIMIT);
+    }
+
+    // Unfiltered pages read offset + limit rows from every shard, so deep pages cost more than on one table
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationsWithPaging(String personaCode, String creator,
+            LocalDateTime startDate, LocalDateTime endDate, int offset, int limit) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectConversationsWithPaging(personaCode, creator,
+                    startDate, endDate, offset, limit));
+        }
+        int perShard = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        return KWayMerge.merge(onAllShards(mapper -> mapper.selectConversationsWithPaging(null, creator, startDate,
+                endDate, 0, perShard)), NEWEST_FIRST, offset, limit);
+    }
+
+    @Override
+    public int countConversations(String personaCode, String creator, LocalDateTime startDate,
+            LocalDateTime endDate) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.countConversations(personaCode, creator, startDate,
+                    endDate));
+        }
+        int count = 0;
+        for (int shardCount : onAllShards(mapper -> mapper.countConversations(null, creator, startDate, endDate))) {
+            count += shardCount;
+        }
+        return count;
+    }
+
+    // Commits on its own shard session: callers inside a primary transaction run it last or after commit
+    @Override
+    public int deleteConversationsByPersonaCode(String personaCode) {
+        if (!routed(personaCode)) {
+            return 0;
+        }
+        return onPersonaShard(personaCode, mapper -> mapper.deleteConversationsByPersonaCode(personaCode));
+    }
+
+    // Averages and distinct users do not add up, so unfiltered statistics are rebuilt from totals
+    @Override
+    public AIChatOpsAdminDto selectConversationStatistics(String personaCode, String period) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectConversationStatistics(personaCode, period));
+        }
+        ConversationTotals totals = new ConversationTotals();
+        for (ConversationTotals shardTotals : onAllShards(mapper -> {
+            ConversationTotals shard = mapper.selectConversationTotals(null, period);
+            shard.addCreators(mapper.selectDistinctCreators(null, period));
+            return shard;
+        })) {
+            totals.merge(shardTotals);
+        }
+        return totals.toStatistics();
+    }
+
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationCountsByPersona(String period) {
+        List<AIChatOpsAdminDto> counts = concat(onAllShards(mapper -> mapper.selectConversationCountsByPersona(
+                period)));
+        counts.sort(Comparator.comparing(AIChatOpsAdminDto::getTotalConversations).reversed());
+        return counts;
+    }
+
+    @Override
+    public ConversationTotals selectConversationTotals(String personaCode, String period) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectConversationTotals(personaCode, period));
+        }
+        ConversationTotals totals = new ConversationTotals();
+        for (ConversationTotals shardTotals : onAllShards(mapper -> mapper.selectConversationTotals(null, period))) {
+            totals.merge(shardTotals);
+        }
+        return totals;
+    }
+
+    @Override
+    public List<ConversationTotals> selectConversationTotalsByPersona(String period) {
+        return concat(onAllShards(mapper -> mapper.selectConversationTotalsByPersona(period)));
+    }
+
+    @Override
+    public List<String> selectDistinctCreators(String personaCode, String period) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectDistinctCreators(personaCode, period));
+        }
+        Set<String> creators = new LinkedHashSet<>();
+        for (List<String> shardCreators : onAllShards(mapper -> mapper.selectDistinctCreators(null, period))) {
+            creators.addAll(shardCreators);
+        }
+        return new ArrayList<>(creators);
+    }
+
+    @Override
+    public List<AIChatOpsAdminDto> selectDistinctCreatorsByPersona(String period) {
+        return concat(onAllShards(mapper -> mapper.selectDistinctCreatorsByPersona(period)));
+    }
+
+    // Like the statistics, unique users of an unfiltered trend come from the creators of every shard
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationTrend(String personaCode, LocalDateTime from, boolean hourly) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectConversationTrend(personaCode, from, hourly));
+        }
+        Map<LocalDateTime, AIChatOpsAdminDto> byBucket = new TreeMap<>();
+        for (AIChatOpsAdminDto row : concat(onAllShards(mapper -> mapper.selectConversationTrend(null, from,
+                hourly)))) {
+            AIChatOpsAdminDto point = byBucket.computeIfAbsent(row.getCreatedDate(), bucket -> {
+                AIChatOpsAdminDto merged = new AIChatOpsAdminDto();
+                merged.setCreatedDate(bucket);
+                merged.setTotalConversations(0);
+                merged.setUniqueUsers(0);
+                return merged;
+            });
+            point.setTotalConversations(point.getTotalConversations() + row.getTotalConversations());
+        }
+        Map<LocalDateTime, Set<String>> creators = new HashMap<>();
+        for (AIChatOpsAdminDto row : concat(onAllShards(mapper -> mapper.selectTrendCreators(null, from, hourly)))) {
+            creators.computeIfAbsent(row.getCreatedDate(), bucket -> new HashSet<>()).add(row.getCreator());
+        }
+        for (AIChatOpsAdminDto point : byBucket.values()) {
+            point.setUniqueUsers(creators.getOrDefault(point.getCreatedDate(), Collections.emptySet()).size());
+        }
+        return new ArrayList<>(byBucket.values());
+    }
+
+    // Pairs can repeat across shards
+    @Override
+    public List<AIChatOpsAdminDto> selectTrendCreators(String personaCode, LocalDateTime from, boolean hourly) {
+        if (routed(personaCode)) {
+            return onPersonaShard(personaCode, mapper -> mapper.selectTrendCreators(personaCode, from, hourly));
+        }
+        return concat(onAllShards(mapper -> mapper.selectTrendCreators(null, from, hourly)));
+    }
+
+    @Override
+    public List<ConversationMetadata> selectConversationMetadataBetween(LocalDateTime from, LocalDateTime to) {
+        return KWayMerge.merge(onAllShards(mapper -> mapper.selectConversationMetadataBetween(from, to)),
+                OLDEST_FIRST);
+    }
+
+    @Override
+    public List<ConversationMetadata> selectConversationMetadataSince(LocalDateTime since) {
+        return KWayMerge.merge(onAllShards(mapper -> mapper.selectConversationMetadataSince(since)), OLDEST_FIRST);
+    }
+
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationFeedSince(LocalDateTime since, long sinceId, int limit) {
+        return KWayMerge.merge(onAllShards((shard, mapper) -> mapper.selectConversationFeedSince(since,
+                localAfter(sinceId, shard), limit)), OLDEST_SUMMARY_FIRST, 0, limit);
+    }
+
+    // Not atomic across shards: when one shard fails, rows already written elsewhere are removed from
+    // the list before the exception is thrown, so retrying the same list does not duplicate them
+    @Override
+    public int insertConversations(List<AIChatOpsAdminDto> conversations) {
+        Map<Integer, List<AIChatOpsAdminDto>> byShard = new LinkedHashMap<>();
+        for (AIChatOpsAdminDto conversation : conversations) {
+            byShard.computeIfAbsent(shardOf(conversation.getPersonaCode(), shards.size()),
+                    shard -> new ArrayList<>()).add(conversation);
+        }
+
+        int inserted = 0;
+        Set<AIChatOpsAdminDto> written = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (Map.Entry<Integer, List<AIChatOpsAdminDto>> shard : byShard.entrySet()) {
+                inserted += onShard(shard.getKey(), mapper -> mapper.insertConversations(shard.getValue()));
+                written.addAll(shard.getValue());
+            }
+        } catch (RuntimeException e) {
+            conversations.removeIf(written::contains);
+            throw e;
+        }
+        return inserted;
+    }
+
+    @Override
+    public LocalDateTime selectOldestConversationDate(LocalDateTime before) {
+        LocalDateTime oldest = null;
+        for (LocalDateTime shardOldest : onAllShards(mapper -> mapper.selectOldestConversationDate(before))) {
+            if (shardOldest != null && (oldest == null || shardOldest.isBefore(oldest))) {
+                oldest = shardOldest;
+            }
+        }
+        return oldest;
+    }
+
+    // Each shard's FOR UPDATE lock ends with its auto-commit session here; ConversationArchive locks,
+    // copies and deletes a window shard by shard through inShardTransaction instead
+    @Override
+    public List<AIChatOpsAdminDto> selectConversationsBetween(LocalDateTime from, LocalDateTime to) {
+        return KWayMerge.merge(onAllShards(mapper -> mapper.selectConversationsBetween(from, to)), NEWEST_FIRST);
+    }
+
+    @Override
+    public int deleteConversationsBetween(LocalDateTime from, LocalDateTime to) {
+        int deleted = 0;
+        for (int shardDeleted : onAllShards(mapper -> mapper.deleteConversationsBetween(from, to))) {
+            deleted += shardDeleted;
+        }
+        return deleted;
+    }
+
+    @Override
+    public AIChatOpsAdminDto selectConversationBody(long conversationId) {
+        int shard = (int) Math.floorMod(conversationId, (long) shards.size());
+        return onShard(shard, mapper -> mapper.selectConversationBody(
+                Math.floorDiv(conversationId, (long) shards.size())));
+    }
+
+    @Override
+    public List<AIChatOpsAdminDto> selectRecentConversations(int limit) {
+        return KWayMerge.merge(onAllShards(mapper -> mapper.selectRecentConversations(limit)), NEWEST_FIRST, 0,
+                limit);
+    }
+
+    // Global ids interleave the shards, so the cursor translates to a per-shard local id
+    @Override
+    public List<AIChatOpsAdminDto> selectUncompressedConversations(long afterId, int limit) {
+        return KWayMerge.merge(onAllShards((shard, mapper) -> mapper.selectUncompressedConversations(
+                localAfter(afterId, shard), limit)), BY_ID, 0, limit);
+    }
+
+    @Override
+    public int updateCompressedConversation(AIChatOpsAdminDto conversation) {
+        long globalId = conversation.getConversationId();
+        int shard = (int) Math.floorMod(globalId, (long) shards.size());
+        conversation.setConversationId(Math.floorDiv(globalId, (long) shards.size()));
+        try {
+            return onShard(shard, mapper -> mapper.updateCompressedConversation(conversation));
+        } finally {
+            conversation.setConversationId(globalId);
+        }
+    }
+
+    // Largest local id on the shard whose global id is <= afterId: local ids above it are global ids above afterId
+    private long localAfter(long afterId, int shard) {
+        return Math.floorDiv(afterId - shard, (long) shards.size());
+    }
+
+    // Run work on one shard in a transaction of its own, committed when work returns and rolled back
+    // if it throws. work sees the shard's local ids
+    public <T> T inShardTransaction(int shard, Function<ConversationMapper, T> work) {
+        long start = System.nanoTime();
+        try (SqlSession session = shards.get(shard).openSession(false)) {
+            T result;
+            try {
+                result = work.apply(session.getMapper(ConversationMapper.class));
+            } catch (RuntimeException e) {
+                session.rollback(true);
+                throw e;
+            }
+            session.commit(true);
+            return result;
+        } finally {
+            chatOpsMetrics.recordTime("chatops.sharding.shard", System.nanoTime() - start, "shard",
+                    String.valueOf(shard));
+        }
+    }
+
+    private boolean routed(String personaCode) {
+        return personaCode != null && !personaCode.isEmpty();
+    }
+
+    private <T> T onPersonaShard(String personaCode, Function<ConversationMapper, T> call) {
+        return onShard(shardOf(personaCode, shards.size()), call);
+    }
+
+    private <T> T onShard(int shard, Function<ConversationMapper, T> call) {
+        long start = System.nanoTime();
+        try (SqlSession session = shards.get(shard).openSession(true)) {
+            return globalIds(shard, call.apply(session.getMapper(ConversationMapper.class)));
+        } finally {
+            chatOpsMetrics.recordTime("chatops.sharding.shard", System.nanoTime() - start, "shard",
+                    String.valueOf(shard));
+        }
+    }
+
+    private <T> List<T> onAllShards(Function<ConversationMapper, T> call) {
+        return onAllShards((shard, mapper) -> call.apply(mapper));
+    }
+
+    // One result per shard, in shard order; the first failing shard fails the whole statement
+    private <T> List<T> onAllShards(BiFunction<Integer, ConversationMapper, T> call) {
+        long start = System.nanoTime();
+        List<T> results = new ArrayList<>(shards.size());
+        if (shards.size() == 1) {
+            results.add(onShard(0, mapper -> call.apply(0, mapper)));
+            return results;
+        }
+        try (StructuredFanOut fanOut = new StructuredFanOut(executor)) {
+            List<Supplier<T>> forked = new ArrayList<>(shards.size());
+            for (int i = 0; i < shards.size(); i++) {
+                int shard = i;
+                forked.add(fanOut.fork(() -> onShard(shard, mapper -> call.apply(shard, mapper))));
+            }
+            fanOut.join(timeout);
+            for (Supplier<T> result : forked) {
+                results.add(result.get());
+            }
+        } finally {
+            chatOpsMetrics.recordTime("chatops.sharding.scatter", System.nanoTime() - start);
+        }
+        return results;
+    }
+
+    // Rewrite local ids in conversation results; other result types pass through
+    @SuppressWarnings("unchecked")
+    private <T> T globalIds(int shard, T result) {
+        if (result instanceof AIChatOpsAdminDto) {
+            AIChatOpsAdminDto conversation = (AIChatOpsAdminDto) result;
+            if (conversation.getConversationId() != null) {
+                conversation.setConversationId(conversation.getConversationId() * shards.size() + shard);
+            }
+        } else if (result instanceof ConversationMetadata) {
+            ConversationMetadata metadata = (ConversationMetadata) result;
+            if (metadata.getId() != null) {
+                metadata.setId(metadata.getId() * shards.size() + shard);
+            }
+        } else if (result instanceof List) {
+            for (Object row : (List<Object>) result) {
+                globalIds(shard, row);
+            }
+        }
+        return result;
+    }
+
+    private static <T> List<T> concat(List<List<T>> lists) {
+        List<T> all = new ArrayList<>();
+        for (List<T> list : lists) {
+            all.addAll(list);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.yourproject.chatAdmin.sharding;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * chatops.sharding.shards[i].* (url, username, password, driver-class-name), one entry per
+ * conversation shard. The order is part of the routing: a persona's shard is its index here.
+ */
+public class ShardingProperties {
+    private List<DataSourceProperties> shards = new ArrayList<>();
+
+    public List<DataSourceProperties> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<DataSourceProperties> shards) {
+        this.shards = shards;
+    }
+}
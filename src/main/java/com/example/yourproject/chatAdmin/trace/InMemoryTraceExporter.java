@@ -0,0 +1,84 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the latest traces and the slowest of the last window in memory for /admin/traces. The
+ * slowest are kept apart from the latest, so a slow request is still there after many fast ones.
+ */
+@Component
+public class InMemoryTraceExporter implements TraceExporter {
+    private static final Comparator<Trace> FASTEST_FIRST = Comparator.comparingDouble(Trace::getDurationMs);
+
+    @Value("${chatops.tracing.memory.recent:200}")
+    private int recentCapacity;
+
+    @Value("${chatops.tracing.memory.slowest:50}")
+    private int slowestCapacity;
+
+    @Value("${chatops.tracing.memory.window-ms:3600000}")
+    private long windowMs;
+
+    // Guarded by this
+    private final ArrayDeque<Trace> recent = new ArrayDeque<>();
+    private final PriorityQueue<Trace> slowest = new PriorityQueue<>(FASTEST_FIRST);
+
+    @Override
+    public synchronized void export(Trace trace) {
+        recent.addLast(trace);
+        if (recent.size() > recentCapacity) {
+            recent.removeFirst();
+        }
+        evictExpired();
+        slowest.add(trace);
+        if (slowest.size() > slowestCapacity) {
+            slowest.poll();
+        }
+    }
+
+    // Slowest traces of the window, slowest first
+    public synchronized List<Trace> getSlowest(int limit, long minDurationMs) {
+        evictExpired();
+        List<Trace> traces = new ArrayList<>(slowest);
+        traces.removeIf(trace -> trace.getDurationMs() < minDurationMs);
+        traces.sort(FASTEST_FIRST.reversed());
+        return traces.subList(0, Math.min(limit, traces.size()));
+    }
+
+    // Latest traces, newest first
+    public synchronized List<Trace> getRecent(int limit) {
+        List<Trace> traces = new ArrayList<>(Math.min(limit, recent.size()));
+        Iterator<Trace> newestFirst = recent.descendingIterator();
+        while (newestFirst.hasNext() && traces.size() < limit) {
+            traces.add(newestFirst.next());
+        }
+        return traces;
+    }
+
+    public synchronized Trace find(String traceId) {
+        for (Trace trace : recent) {
+            if (trace.getTraceId().equals(traceId)) {
+                return trace;
+            }
+        }
+        for (Trace trace : slowest) {
+            if (trace.getTraceId().equals(traceId)) {
+                return trace;
+            }
+        }
+        return null;
+    }
+
+    private void evictExpired() {
+        long oldest = System.currentTimeMillis() - windowMs;
+        slowest.removeIf(trace -> trace.getStartEpochMillis() < oldest);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends completed traces as JSON lines to chatops.tracing.json-file.path, for local use (jq,
+ * or loading into a trace viewer). Off unless the path is set. Traces are queued and written by
+ * one background thread; when the queue is full they are dropped and counted. The file is
+ * rotated to path.1 once it passes max-bytes.
+ */
+@Component
+public class JsonFileTraceExporter implements TraceExporter, InitializingBean, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(JsonFileTraceExporter.class);
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Value("${chatops.tracing.json-file.path:}")
+    private String path;
+
+    @Value("${chatops.tracing.json-file.capacity:1000}")
+    private int capacity;
+
+    @Value("${chatops.tracing.json-file.max-bytes:104857600}")
+    private long maxBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BlockingQueue<Trace> queue;
+    private Thread writer;
+    private volatile boolean stopping = false;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (path == null || path.isEmpty()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        writer = new Thread(this::run, "trace-json-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void export(Trace trace) {
+        if (queue != null && !stopping && !queue.offer(trace)) {
+            chatOpsMetrics.increment("chatops.trace.export.dropped", "exporter", "json-file");
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer != null) {
+            stopping = true;
+            writer.join(5000);
+        }
+    }
+
+    private void run() {
+        Path file = Paths.get(path);
+        OutputStream out = null;
+        long size = 0;
+        try {
+            while (!stopping || !queue.isEmpty()) {
+                Trace trace = queue.poll(1, TimeUnit.SECONDS);
+                if (trace == null) {
+                    continue;
+                }
+                if (out == null) {
+                    out = open(file);
+                    size = Files.size(file);
+                }
+                byte[] line = objectMapper.writeValueAsBytes(trace);
+                out.write(line);
+                out.write('\n');
+                size += line.length + 1;
+                if (size > maxBytes) {
+                    out.close();
+                    out = null;
+                    Files.move(file, file.resolveSibling(file.getFileName() + ".1"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                } else if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            chatOpsMetrics.increment("chatops.trace.export.errors", "exporter", "json-file");
+            log.warn("Trace file export to {} stopped: {}", path, e.getMessage());
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close trace file {}: {}", path, e.getMessage());
+                }
+            }
+            // Nothing drains the queue any more
+            stopping = true;
+        }
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND));
+    }
+}
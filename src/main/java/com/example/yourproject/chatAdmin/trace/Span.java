@@ -0,0 +1,151 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One timed operation of a trace: an endpoint, service method, mapper statement, fan-out task or
+ * LLM call. A span is started by its parent (or by Tracer for a root), may end on another thread
+ * than the one that started it, and reports itself to its Trace when it ends.
+ *
+ * NOOP stands in when nothing is being traced, so instrumented code never checks for null.
+ */
+public class Span {
+    public static final Span NOOP = new Span();
+
+    private final Trace trace;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final String kind;
+    private final long startEpochMillis;
+    private final long startNanos;
+    private final String thread;
+    // Guarded by this
+    private final Map<String, Object> tags = new LinkedHashMap<>();
+    private String error;
+    private long durationNanos = -1;
+
+    private Span() {
+        this.trace = null;
+        this.spanId = null;
+        this.parentSpanId = null;
+        this.name = null;
+        this.kind = null;
+        this.startEpochMillis = 0;
+        this.startNanos = 0;
+        this.thread = null;
+    }
+
+    Span(Trace trace, String parentSpanId, String name, String kind) {
+        this.trace = trace;
+        this.spanId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.thread = Thread.currentThread().getName();
+    }
+
+    // Child of this span in the same trace; NOOP under NOOP or once the trace is full
+    public Span startChild(String name, String kind) {
+        if (trace == null || !trace.reserveSpan()) {
+            return NOOP;
+        }
+        return new Span(trace, spanId, name, kind);
+    }
+
+    public Span tag(String key, Object value) {
+        if (trace != null) {
+            synchronized (this) {
+                tags.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    public void setError(Throwable e) {
+        if (trace != null) {
+            synchronized (this) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+        }
+    }
+
+    // Idempotent; the first end counts
+    public void end() {
+        if (trace == null) {
+            return;
+        }
+        synchronized (this) {
+            if (durationNanos >= 0) {
+                return;
+            }
+            durationNanos = System.nanoTime() - startNanos;
+        }
+        trace.finish(this);
+    }
+
+    @JsonIgnore
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    @JsonIgnore
+    public String getTraceId() {
+        return trace == null ? null : trace.getTraceId();
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    // Milliseconds since the trace started, for laying spans out on a timeline
+    public double getOffsetMs() {
+        return trace == null ? 0 : Math.round((startNanos - trace.getStartNanos()) / 1000.0) / 1000.0;
+    }
+
+    public synchronized double getDurationMs() {
+        return durationNanos < 0 ? -1 : Math.round(durationNanos / 1000.0) / 1000.0;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public synchronized Map<String, Object> getTags() {
+        return new LinkedHashMap<>(tags);
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    synchronized long getDurationNanos() {
+        return durationNanos;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+}
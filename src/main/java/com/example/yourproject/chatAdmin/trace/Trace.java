@@ -0,0 +1,109 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The spans of one request. It completes when its root span ends: the spans finished by then are
+ * handed to the exporters. Spans still running at that point (an abandoned LLM future, a fan-out
+ * task cancelled on timeout) are counted as late rather than exported.
+ */
+public class Trace {
+    private final String traceId = UUID.randomUUID().toString().replace("-", "");
+    private final Tracer tracer;
+    private final int maxSpans;
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicInteger late = new AtomicInteger();
+    private Span root;
+    // Guarded by this
+    private final List<Span> finished = new ArrayList<>();
+    private boolean complete;
+
+    Trace(Tracer tracer, int maxSpans) {
+        this.tracer = tracer;
+        this.maxSpans = maxSpans;
+    }
+
+    Span start(String name, String kind) {
+        started.incrementAndGet();
+        root = new Span(this, null, name, kind);
+        return root;
+    }
+
+    // Beyond max-spans a trace keeps its shape but stops recording, e.g. for per-row statement loops
+    boolean reserveSpan() {
+        if (started.incrementAndGet() > maxSpans) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void finish(Span span) {
+        synchronized (this) {
+            if (complete) {
+                late.incrementAndGet();
+                return;
+            }
+            finished.add(span);
+            if (span != root) {
+                return;
+            }
+            complete = true;
+            finished.sort(Comparator.comparingLong(Span::getStartNanos));
+        }
+        tracer.export(this);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getName() {
+        return root.getName();
+    }
+
+    public long getStartEpochMillis() {
+        return root.getStartEpochMillis();
+    }
+
+    public double getDurationMs() {
+        return root.getDurationMs();
+    }
+
+    public String getError() {
+        return root.getError();
+    }
+
+    // Finished spans, root first then by start time; complete once the root has ended
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(finished);
+    }
+
+    public synchronized int getSpanCount() {
+        return finished.size();
+    }
+
+    public int getDroppedSpans() {
+        return dropped.get();
+    }
+
+    public int getLateSpans() {
+        return late.get();
+    }
+
+    @JsonIgnore
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    long getStartNanos() {
+        return root.getStartNanos();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The span current on this thread, and the hand-off of it to tasks run on other threads.
+ *
+ * <pre>
+ * Span span = TraceContext.current().startChild("name", "kind");
+ * try (TraceContext.Scope scope = TraceContext.activate(span)) {
+ *     ...
+ * } finally {
+ *     span.end();
+ * }
+ * </pre>
+ */
+public final class TraceContext {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    // Span.NOOP when this thread is not in a trace
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span == null ? Span.NOOP : span;
+    }
+
+    // Make span current until the scope closes, then restore the previous one
+    public static Scope activate(Span span) {
+        Span previous = CURRENT.get();
+        if (span.isRecording()) {
+            CURRENT.set(span);
+        }
+        return new Scope(previous);
+    }
+
+    // Time a step no aspect sees (prompt building, ...) as a child of the current span
+    public static <T> T inSpan(String name, String kind, Supplier<T> step) {
+        Span span = current().startChild(name, kind);
+        try (Scope scope = activate(span)) {
+            return step.get();
+        } catch (RuntimeException | Error e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // Run task under a child of the submitting thread's span, tagged with how long it waited to start
+    public static <T> Callable<T> wrap(String name, Callable<T> task) {
+        Span parent = current();
+        if (!parent.isRecording()) {
+            return task;
+        }
+        long submitted = System.nanoTime();
+        return () -> {
+            Span span = parent.startChild(name, "task");
+            span.tag("queuedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+            try (Scope scope = activate(span)) {
+                return task.call();
+            } catch (Exception | Error e) {
+                span.setError(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Span previous;
+
+        private Scope(Span previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.yourproject.chatAdmin.trace;
+
+/**
+ * Receives every completed trace. Any bean implementing this is picked up by Tracer, so other
+ * backends (OTLP, Zipkin) plug in as one more component. Called on the thread that ended the
+ * root span, usually a request thread: implementations must hand off rather than block.
+ */
+public interface TraceExporter {
+
+    void export(Trace trace);
+}
@@ -0,0 +1,65 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import com.example.yourproject.chatAdmin.metrics.ChatOpsMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts traces and hands completed ones to every TraceExporter. Requests are traced from the
+ * admin endpoints down (TracingAspect); spans elsewhere only attach to a trace already current,
+ * so background jobs and polling don't produce traces of their own.
+ */
+@Component
+public class Tracer {
+    private static final Logger log = LoggerFactory.getLogger(Tracer.class);
+
+    @Autowired
+    private List<TraceExporter> exporters;
+
+    @Autowired
+    private ChatOpsMetrics chatOpsMetrics;
+
+    @Value("${chatops.tracing.enabled:true}")
+    private boolean enabled;
+
+    // Share of requests traced (0.0 - 1.0)
+    @Value("${chatops.tracing.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${chatops.tracing.max-spans:1000}")
+    private int maxSpans;
+
+    // Root span of a new trace, or a child when this thread is already in one; NOOP when not sampled
+    public Span startTrace(String name, String kind) {
+        Span current = TraceContext.current();
+        if (current.isRecording()) {
+            return current.startChild(name, kind);
+        }
+        if (!enabled || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return Span.NOOP;
+        }
+        return new Trace(this, maxSpans).start(name, kind);
+    }
+
+    void export(Trace trace) {
+        chatOpsMetrics.increment("chatops.trace.completed");
+        if (trace.getDroppedSpans() > 0) {
+            chatOpsMetrics.recordValue("chatops.trace.dropped-spans", trace.getDroppedSpans());
+        }
+        for (TraceExporter exporter : exporters) {
+            try {
+                exporter.export(trace);
+            } catch (Exception e) {
+                chatOpsMetrics.increment("chatops.trace.export.errors", "exporter",
+                        exporter.getClass().getSimpleName());
+                log.debug("Trace export to {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
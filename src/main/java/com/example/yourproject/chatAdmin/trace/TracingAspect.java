@@ -0,0 +1,95 @@
+package com.example.yourproject.chatAdmin.trace;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Traces admin requests: each endpoint call is the root of a trace, and the service methods and
+ * mapper statements it reaches become its spans. Service and mapper calls outside a request
+ * (schedulers, the log writer) are not traced.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    private static final int MAX_TAG_LENGTH = 100;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Around("execution(* com.example.yourproject.chatAdmin.controller..*(..))")
+    public Object traceEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.startTrace(joinPoint.getSignature().getName(), "endpoint");
+        if (span.isRecording()) {
+            tagArguments(span, joinPoint);
+        }
+        try (TraceContext.Scope scope = TraceContext.activate(span)) {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity) {
+                span.tag("status", ((ResponseEntity<?>) result).getStatusCode().value());
+            }
+            return result;
+        } catch (Throwable e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Around("execution(public * com.example.yourproject.chatAdmin.service..*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedInChild(joinPoint, "service");
+    }
+
+    @Around("execution(* com.example.yourproject.chatAdmin.mapper..*(..))")
+    public Object traceStatement(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedInChild(joinPoint, "statement");
+    }
+
+    private Object proceedInChild(ProceedingJoinPoint joinPoint, String kind) throws Throwable {
+        Span parent = TraceContext.current();
+        if (!parent.isRecording()) {
+            return joinPoint.proceed();
+        }
+        Span span = parent.startChild(joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName(), kind);
+        try (TraceContext.Scope scope = TraceContext.activate(span)) {
+            Object result = joinPoint.proceed();
+            if (result instanceof Collection) {
+                span.tag("rows", ((Collection<?>) result).size());
+            }
+            return result;
+        } catch (Throwable e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // Simple request parameters (personaCode, period, ...) so a slow trace says what was asked for
+    private void tagArguments(Span span, ProceedingJoinPoint joinPoint) {
+        if (!(joinPoint.getSignature() instanceof CodeSignature)) {
+            return;
+        }
+        String[] names = ((CodeSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        if (names == null) {
+            return;
+        }
+        for (int i = 0; i < names.length && i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof String || arg instanceof Number || arg instanceof Boolean) {
+                String value = arg.toString();
+                span.tag(names[i], value.length() > MAX_TAG_LENGTH ? value.substring(0, MAX_TAG_LENGTH) : value);
+            }
+        }
+    }
+}
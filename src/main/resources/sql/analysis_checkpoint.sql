@@ -0,0 +1,13 @@
+-- Incremental analysis checkpoints
+-- One row per (persona, analysis type, period); persona_code 'ALL' covers every persona
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_analysis_checkpoint (
+    persona_code        VARCHAR(100) NOT NULL,
+    analysis_type       VARCHAR(50)  NOT NULL,
+    period              VARCHAR(20)  NOT NULL,
+    last_processed_date DATETIME     NOT NULL,
+    processed_count     INT          NOT NULL DEFAULT 0,
+    analysis_result     LONGTEXT,
+    base_date           DATETIME     NOT NULL,
+    updated_date        DATETIME     NOT NULL,
+    PRIMARY KEY (persona_code, analysis_type, period)
+);
@@ -0,0 +1,7 @@
+-- Incremental analysis watermark becomes (last_processed_date, last_processed_id), so conversations
+-- sharing the watermark's second are neither skipped nor re-read. Existing checkpoints keep id 0,
+-- which re-reads the rows at their watermark second once.
+-- One-time migration (MySQL 8), run before the application is upgraded.
+ALTER TABLE swp_ai_chatops_analysis_checkpoint
+    ADD COLUMN last_processed_id BIGINT NOT NULL DEFAULT 0,
+    ALGORITHM = INSTANT;
@@ -0,0 +1,10 @@
+-- Precomputed analysis reports served by the admin endpoints
+-- persona_code 'ALL' covers every persona
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_analysis_report (
+    analysis_type   VARCHAR(50)  NOT NULL,
+    persona_code    VARCHAR(100) NOT NULL,
+    period          VARCHAR(20)  NOT NULL,
+    analysis_result LONGTEXT,
+    created_date    DATETIME     NOT NULL,
+    PRIMARY KEY (analysis_type, persona_code, period)
+);
@@ -0,0 +1,25 @@
+-- Compressed conversation bodies. USER_QUERY_Z / AI_QUERY_Z hold either plain UTF-8 (short
+-- texts) or a deflate frame: 0xFF, dictionary id (INT), UTF-8 byte length (INT), raw deflate
+-- data. Lengths (CHAR_LENGTH) and 200-character previews are stored so listings and
+-- statistics never read the bodies. Rows written before this migration keep USER_QUERY and
+-- AI_QUERY until ConversationCompressionJob moves them into the new columns.
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_compression_dict (
+    dictionary_id INT          NOT NULL AUTO_INCREMENT,
+    dictionary    MEDIUMBLOB   NOT NULL,
+    sample_count  INT          NOT NULL,
+    created_date  DATETIME     NOT NULL,
+    PRIMARY KEY (dictionary_id)
+);
+
+-- One-time migration (MySQL 8), run before the application is upgraded.
+ALTER TABLE swp_ai_chatops_storage
+    ADD COLUMN USER_QUERY_Z       MEDIUMBLOB   NULL,
+    ADD COLUMN AI_QUERY_Z         MEDIUMBLOB   NULL,
+    ADD COLUMN USER_QUERY_LEN     INT          NULL,
+    ADD COLUMN AI_QUERY_LEN       INT          NULL,
+    ADD COLUMN USER_QUERY_PREVIEW VARCHAR(200) NULL,
+    ADD COLUMN AI_QUERY_PREVIEW   VARCHAR(200) NULL,
+    ALGORITHM = INSTANT;
+
+-- Once the backfill has emptied USER_QUERY and AI_QUERY, reclaim their pages:
+-- OPTIMIZE TABLE swp_ai_chatops_storage;
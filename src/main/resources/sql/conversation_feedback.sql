@@ -0,0 +1,27 @@
+-- User feedback from the chat FeedbackTab. persona_code is '' for feedback not given from a
+-- persona's chat; rating (1-5) is optional.
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_feedback (
+    feedback_id      BIGINT        NOT NULL AUTO_INCREMENT,
+    persona_code     VARCHAR(100)  NOT NULL DEFAULT '',
+    rating           TINYINT       NULL,
+    feedback_comment VARCHAR(1000) NOT NULL,
+    creator          VARCHAR(100)  NULL,
+    created_date     DATETIME      NOT NULL,
+    PRIMARY KEY (feedback_id),
+    KEY idx_feedback_persona_created (persona_code, created_date)
+);
+
+-- Running per-persona, per-day aggregate, updated in the same transaction as each insert above.
+-- Satisfaction rate = satisfied_count / rated_count (rating 4 or 5); average = rating_sum / rated_count.
+-- updated_date lets every instance tail the rows that changed since its last refresh.
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_feedback_daily (
+    persona_code    VARCHAR(100) NOT NULL,
+    feedback_date   DATE         NOT NULL,
+    feedback_count  INT          NOT NULL DEFAULT 0,
+    rated_count     INT          NOT NULL DEFAULT 0,
+    rating_sum      INT          NOT NULL DEFAULT 0,
+    satisfied_count INT          NOT NULL DEFAULT 0,
+    updated_date    DATETIME(3)  NOT NULL,
+    PRIMARY KEY (persona_code, feedback_date),
+    KEY idx_feedback_daily_updated (updated_date)
+);
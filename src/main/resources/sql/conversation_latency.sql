@@ -0,0 +1,19 @@
+-- End-to-end LLM response time of each conversation, in milliseconds (NULL for rows logged before
+-- it was recorded). One-time migration (MySQL 8), run before the application is upgraded.
+ALTER TABLE swp_ai_chatops_storage
+    ADD COLUMN RESPONSE_TIME_MS INT NULL,
+    ALGORITHM = INSTANT;
+
+-- Response time histograms per persona, hour and application instance (LatencyHistogram format).
+-- Each instance only ever rewrites its own rows; reports merge every instance and hour of a period.
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_latency_hist (
+    persona_code  VARCHAR(100) NOT NULL,
+    bucket_start  DATETIME     NOT NULL,
+    instance_id   VARCHAR(64)  NOT NULL,
+    sample_count  BIGINT       NOT NULL,
+    max_ms        BIGINT       NOT NULL,
+    histogram     BLOB         NOT NULL,
+    updated_date  DATETIME     NOT NULL,
+    PRIMARY KEY (persona_code, bucket_start, instance_id),
+    KEY idx_latency_hist_bucket (bucket_start)
+);
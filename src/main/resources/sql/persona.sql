@@ -0,0 +1,38 @@
+-- Persona metadata, one row per persona_code; prompts stay in swp_ai_chatops_persona_prompt
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_persona (
+    persona_code    VARCHAR(100) NOT NULL,
+    title           VARCHAR(200) NOT NULL,
+    description     VARCHAR(1000),
+    description_en  VARCHAR(1000),
+    category        VARCHAR(50)  NOT NULL DEFAULT 'general',
+    icon_path       VARCHAR(500),
+    welcome_msg     VARCHAR(1000),
+    created_date    DATETIME     NOT NULL,
+    updated_date    DATETIME     NOT NULL,
+    PRIMARY KEY (persona_code),
+    KEY idx_persona_category (category, created_date)
+);
+
+-- One-time migration: the values the persona queries used to synthesise on every read.
+-- INSERT IGNORE keeps rows already edited through the admin API, so it is safe to re-run.
+INSERT IGNORE INTO swp_ai_chatops_persona (
+    persona_code, title, description, description_en, category, icon_path, welcome_msg,
+    created_date, updated_date
+)
+SELECT
+    persona_code,
+    persona_code,
+    'AI Assistant',
+    'AI Assistant',
+    CASE
+        WHEN persona_code LIKE '%personal%' THEN 'personal'
+        WHEN persona_code LIKE '%general%' THEN 'general'
+        WHEN persona_code LIKE '%operation%' THEN 'operation'
+        ELSE 'general'
+    END,
+    NULL,
+    CONCAT('Hello, I am ', persona_code, '.'),
+    MIN(created_date),
+    NOW()
+FROM swp_ai_chatops_persona_prompt
+GROUP BY persona_code;
@@ -0,0 +1,13 @@
+-- prompt_type names the persona's main prompt, the one returned with the persona.
+-- One-time migration (MySQL 8), run after persona.sql and before the application is upgraded.
+ALTER TABLE swp_ai_chatops_persona
+    ADD COLUMN prompt_type VARCHAR(50) NOT NULL DEFAULT 'system',
+    ALGORITHM = INSTANT;
+
+-- Existing personas take the type of their newest prompt, as the persona queries used to
+UPDATE swp_ai_chatops_persona p
+SET p.prompt_type = COALESCE(
+    (SELECT newest.prompt_type FROM swp_ai_chatops_persona_prompt newest
+     WHERE newest.persona_code = p.persona_code
+     ORDER BY newest.created_date DESC LIMIT 1),
+    p.prompt_type);
@@ -0,0 +1,45 @@
+-- Immutable prompt versions. swp_ai_chatops_persona_prompt keeps one current row per
+-- (persona_code, prompt_type): a copy of the current version's text plus current_version.
+CREATE TABLE IF NOT EXISTS swp_ai_chatops_persona_prompt_version (
+    persona_code    VARCHAR(100) NOT NULL,
+    prompt_type     VARCHAR(50)  NOT NULL,
+    version         INT          NOT NULL,
+    persona_prompt  LONGTEXT,
+    created_date    DATETIME     NOT NULL,
+    PRIMARY KEY (persona_code, prompt_type, version)
+);
+
+-- One-time migration (MySQL 8), run after persona.sql and before the application is upgraded.
+
+-- 1. Every existing prompt row becomes a version, oldest first
+INSERT IGNORE INTO swp_ai_chatops_persona_prompt_version (
+    persona_code, prompt_type, version, persona_prompt, created_date
+)
+SELECT
+    persona_code,
+    prompt_type,
+    ROW_NUMBER() OVER (PARTITION BY persona_code, prompt_type ORDER BY created_date, persona_id),
+    persona_prompt,
+    created_date
+FROM swp_ai_chatops_persona_prompt;
+
+-- 2. Keep only the newest row per (persona_code, prompt_type)
+DELETE pp FROM swp_ai_chatops_persona_prompt pp
+JOIN swp_ai_chatops_persona_prompt newer
+  ON newer.persona_code = pp.persona_code
+ AND newer.prompt_type = pp.prompt_type
+ AND (newer.created_date > pp.created_date
+      OR (newer.created_date = pp.created_date AND newer.persona_id > pp.persona_id));
+
+-- 3. Current-version pointer and the key every prompt read goes through
+ALTER TABLE swp_ai_chatops_persona_prompt
+    ADD COLUMN current_version INT NOT NULL DEFAULT 1,
+    ADD UNIQUE KEY uk_persona_prompt_type (persona_code, prompt_type);
+
+UPDATE swp_ai_chatops_persona_prompt pp
+JOIN (
+    SELECT persona_code, prompt_type, MAX(version) AS latest
+    FROM swp_ai_chatops_persona_prompt_version
+    GROUP BY persona_code, prompt_type
+) v ON v.persona_code = pp.persona_code AND v.prompt_type = pp.prompt_type
+SET pp.current_version = v.latest;
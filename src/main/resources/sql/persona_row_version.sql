@@ -0,0 +1,6 @@
+-- Optimistic concurrency for persona edits: every write to a persona bumps row_version, and a write
+-- that sends back the version it read only applies if nobody has written since (409 otherwise).
+-- One-time migration (MySQL 8), run before the application is upgraded.
+ALTER TABLE swp_ai_chatops_persona
+    ADD COLUMN row_version INT NOT NULL DEFAULT 1,
+    ALGORITHM = INSTANT;